@@ -0,0 +1,31 @@
+package horizon.SeRVe.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Idempotency-Key 저장소 설정
+ *
+ * 캐시 설정:
+ * - 저장된 응답 본문 크기 합계로 상한 (maximumWeight, 기본 64MB)
+ * - 저장 후 일정 시간이 지나면 자동 제거 (기본 60분)
+ */
+@Configuration
+public class IdempotencyConfig {
+
+    @Bean
+    public Cache<String, IdempotencyRecord> idempotencyCache(
+            @Value("${serve.idempotency.max-bytes:67108864}") long maxBytes,
+            @Value("${serve.idempotency.ttl-minutes:60}") long ttlMinutes) {
+        return Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String key, IdempotencyRecord record) -> key.length() + record.weight())
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .build();
+    }
+}
@@ -0,0 +1,114 @@
+package horizon.SeRVe.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Idempotency-Key 필터
+ *
+ * 네트워크가 불안정한 엣지 디바이스가 타임아웃 후 같은 업로드/키 관리 요청을 재시도하면
+ * 트랜잭션 재실행, version 재증가, Rate Limit 재기록이 발생합니다.
+ * 클라이언트가 Idempotency-Key 헤더를 보내면 최초 성공 응답을 저장해 두고,
+ * 같은 키의 재요청에는 DB를 거치지 않고 저장된 응답을 그대로 돌려줍니다.
+ *
+ * - 키 범위: 사용자 + HTTP 메서드 + 경로(쿼리 포함) + Idempotency-Key
+ * - 2xx 응답만 저장 (실패한 요청은 같은 키로 다시 시도 가능)
+ * - 같은 키의 요청이 처리 중이면 409 Conflict
+ * - JWT 인증 필터 뒤에 위치 (사용자 식별 필요)
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final Set<String> MUTATING_METHODS = Set.of("POST", "PUT", "PATCH", "DELETE");
+
+    private final Cache<String, IdempotencyRecord> idempotencyCache;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getHeader(IDEMPOTENCY_KEY_HEADER) == null
+                || !MUTATING_METHODS.contains(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        String idempotencyKey = request.getHeader(IDEMPOTENCY_KEY_HEADER);
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || !auth.isAuthenticated() || idempotencyKey.isBlank()
+                || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            // 미인증 요청은 이후 Security 필터가 거절, 잘못된 키는 일반 요청으로 처리
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String cacheKey = buildCacheKey(auth.getName(), request, idempotencyKey);
+
+        IdempotencyRecord existing = idempotencyCache.asMap().putIfAbsent(cacheKey, IdempotencyRecord.inProgress());
+        if (existing != null) {
+            if (existing.isInProgress()) {
+                log.warn("[Idempotency] 처리 중인 요청 재시도 거절 - User: {}, Path: {}", auth.getName(), request.getRequestURI());
+                response.setStatus(HttpStatus.CONFLICT.value());
+                response.setContentType("application/json");
+                response.getWriter().write(
+                    "{\"error\": \"Request in progress\", \"message\": \"A request with this Idempotency-Key is still being processed.\"}"
+                );
+            } else {
+                replay(existing, response);
+            }
+            return;
+        }
+
+        ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
+        boolean stored = false;
+        try {
+            filterChain.doFilter(request, responseWrapper);
+
+            int status = responseWrapper.getStatus();
+            if (status >= 200 && status < 300) {
+                idempotencyCache.put(cacheKey, IdempotencyRecord.completed(
+                        status, responseWrapper.getContentType(), responseWrapper.getContentAsByteArray()));
+                stored = true;
+            }
+        } finally {
+            if (!stored) {
+                idempotencyCache.invalidate(cacheKey);
+            }
+            responseWrapper.copyBodyToResponse();
+        }
+    }
+
+    private void replay(IdempotencyRecord record, HttpServletResponse response) throws IOException {
+        response.setStatus(record.getStatus());
+        if (record.getContentType() != null) {
+            response.setContentType(record.getContentType());
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.setContentLength(record.getBody().length);
+        response.getOutputStream().write(record.getBody());
+    }
+
+    private String buildCacheKey(String principal, HttpServletRequest request, String idempotencyKey) {
+        String query = request.getQueryString();
+        return principal + '\n' + request.getMethod() + '\n' + request.getRequestURI()
+                + (query != null ? "?" + query : "") + '\n' + idempotencyKey;
+    }
+}
@@ -0,0 +1,39 @@
+package horizon.SeRVe.config;
+
+import lombok.Getter;
+
+/**
+ * Idempotency-Key별 처리 결과
+ * - 처리 중: 같은 키의 동시 재시도를 거절하기 위한 표시
+ * - 완료: 최초 성공 응답(상태 코드, Content-Type, 본문)을 그대로 보관
+ */
+@Getter
+public class IdempotencyRecord {
+
+    private static final IdempotencyRecord IN_PROGRESS = new IdempotencyRecord(true, 0, null, null);
+
+    private final boolean inProgress;
+    private final int status;
+    private final String contentType;
+    private final byte[] body;
+
+    private IdempotencyRecord(boolean inProgress, int status, String contentType, byte[] body) {
+        this.inProgress = inProgress;
+        this.status = status;
+        this.contentType = contentType;
+        this.body = body;
+    }
+
+    public static IdempotencyRecord inProgress() {
+        return IN_PROGRESS;
+    }
+
+    public static IdempotencyRecord completed(int status, String contentType, byte[] body) {
+        return new IdempotencyRecord(false, status, contentType, body);
+    }
+
+    // 캐시 용량 계산용 (본문 바이트 + 고정 오버헤드)
+    int weight() {
+        return 64 + (body != null ? body.length : 0);
+    }
+}
@@ -0,0 +1,68 @@
+package horizon.SeRVe.config;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 서버 전체 처리 중 요청 본문 바이트 예산
+ *
+ * RateLimitService는 시간당 요청 수만 세므로 대용량 본문 여러 개가 동시에 들어오면
+ * 힙이 급격히 차서 긴 GC 정지나 OOM이 발생합니다.
+ * 본문을 읽기 전에 Content-Length만큼 예약하고, 요청이 끝나면 반환합니다.
+ *
+ * - 예산보다 큰 단일 요청은 다른 예약이 없을 때만 허용 (혼자 처리되도록, 영구 거절 방지)
+ * - 잠금 없이 CAS로 예약
+ */
+public class InFlightByteBudget {
+
+    private final long capacity;
+    private final AtomicLong reserved = new AtomicLong();
+
+    public InFlightByteBudget(long capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * @return 예약 성공 여부 (실패 시 아무것도 예약되지 않음)
+     */
+    public boolean tryReserve(long bytes) {
+        while (true) {
+            long current = reserved.get();
+            if (current > 0 && current + bytes > capacity) {
+                return false;
+            }
+            if (reserved.compareAndSet(current, current + bytes)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 이미 held만큼 예약한 요청의 예약 추가 (Content-Length 없는 본문이 읽은 만큼 늘려 감)
+     * - 다른 예약이 없으면(현재 예약 = held) 예산을 넘어도 허용 (tryReserve와 같은 규칙)
+     *
+     * @return 추가 성공 여부 (실패 시 아무것도 예약되지 않음)
+     */
+    public boolean tryExtend(long held, long bytes) {
+        while (true) {
+            long current = reserved.get();
+            if (current > held && current + bytes > capacity) {
+                return false;
+            }
+            if (reserved.compareAndSet(current, current + bytes)) {
+                return true;
+            }
+        }
+    }
+
+    public void release(long bytes) {
+        reserved.addAndGet(-bytes);
+    }
+
+    public long getReserved() {
+        return reserved.get();
+    }
+
+    public long getCapacity() {
+        return capacity;
+    }
+}
@@ -0,0 +1,55 @@
+package horizon.SeRVe.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * 요청 본문 바이트 예산 설정
+ *
+ * - 예산: serve.upload.inflight-budget-bytes (0이면 최대 힙의 1/4)
+ * - Security 필터 체인보다 앞에서 실행 (거절할 요청에 인증/JWT 파싱 비용을 쓰지 않음)
+ * - 모니터링: serve.upload.inflight.bytes (현재 예약), serve.upload.inflight.rejected
+ */
+@Configuration
+public class InFlightByteBudgetConfig {
+
+    @Bean
+    public InFlightByteBudget inFlightByteBudget(
+            MeterRegistry meterRegistry,
+            @Value("${serve.upload.inflight-budget-bytes:0}") long budgetBytes) {
+        long capacity = budgetBytes > 0 ? budgetBytes : Runtime.getRuntime().maxMemory() / 4;
+        InFlightByteBudget budget = new InFlightByteBudget(capacity);
+
+        Gauge.builder("serve.upload.inflight.bytes", budget, InFlightByteBudget::getReserved)
+                .description("처리 중인 요청 본문에 예약된 바이트")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("serve.upload.inflight.capacity", budget, InFlightByteBudget::getCapacity)
+                .description("요청 본문 바이트 예산")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        return budget;
+    }
+
+    @Bean
+    public FilterRegistrationBean<InFlightByteBudgetFilter> inFlightByteBudgetFilter(
+            InFlightByteBudget budget,
+            MeterRegistry meterRegistry,
+            @Value("${serve.upload.inflight-unknown-length-bytes:${serve.upload.flush-bytes:33554432}}") long unknownLengthBytes,
+            @Value("${serve.upload.inflight-retry-after-seconds:2}") long retryAfterSeconds) {
+        Counter rejected = Counter.builder("serve.upload.inflight.rejected")
+                .description("바이트 예산 초과로 503 거절된 요청 수")
+                .register(meterRegistry);
+
+        FilterRegistrationBean<InFlightByteBudgetFilter> registration = new FilterRegistrationBean<>(
+                new InFlightByteBudgetFilter(budget, unknownLengthBytes, retryAfterSeconds, rejected));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
@@ -0,0 +1,192 @@
+package horizon.SeRVe.config;
+
+import horizon.SeRVe.exception.ServerBusyException;
+import io.micrometer.core.instrument.Counter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+
+/**
+ * 요청 본문 바이트 예산 필터 (Memory-aware Admission)
+ *
+ * - 본문이 있는 요청(POST/PUT/PATCH)은 본문을 읽기 전에 Content-Length만큼 예산을 예약
+ * - Content-Length가 없는 요청(chunked 전송)은 스트리밍 업로드의 최대 버퍼 크기만큼 먼저 예약하고,
+ *   실제로 읽은 바이트가 예약을 넘으면 같은 크기씩 예약을 늘림 (@RequestBody처럼 본문 전체를 힙에 올리는 경로도 상한 유지)
+ *   → 늘릴 수 없으면 읽기 도중 ServerBusyException (503 + Retry-After)
+ * - Content-Length가 없는 multipart 요청은 컨테이너가 본문을 직접 읽어 셀 수 없으므로 411 Length Required
+ * - 예산 초과 시 503 + Retry-After (인증/파싱 전에 거절하므로 본문을 전혀 읽지 않음)
+ * - 요청 처리가 끝나면 (성공/실패 무관) 예약 반환
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class InFlightByteBudgetFilter extends OncePerRequestFilter {
+
+    private static final Set<String> BODY_METHODS = Set.of("POST", "PUT", "PATCH");
+
+    private final InFlightByteBudget budget;
+    private final long unknownLengthBytes;
+    private final long retryAfterSeconds;
+    private final Counter rejectedCounter;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !BODY_METHODS.contains(request.getMethod()) || request.getContentLengthLong() == 0;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        long contentLength = request.getContentLengthLong();
+        if (contentLength < 0 && isMultipart(request)) {
+            response.setStatus(HttpStatus.LENGTH_REQUIRED.value());
+            response.setContentType("application/json");
+            response.getWriter().write(
+                "{\"error\": \"Length required\", \"message\": \"Multipart uploads must send Content-Length.\"}"
+            );
+            return;
+        }
+        long bytes = contentLength > 0 ? contentLength : unknownLengthBytes;
+
+        if (!budget.tryReserve(bytes)) {
+            rejectedCounter.increment();
+            log.warn("[InFlightBudget] 요청 거절 - Path: {}, 요청: {} bytes, 사용 중: {} / {} bytes",
+                    request.getRequestURI(), bytes, budget.getReserved(), budget.getCapacity());
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+            response.setContentType("application/json");
+            response.getWriter().write(
+                "{\"error\": \"Server busy\", \"message\": \"Too many large requests in flight. Please retry later.\"}"
+            );
+            return;
+        }
+
+        if (contentLength > 0) {
+            // 컨테이너가 Content-Length 이상은 읽지 않으므로 예약만으로 충분
+            try {
+                filterChain.doFilter(request, response);
+            } finally {
+                budget.release(bytes);
+            }
+            return;
+        }
+
+        BudgetedRequest budgeted = new BudgetedRequest(request, bytes);
+        try {
+            filterChain.doFilter(budgeted, response);
+        } finally {
+            budget.release(budgeted.reserved);
+        }
+    }
+
+    private static boolean isMultipart(HttpServletRequest request) {
+        String contentType = request.getContentType();
+        return contentType != null && contentType.toLowerCase().startsWith("multipart/");
+    }
+
+    /**
+     * 읽은 바이트를 세어 예약을 늘려 가는 요청 (Content-Length 없는 본문 전용)
+     * - 요청 처리 스레드에서만 읽으므로 동기화 불필요
+     */
+    private class BudgetedRequest extends HttpServletRequestWrapper {
+
+        private long reserved;
+        private long read = 0;
+        private ServletInputStream inputStream;
+
+        BudgetedRequest(HttpServletRequest request, long reserved) {
+            super(request);
+            this.reserved = reserved;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() throws IOException {
+            if (inputStream == null) {
+                inputStream = new CountingInputStream(super.getInputStream());
+            }
+            return inputStream;
+        }
+
+        @Override
+        public BufferedReader getReader() throws IOException {
+            Charset charset = getCharacterEncoding() != null
+                    ? Charset.forName(getCharacterEncoding())
+                    : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+
+        private void count(long bytes) {
+            if (bytes <= 0) {
+                return;
+            }
+            read += bytes;
+            if (read <= reserved) {
+                return;
+            }
+            long extension = Math.max(unknownLengthBytes, read - reserved);
+            if (!budget.tryExtend(reserved, extension)) {
+                rejectedCounter.increment();
+                log.warn("[InFlightBudget] 본문 수신 중 거절 - Path: {}, 수신: {} bytes, 사용 중: {} / {} bytes",
+                        getRequestURI(), read, budget.getReserved(), budget.getCapacity());
+                throw new ServerBusyException("처리 중인 요청 본문이 너무 많습니다.", retryAfterSeconds);
+            }
+            reserved += extension;
+        }
+
+        private class CountingInputStream extends ServletInputStream {
+
+            private final ServletInputStream delegate;
+
+            CountingInputStream(ServletInputStream delegate) {
+                this.delegate = delegate;
+            }
+
+            @Override
+            public int read() throws IOException {
+                int b = delegate.read();
+                if (b >= 0) {
+                    count(1);
+                }
+                return b;
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) throws IOException {
+                int n = delegate.read(buffer, offset, length);
+                count(n);
+                return n;
+            }
+
+            @Override
+            public boolean isFinished() {
+                return delegate.isFinished();
+            }
+
+            @Override
+            public boolean isReady() {
+                return delegate.isReady();
+            }
+
+            @Override
+            public void setReadListener(ReadListener readListener) {
+                delegate.setReadListener(readListener);
+            }
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package horizon.SeRVe.config;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -18,6 +20,7 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 public class SecurityConfig {
 
     private final JwtTokenProvider jwtTokenProvider;
+    private final Cache<String, IdempotencyRecord> idempotencyCache;
     // private final RateLimitFilter rateLimitFilter;  // 테스트를 위해 임시 비활성화
 
     @Bean
@@ -31,6 +34,10 @@ public class SecurityConfig {
                 .csrf(AbstractHttpConfigurer::disable)
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
+                        // 비동기 응답(StreamingResponseBody, DeferredResult, SseEmitter)의 재디스패치와 오류 디스패치는 통과
+                        // - 인증/인가는 최초 요청에서 이미 끝났고, JWT 필터(OncePerRequestFilter)는 재디스패치에서 실행되지 않음
+                        // - STATELESS라 보안 컨텍스트가 저장되지 않으므로 재디스패치에서는 익명으로 보여 403이 됨
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR).permitAll()
                         // 로그인, 회원가입 등은 인증 제외
                         .requestMatchers("/auth/**", "/api/security/**", "/swagger-ui/**").permitAll()
                         .anyRequest().authenticated()
@@ -38,7 +45,9 @@ public class SecurityConfig {
                 // Rate Limiting 필터 먼저 적용 (DDoS 방지) - 테스트를 위해 임시 비활성화
                 // .addFilterBefore(rateLimitFilter, UsernamePasswordAuthenticationFilter.class)
                 // JWT 인증 필터
-                .addFilterBefore(new JwtAuthenticationFilter(jwtTokenProvider), UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(new JwtAuthenticationFilter(jwtTokenProvider), UsernamePasswordAuthenticationFilter.class)
+                // Idempotency-Key 재시도 응답 재사용 (사용자 식별이 필요하므로 JWT 필터 뒤)
+                .addFilterAfter(new IdempotencyFilter(idempotencyCache), JwtAuthenticationFilter.class);
 
         return http.build();
     }
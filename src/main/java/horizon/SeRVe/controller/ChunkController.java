@@ -1,36 +1,177 @@
 package horizon.SeRVe.controller;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.protobuf.CodedOutputStream;
+import horizon.SeRVe.dto.chunk.BatchChunkUploadRequest;
+import horizon.SeRVe.dto.chunk.BatchChunkUploadResponse;
+import horizon.SeRVe.dto.chunk.ChunkAppendRequest;
+import horizon.SeRVe.dto.chunk.ChunkAppendResponse;
+import horizon.SeRVe.dto.chunk.ChunkBlobRequest;
+import horizon.SeRVe.dto.chunk.ChunkFrameReader;
+import horizon.SeRVe.dto.chunk.ChunkJsonReader;
+import horizon.SeRVe.dto.chunk.ChunkMetadataResponse;
+import horizon.SeRVe.dto.chunk.ChunkNdjsonWriter;
+import horizon.SeRVe.dto.chunk.ChunkProtobufWriter;
 import horizon.SeRVe.dto.chunk.ChunkResponse;
+import horizon.SeRVe.dto.chunk.ChunkStreamSource;
+import horizon.SeRVe.dto.chunk.ChunkSyncPage;
 import horizon.SeRVe.dto.chunk.ChunkSyncResponse;
+import horizon.SeRVe.dto.chunk.ChunkSyncSink;
 import horizon.SeRVe.dto.chunk.ChunkUploadRequest;
+import horizon.SeRVe.dto.chunk.ChunkUploadResponse;
+import horizon.SeRVe.dto.chunk.IngestTicketResponse;
+import horizon.SeRVe.dto.chunk.SyncCursor;
+import horizon.SeRVe.dto.sync.EncodedSyncResponse;
+import horizon.SeRVe.dto.sync.SyncProtobufCodec;
 import horizon.SeRVe.entity.User;
+import horizon.SeRVe.service.ChunkCoalescingService;
+import horizon.SeRVe.service.ChunkIngestService;
 import horizon.SeRVe.service.ChunkService;
+import horizon.SeRVe.service.SyncResponseCache;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 
 @RestController
 @RequiredArgsConstructor
 public class ChunkController {
 
+    public static final String CHANGE_SEQ_HEADER = "X-Change-Seq";
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    public static final String HAS_MORE_HEADER = "X-Has-More";
+
+    private static final MediaType PROTOBUF = MediaType.parseMediaType(SyncProtobufCodec.MEDIA_TYPE_VALUE);
+
     private final ChunkService chunkService;
+    private final ChunkIngestService chunkIngestService;
+    private final ChunkCoalescingService chunkCoalescingService;
+    private final SyncResponseCache syncResponseCache;
+    private final ObjectMapper objectMapper;
 
     /**
      * A. 청크 업로드 (배치)
      * POST /api/teams/{teamId}/chunks
      * Body: { "fileName": "설비매뉴얼.pdf", "chunks": [...] }
+     * Response: { "documentId": "...", "changedIndexes": [0, 3], "unchangedCount": 10,
+     *             "receipts": [{ "chunkIndex": 0, "chunkId": "...", "version": 4 }, ...] }
+     * - 본문 전체를 ChunkUploadRequest로 바인딩하지 않고 청크 단위로 스트리밍 파싱
+     * - 본문은 쓰기 트랜잭션 전에 모두 수신 (serve.upload.spill-threshold-bytes 초과분은 임시 파일), 충돌 시 서버에서 재시도
+     * - 쓰기 병합 대상 팀(serve.coalesce.team-ids)은 202 Accepted { ..., "coalesced": true } 후 구간 종료 시 반영
+     *   (다른 사용자의 쓰기가 반영 대기 중인 문서는 403, 직전 구간 반영 실패는 다음 응답의 "flushError"로 전달)
      */
     @PostMapping("/api/teams/{teamId}/chunks")
-    public ResponseEntity<Void> uploadChunks(
+    public ResponseEntity<ChunkUploadResponse> uploadChunks(
+            @PathVariable String teamId,
+            @AuthenticationPrincipal User user,
+            HttpServletRequest request) throws IOException {
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(request.getInputStream())) {
+            ChunkJsonReader reader = new ChunkJsonReader(parser).open();
+            if (reader.getFileName() == null) {
+                throw new IllegalArgumentException("fileName은 필수입니다.");
+            }
+            return upload(teamId, reader.getFileName(), user.getUserId(), reader);
+        }
+    }
+
+    /**
+     * A-2. 청크 업로드 (바이너리 스트리밍, Base64 없음)
+     * POST /api/teams/{teamId}/chunks?fileName=설비매뉴얼.pdf
+     * Content-Type: application/octet-stream
+     * Body: [chunkIndex:int32][length:int32][blob] 프레임 반복 (chunkIndex = -1 이면 encryptedDEK)
+     */
+    @PostMapping(value = "/api/teams/{teamId}/chunks", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<ChunkUploadResponse> uploadChunkStream(
+            @PathVariable String teamId,
+            @RequestParam String fileName,
+            @AuthenticationPrincipal User user,
+            HttpServletRequest request) throws IOException {
+
+        return upload(teamId, fileName, user.getUserId(), new ChunkFrameReader(request.getInputStream()));
+    }
+
+    /**
+     * 쓰기 병합 대상 팀이면 병합 구간에 접수 (202 Accepted), 아니면 즉시 반영 (200 OK)
+     */
+    private ResponseEntity<ChunkUploadResponse> upload(String teamId, String fileName, String userId,
+                                                       ChunkStreamSource source) throws IOException {
+        if (chunkCoalescingService.isEnabled(teamId)) {
+            return ResponseEntity.accepted().body(chunkCoalescingService.submit(teamId, fileName, userId, source));
+        }
+        return ResponseEntity.ok(chunkService.uploadChunkStream(teamId, fileName, userId, source));
+    }
+
+    /**
+     * A-6. Append 모드 업로드 (chunkIndex 서버 할당)
+     * POST /api/teams/{teamId}/chunks/append
+     * Body: { "fileName": "telemetry.log", "encryptedBlobs": ["...", "..."], "encryptedDEK": "..." }
+     * Response: { "documentId": "...", "firstChunkIndex": 120, "lastChunkIndex": 121, "count": 2 }
+     */
+    @PostMapping("/api/teams/{teamId}/chunks/append")
+    public ResponseEntity<ChunkAppendResponse> appendChunks(
+            @PathVariable String teamId,
+            @AuthenticationPrincipal User user,
+            @RequestBody ChunkAppendRequest request) {
+
+        return ResponseEntity.ok(chunkService.appendChunks(teamId, user.getUserId(), request));
+    }
+
+    /**
+     * A-5. 다중 문서 업로드 (한 요청, 한 트랜잭션)
+     * POST /api/teams/{teamId}/chunks/batch
+     * Body: { "documents": [{ "fileName": "...", "encryptedDEK": "...", "chunks": [...] }, ...] }
+     * Response: { "documents": [{ "fileName": "...", "documentId": "...", "status": "CREATED | UPDATED | REJECTED",
+     *                             "changedIndexes": [...], "unchangedCount": 0, "message": null }, ...] }
+     */
+    @PostMapping("/api/teams/{teamId}/chunks/batch")
+    public ResponseEntity<BatchChunkUploadResponse> uploadChunkBatch(
+            @PathVariable String teamId,
+            @AuthenticationPrincipal User user,
+            @RequestBody BatchChunkUploadRequest request) {
+
+        return ResponseEntity.ok(chunkService.uploadChunkBatch(teamId, user.getUserId(), request));
+    }
+
+    /**
+     * A-3. 청크 업로드 (비동기, 그룹 커밋)
+     * POST /api/teams/{teamId}/chunks?async=true
+     * Body: uploadChunks와 동일
+     * Response: 202 Accepted { "ticketId": "...", "status": "PENDING" }
+     * - 대기열이 가득 차면 503 + Retry-After
+     */
+    @PostMapping(value = "/api/teams/{teamId}/chunks", params = "async=true",
+            consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<IngestTicketResponse> uploadChunksAsync(
             @PathVariable String teamId,
             @AuthenticationPrincipal User user,
             @RequestBody ChunkUploadRequest request) {
 
-        chunkService.uploadChunks(teamId, request.getFileName(), user.getUserId(), request);
-        return ResponseEntity.ok().build();
+        IngestTicketResponse response = chunkIngestService.submit(teamId, user.getUserId(), request);
+        return ResponseEntity.accepted().body(response);
+    }
+
+    /**
+     * A-4. 비동기 업로드 상태 조회
+     * GET /api/teams/{teamId}/chunks/tickets/{ticketId}
+     * Response: { "ticketId": "...", "status": "PENDING | COMMITTED | FAILED", ... }
+     */
+    @GetMapping("/api/teams/{teamId}/chunks/tickets/{ticketId}")
+    public ResponseEntity<IngestTicketResponse> getIngestTicket(
+            @PathVariable String teamId,
+            @PathVariable String ticketId,
+            @AuthenticationPrincipal User user) {
+
+        return ResponseEntity.ok(chunkIngestService.getTicket(teamId, ticketId, user.getUserId()));
     }
 
     /**
@@ -50,16 +191,192 @@ public class ChunkController {
 
     /**
      * E. 팀별 증분 동기화
-     * GET /api/sync/chunks?teamId={id}&lastVersion={n}
+     * GET /api/sync/chunks?teamId={id}&since={seq}[&limit={n}][&maxBytes={bytes}][&excludeSelf=true]
+     * GET /api/sync/chunks?teamId={id}&cursor={nextCursor}[&limit={n}][&maxBytes={bytes}]
+     * Response: ChunkSyncPage { chunks, nextCursor, hasMore, highWaterMark }
+     * Response Header: X-Change-Seq: {highWaterMark}
+     * - 최초 동기화는 since=0, 이후에는 직전 응답의 nextCursor 사용 (hasMore = true면 즉시 다음 페이지 요청)
+     * - limit: 페이지 최대 청크 수, maxBytes: 페이지 최대 blob 바이트 (둘 다 서버 상한으로 제한)
+     * - lastVersion: (이전 방식) 행 단위 version 기준 전체 응답, since/cursor가 없을 때만 사용
+     * - excludeSelf=true: 요청자가 마지막으로 기록한 청크 제외 (업로드 영수증으로 이미 반영한 변경)
+     * - 410 Gone: since/cursor가 tombstone 정리 구간 이전 → 로컬 데이터를 비우고 since=0부터 다시 동기화
+     * - 같은 팀/위치의 동시 요청은 한 번만 조회하고 인코딩된 응답을 공유 (SyncResponseCache)
+     * - ETag: 팀 변경 시퀀스 + 요청 위치(since/cursor, limit, maxBytes, excludeSelf) 기반
+     *   If-None-Match가 일치하면 권한 검증과 위치 확인(410)만 하고 304 Not Modified
      */
     @GetMapping("/api/sync/chunks")
-    public ResponseEntity<List<ChunkSyncResponse>> syncTeamChunks(
+    public ResponseEntity<byte[]> syncTeamChunks(
             @RequestParam String teamId,
+            @RequestParam(required = false) Long since,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) Long maxBytes,
             @RequestParam(defaultValue = "0") int lastVersion,
+            @RequestParam(defaultValue = "false") boolean excludeSelf,
+            @AuthenticationPrincipal User user,
+            WebRequest webRequest) {
+
+        if (since != null || cursor != null) {
+            long afterSeq = cursor != null ? SyncCursor.decode(cursor) : since;
+            // 정리 구간 이전 위치는 304보다 먼저 410 (로컬 데이터를 비우고 다시 동기화해야 함)
+            long teamSeq = chunkService.getSyncHighWaterMark(teamId, afterSeq, user.getUserId());
+            String eTag = TeamETag.of(teamSeq, TeamETag.JSON, afterSeq, limit, maxBytes, excludeSelf);
+            if (webRequest.checkNotModified(eTag)) {
+                return null;
+            }
+
+            EncodedSyncResponse page = syncResponseCache.getChunkPage(teamId, teamSeq, afterSeq, limit, maxBytes,
+                    SyncResponseCache.Format.JSON, user.getUserId(), excludeSelf);
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .eTag(eTag)
+                    .header(CHANGE_SEQ_HEADER, String.valueOf(page.getHighWaterMark()))
+                    .body(page.getBody());
+        }
+
+        long teamSeq = chunkService.getSyncHighWaterMark(teamId, user.getUserId());
+        String eTag = TeamETag.of(teamSeq, TeamETag.JSON, "v" + lastVersion, excludeSelf);
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+
+        EncodedSyncResponse response = syncResponseCache.getLegacyChunks(
+                teamId, teamSeq, lastVersion, user.getUserId(), excludeSelf);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(eTag)
+                .body(response.getBody());
+    }
+
+    /**
+     * E-1. 팀별 증분 동기화 (protobuf)
+     * GET /api/sync/chunks?teamId={id}&since={seq}|cursor={nextCursor}[&limit={n}][&maxBytes={bytes}][&excludeSelf=true]
+     * Accept: application/x-protobuf
+     * Response: ChunkSync length-delimited 프레임 반복 (src/main/proto/serve_sync.proto, blob은 Base64 없이 원본 바이트)
+     * Response Header: X-Change-Seq, X-Next-Cursor, X-Has-More (JSON 응답의 ChunkSyncPage 필드와 동일), ETag
+     */
+    @GetMapping(value = "/api/sync/chunks", produces = SyncProtobufCodec.MEDIA_TYPE_VALUE)
+    public ResponseEntity<byte[]> syncTeamChunksProtobuf(
+            @RequestParam String teamId,
+            @RequestParam(defaultValue = "0") long since,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) Long maxBytes,
+            @RequestParam(defaultValue = "false") boolean excludeSelf,
+            @AuthenticationPrincipal User user,
+            WebRequest webRequest) {
+
+        long afterSeq = cursor != null ? SyncCursor.decode(cursor) : since;
+        // 정리 구간 이전 위치는 304보다 먼저 410
+        long teamSeq = chunkService.getSyncHighWaterMark(teamId, afterSeq, user.getUserId());
+        String eTag = TeamETag.of(teamSeq, TeamETag.PROTOBUF, afterSeq, limit, maxBytes, excludeSelf);
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+
+        EncodedSyncResponse page = syncResponseCache.getChunkPage(teamId, teamSeq, afterSeq, limit, maxBytes,
+                SyncResponseCache.Format.PROTOBUF, user.getUserId(), excludeSelf);
+
+        return ResponseEntity.ok()
+                .contentType(PROTOBUF)
+                .eTag(eTag)
+                .header(CHANGE_SEQ_HEADER, String.valueOf(page.getHighWaterMark()))
+                .header(NEXT_CURSOR_HEADER, page.getNextCursor())
+                .header(HAS_MORE_HEADER, String.valueOf(page.isHasMore()))
+                .body(page.getBody());
+    }
+
+    /**
+     * E-2. 팀별 증분 동기화 (스트리밍)
+     * GET /api/sync/chunks?teamId={id}&stream=true&since={seq}[&excludeSelf=true]
+     * GET /api/sync/chunks?teamId={id}&stream=true&cursor={nextCursor}
+     * Accept: application/x-ndjson (ChunkSyncResponse 한 줄에 하나) 또는 application/x-protobuf (ChunkSync 프레임)
+     * Response Header: X-Change-Seq: {highWaterMark} (다음 요청의 since)
+     * - 페이지 없이 delta 전체를 한 응답으로 전달하되, 행을 읽는 즉시 기록해 서버/클라이언트 메모리 일정 (change_seq 순)
+     * - 응답이 중간에 끊기면 X-Change-Seq 대신 마지막으로 받은 청크의 changeSeq부터 다시 요청
+     */
+    @GetMapping(value = "/api/sync/chunks", params = "stream=true", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamTeamChunks(
+            @RequestParam String teamId,
+            @RequestParam(defaultValue = "0") long since,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean excludeSelf,
+            @AuthenticationPrincipal User user) {
+
+        return streamChanges(teamId, since, cursor, excludeSelf, user, MediaType.APPLICATION_NDJSON,
+                out -> new ChunkNdjsonWriter(objectMapper.getFactory().createGenerator(out)));
+    }
+
+    @GetMapping(value = "/api/sync/chunks", params = "stream=true", produces = SyncProtobufCodec.MEDIA_TYPE_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamTeamChunksProtobuf(
+            @RequestParam String teamId,
+            @RequestParam(defaultValue = "0") long since,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean excludeSelf,
             @AuthenticationPrincipal User user) {
 
-        List<ChunkSyncResponse> response = chunkService.syncTeamChunks(
-                teamId, lastVersion, user.getUserId());
-        return ResponseEntity.ok(response);
+        return streamChanges(teamId, since, cursor, excludeSelf, user, PROTOBUF,
+                out -> new ChunkProtobufWriter(CodedOutputStream.newInstance(out)));
+    }
+
+    /**
+     * E-3. 팀별 증분 동기화 - 메타데이터 전용 (blob 없음)
+     * GET /api/sync/chunks/metadata?teamId={id}&since={seq}|cursor={nextCursor}[&limit={n}][&excludeSelf=true]
+     * Response: ChunkSyncPage { chunks: [{ documentId, chunkId, chunkIndex, version, changeSeq, isDeleted, digest, size }],
+     *                          nextCursor, hasMore, highWaterMark }
+     * - 로컬 캐시와 digest가 다른 청크만 POST /api/sync/chunks/blobs로 요청 (tombstone은 로컬에서 삭제)
+     */
+    @GetMapping("/api/sync/chunks/metadata")
+    public ResponseEntity<ChunkSyncPage<ChunkMetadataResponse>> syncTeamChunkMetadata(
+            @RequestParam String teamId,
+            @RequestParam(defaultValue = "0") long since,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(defaultValue = "false") boolean excludeSelf,
+            @AuthenticationPrincipal User user) {
+
+        long afterSeq = cursor != null ? SyncCursor.decode(cursor) : since;
+        ChunkSyncPage<ChunkMetadataResponse> page = chunkService.syncTeamMetadata(
+                teamId, afterSeq, limit, user.getUserId(), excludeSelf);
+        return ResponseEntity.ok()
+                .header(CHANGE_SEQ_HEADER, String.valueOf(page.getHighWaterMark()))
+                .body(page);
+    }
+
+    /**
+     * E-4. 선택한 청크의 blob 일괄 조회
+     * POST /api/sync/chunks/blobs
+     * Body: { "teamId": "...", "chunkIds": ["...", ...] }
+     * Response: [ChunkSyncResponse, ...] (요청 순서, 다른 팀 청크/tombstone/없는 chunkId는 제외)
+     */
+    @PostMapping("/api/sync/chunks/blobs")
+    public ResponseEntity<List<ChunkSyncResponse>> fetchChunkBlobs(
+            @RequestBody ChunkBlobRequest request,
+            @AuthenticationPrincipal User user) {
+
+        return ResponseEntity.ok(chunkService.fetchChunkBlobs(
+                request.getTeamId(), request.getChunkIds(), user.getUserId()));
+    }
+
+    private ResponseEntity<StreamingResponseBody> streamChanges(String teamId, long since, String cursor,
+                                                                boolean excludeSelf, User user, MediaType contentType,
+                                                                SyncSinkFactory sinkFactory) {
+        long afterSeq = cursor != null ? SyncCursor.decode(cursor) : since;
+        long upToSeq = chunkService.getSyncHighWaterMark(teamId, afterSeq, user.getUserId());
+
+        StreamingResponseBody body = out -> {
+            try (ChunkSyncSink sink = sinkFactory.open(out)) {
+                chunkService.streamTeamChanges(teamId, afterSeq, upToSeq, user.getUserId(), excludeSelf, sink);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .header(CHANGE_SEQ_HEADER, String.valueOf(upToSeq))
+                .body(body);
+    }
+
+    @FunctionalInterface
+    private interface SyncSinkFactory {
+        ChunkSyncSink open(OutputStream out) throws IOException;
     }
 }
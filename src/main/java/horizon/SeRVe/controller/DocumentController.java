@@ -10,6 +10,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -36,13 +37,22 @@ public class DocumentController {
     }
 
     // 문서 목록 조회
+    // - ETag(팀 변경 시퀀스)가 If-None-Match와 같으면 권한 검증만 하고 304 Not Modified
     @GetMapping("/api/teams/{teamId}/documents") // 기존: /api/repositories/{repoId}/documents
     public ResponseEntity<List<DocumentResponse>> getDocuments(
             @PathVariable String teamId, // 기존: repoId
-            @AuthenticationPrincipal User user) {
+            @AuthenticationPrincipal User user,
+            WebRequest webRequest) {
+
+        String eTag = TeamETag.of(documentService.getTeamChangeSeq(teamId, user.getUserId()), TeamETag.JSON);
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
 
         List<DocumentResponse> response = documentService.getDocuments(teamId, user.getUserId());
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .body(response);
     }
 
     // [REMOVED] 다운로드 기능 제거 - Federated Model에서는 동기화만 사용
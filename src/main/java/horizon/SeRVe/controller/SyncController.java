@@ -1,13 +1,36 @@
 package horizon.SeRVe.controller;
 
+import com.google.protobuf.CodedOutputStream;
 import horizon.SeRVe.dto.sync.ChangedDocumentResponse;
+import horizon.SeRVe.dto.sync.SyncProtobufCodec;
+import horizon.SeRVe.dto.sync.TeamChangeNotification;
+import horizon.SeRVe.dto.sync.TeamSnapshot;
 import horizon.SeRVe.entity.User;
+import horizon.SeRVe.service.ChunkService;
 import horizon.SeRVe.service.SyncService;
+import horizon.SeRVe.service.TeamChangeNotifier;
+import horizon.SeRVe.service.TeamSnapshotService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
 import java.util.List;
 
 @RestController
@@ -17,6 +40,15 @@ public class
     SyncController {
 
     private final SyncService syncService;
+    private final ChunkService chunkService;
+    private final TeamChangeNotifier teamChangeNotifier;
+    private final TeamSnapshotService teamSnapshotService;
+
+    // Tomcat sendfile 요청 속성 (커넥터가 지원할 때 파일을 커널에서 소켓으로 직접 전송)
+    private static final String SENDFILE_SUPPORT_ATTR = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME_ATTR = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START_ATTR = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END_ATTR = "org.apache.tomcat.sendfile.end";
 
     /**
      * 변경된 문서 목록 조회 (증분 동기화)
@@ -31,6 +63,7 @@ public class
      * 사용 예시:
      * - 첫 동기화: GET /api/sync/documents?teamId=xxx&lastSyncVersion=0
      * - 증분 동기화: GET /api/sync/documents?teamId=xxx&lastSyncVersion=5
+     * - 재요청 시 직전 응답의 ETag를 If-None-Match로 보내면, 팀 변경이 없을 때 문서 조회 없이 304 Not Modified
      *
      * Response:
      * [
@@ -48,11 +81,193 @@ public class
     public ResponseEntity<List<ChangedDocumentResponse>> getChangedDocuments(
             @RequestParam String teamId,
             @RequestParam(defaultValue = "0") int lastSyncVersion,
-            @AuthenticationPrincipal User user) {
+            @AuthenticationPrincipal User user,
+            WebRequest webRequest) {
+
+        String eTag = TeamETag.of(syncService.getTeamChangeSeq(teamId, user.getUserId()), TeamETag.JSON);
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
 
         List<ChangedDocumentResponse> changedDocuments =
                 syncService.getChangedDocuments(teamId, lastSyncVersion, user.getUserId());
 
-        return ResponseEntity.ok(changedDocuments);
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .body(changedDocuments);
+    }
+
+    /**
+     * 변경된 문서 목록 조회 (protobuf)
+     *
+     * GET /api/sync/documents?teamId={teamId}&lastSyncVersion={version}
+     * Accept: application/x-protobuf
+     *
+     * Response: ChangedDocument length-delimited 프레임 반복 (src/main/proto/serve_sync.proto)
+     */
+    @GetMapping(value = "/documents", produces = SyncProtobufCodec.MEDIA_TYPE_VALUE)
+    public ResponseEntity<StreamingResponseBody> getChangedDocumentsProtobuf(
+            @RequestParam String teamId,
+            @RequestParam(defaultValue = "0") int lastSyncVersion,
+            @AuthenticationPrincipal User user,
+            WebRequest webRequest) {
+
+        String eTag = TeamETag.of(syncService.getTeamChangeSeq(teamId, user.getUserId()), TeamETag.PROTOBUF);
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+
+        List<ChangedDocumentResponse> changedDocuments =
+                syncService.getChangedDocuments(teamId, lastSyncVersion, user.getUserId());
+
+        StreamingResponseBody body = out -> {
+            CodedOutputStream coded = CodedOutputStream.newInstance(out);
+            for (ChangedDocumentResponse document : changedDocuments) {
+                SyncProtobufCodec.writeDocument(coded, document);
+            }
+            coded.flush();
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(SyncProtobufCodec.MEDIA_TYPE_VALUE))
+                .eTag(eTag)
+                .body(body);
+    }
+
+    /**
+     * 팀 변경 알림 구독 (SSE)
+     *
+     * GET /api/sync/changes?teamId={teamId}&since={seq}
+     * Accept: text/event-stream
+     *
+     * - 팀 변경 시퀀스가 since를 넘을 때마다 이벤트 전송 (변경 내용은 없음, 받은 뒤 GET /api/sync/chunks?since=... 호출)
+     *   event: changed / id: {changeSeq} / data: { "teamId": "...", "changeSeq": 42 }
+     * - 제한 시간(serve.sync.notify.sse-timeout-ms)이 지나면 연결 종료 → 재연결 시 Last-Event-ID로 위치를 이어받음
+     * - 알림은 쓰기 트랜잭션 커밋 후에만 전송
+     */
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribeChanges(
+            @RequestParam String teamId,
+            @RequestParam(defaultValue = "0") long since,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId,
+            @AuthenticationPrincipal User user) {
+
+        long position = lastEventId != null ? lastEventId : since;
+        return teamChangeNotifier.subscribe(teamId, position,
+                () -> chunkService.getSyncHighWaterMark(teamId, user.getUserId()));
+    }
+
+    /**
+     * 팀 변경 알림 대기 (long-poll, SSE를 쓸 수 없는 클라이언트용)
+     *
+     * GET /api/sync/changes/poll?teamId={teamId}&since={seq}
+     *
+     * Response:
+     * - 200 { "teamId": "...", "changeSeq": 42 }: since 이후 변경 있음 (이미 있으면 즉시 응답)
+     * - 204 No Content: 제한 시간(serve.sync.notify.poll-timeout-ms) 동안 변경 없음 → 같은 since로 다시 요청
+     */
+    @GetMapping("/changes/poll")
+    public DeferredResult<ResponseEntity<TeamChangeNotification>> pollChanges(
+            @RequestParam String teamId,
+            @RequestParam(defaultValue = "0") long since,
+            @AuthenticationPrincipal User user) {
+
+        return teamChangeNotifier.poll(teamId, since,
+                () -> chunkService.getSyncHighWaterMark(teamId, user.getUserId()));
+    }
+
+    /**
+     * 팀 부트스트랩 스냅샷 다운로드 (최초 동기화용)
+     *
+     * GET /api/sync/snapshot?teamId={teamId}
+     * Range: bytes={start}-{end} (선택, 중단된 다운로드 재개)
+     * If-Range: {ETag} (선택, 스냅샷이 교체되었으면 전체를 다시 받음)
+     *
+     * Response: SnapshotHeader → SnapshotDocument × N → ChunkSync 반복 (src/main/proto/serve_sync.proto)
+     * - X-Change-Seq: 스냅샷 위치 → 적재 후 GET /api/sync/chunks?since={X-Change-Seq}로 이어서 동기화
+     *   (그 사이 위치가 정리 기준 아래로 밀려나면 410 → 스냅샷부터 다시)
+     * - ETag: "{스냅샷 위치}" (강한 ETag, If-None-Match → 304 / If-Range 비교에 사용)
+     * - 206 Partial Content (단일 구간만 지원, 여러 구간 요청은 전체 200) / 416 범위 초과
+     * - 404: 아직 스냅샷이 없음 (serve.snapshot.enabled=false 포함) → since=0으로 동기화
+     * - 파일은 Tomcat sendfile 또는 FileChannel.transferTo로 전송 (응답 본문을 힙에 복사하지 않음)
+     */
+    @GetMapping("/snapshot")
+    public void downloadSnapshot(
+            @RequestParam String teamId,
+            @AuthenticationPrincipal User user,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+
+        // 멤버십 검증 (스냅샷 유무와 관계없이 먼저 수행)
+        chunkService.getSyncHighWaterMark(teamId, user.getUserId());
+
+        TeamSnapshot snapshot = teamSnapshotService.getSnapshot(teamId).orElse(null);
+        if (snapshot == null) {
+            response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+            response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            response.getWriter().write("스냅샷이 아직 없습니다. since=0으로 동기화하세요.");
+            return;
+        }
+
+        String eTag = "\"" + snapshot.getChangeSeq() + "\"";
+        if (new ServletWebRequest(request, response).checkNotModified(eTag)) {
+            return;
+        }
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader("X-Change-Seq", String.valueOf(snapshot.getChangeSeq()));
+        response.setContentType(SyncProtobufCodec.MEDIA_TYPE_VALUE);
+
+        long length = snapshot.getLength();
+        long start = 0;
+        long end = length - 1;
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        List<HttpRange> ranges = parseRanges(request.getHeader(HttpHeaders.RANGE));
+        if (ranges.size() == 1 && (ifRange == null || ifRange.equals(eTag))) {
+            try {
+                start = ranges.get(0).getRangeStart(length);
+                end = ranges.get(0).getRangeEnd(length);
+            } catch (IllegalArgumentException e) {
+                response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                return;
+            }
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+        }
+        long count = end - start + 1;
+        response.setContentLengthLong(count);
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT_ATTR))) {
+            // 커넥터가 핸들러 반환 후 파일을 직접 전송 (end는 미포함 위치)
+            request.setAttribute(SENDFILE_FILENAME_ATTR, snapshot.getPath().toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START_ATTR, start);
+            request.setAttribute(SENDFILE_END_ATTR, end + 1);
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(snapshot.getPath(), StandardOpenOption.READ)) {
+            WritableByteChannel target = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = count;
+            while (remaining > 0) {
+                long sent = channel.transferTo(position, remaining, target);
+                position += sent;
+                remaining -= sent;
+            }
+        }
+    }
+
+    /**
+     * Range 헤더 파싱 (형식이 잘못되었으면 무시하고 전체 전송)
+     */
+    private static List<HttpRange> parseRanges(String range) {
+        if (range == null) {
+            return List.of();
+        }
+        try {
+            return HttpRange.parseRanges(range);
+        } catch (IllegalArgumentException e) {
+            return List.of();
+        }
     }
 }
@@ -0,0 +1,36 @@
+package horizon.SeRVe.controller;
+
+/**
+ * 팀 변경 시퀀스 기반 ETag
+ *
+ * 팀의 청크/문서가 바뀌면 teams.change_seq가 진행되므로, 같은 URL의 응답은
+ * 변경 시퀀스가 같은 동안 동일합니다. 클라이언트가 If-None-Match로 보내면
+ * 권한 검증(팀 행 조회 포함)만 수행하고 데이터 조회 없이 304 Not Modified로 응답합니다.
+ *
+ * - 같은 URL이라도 형식(JSON/protobuf)이 다르면 다른 태그
+ * - 페이지 응답은 요청 위치(afterSeq, limit, maxBytes 등)도 태그에 포함 (다른 위치의 태그로 304를 받지 않도록)
+ * - 바이트 단위 동일성은 보장하지 않으므로 약한 ETag (W/)
+ */
+final class TeamETag {
+
+    static final String JSON = "json";
+    static final String PROTOBUF = "pb";
+
+    private TeamETag() {
+    }
+
+    static String of(long changeSeq, String format) {
+        return "W/\"" + changeSeq + "-" + format + "\"";
+    }
+
+    /**
+     * 요청 위치를 포함한 태그 (미지정 파라미터는 "d")
+     */
+    static String of(long changeSeq, String format, Object... position) {
+        StringBuilder tag = new StringBuilder("W/\"").append(changeSeq).append('-').append(format);
+        for (Object value : position) {
+            tag.append('-').append(value != null ? value : "d");
+        }
+        return tag.append('"').toString();
+    }
+}
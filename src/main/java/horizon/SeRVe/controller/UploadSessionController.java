@@ -0,0 +1,114 @@
+package horizon.SeRVe.controller;
+
+import horizon.SeRVe.dto.chunk.ChunkFrameReader;
+import horizon.SeRVe.dto.chunk.ChunkUploadRequest;
+import horizon.SeRVe.dto.chunk.ChunkUploadResponse;
+import horizon.SeRVe.dto.upload.UploadSessionOpenRequest;
+import horizon.SeRVe.dto.upload.UploadSessionResponse;
+import horizon.SeRVe.entity.User;
+import horizon.SeRVe.service.UploadSessionService;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+
+@RestController
+@RequestMapping("/api/teams/{teamId}/upload-sessions")
+@RequiredArgsConstructor
+public class UploadSessionController {
+
+    private final UploadSessionService uploadSessionService;
+
+    /**
+     * A. 업로드 세션 생성
+     * POST /api/teams/{teamId}/upload-sessions
+     * Body: { "fileName": "설비매뉴얼.pdf", "totalChunks": 50000, "encryptedDEK": "..." }
+     * Response: { "sessionId": "...", "status": "OPEN", "expiresAt": "..." }
+     */
+    @PostMapping
+    public ResponseEntity<UploadSessionResponse> openSession(
+            @PathVariable String teamId,
+            @AuthenticationPrincipal User user,
+            @RequestBody UploadSessionOpenRequest request) {
+
+        return ResponseEntity.ok(uploadSessionService.open(teamId, user.getUserId(), request));
+    }
+
+    /**
+     * B. 청크 구간 전송 (JSON, 순서 무관, 같은 chunk_index는 덮어쓰기)
+     * PUT /api/teams/{teamId}/upload-sessions/{sessionId}/chunks
+     * Body: { "chunks": [{ "chunkIndex": 0, "encryptedBlob": "..." }, ...] }
+     * Response: 세션 상태 (receivedRanges 포함)
+     */
+    @PutMapping(value = "/{sessionId}/chunks", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<UploadSessionResponse> putChunks(
+            @PathVariable String teamId,
+            @PathVariable String sessionId,
+            @AuthenticationPrincipal User user,
+            @RequestBody ChunkUploadRequest request) {
+
+        return ResponseEntity.ok(uploadSessionService.putChunks(teamId, sessionId, user.getUserId(), request));
+    }
+
+    /**
+     * B-2. 청크 구간 전송 (바이너리 프레임, POST /api/teams/{teamId}/chunks 스트리밍과 같은 형식)
+     * PUT /api/teams/{teamId}/upload-sessions/{sessionId}/chunks
+     * Content-Type: application/octet-stream
+     */
+    @PutMapping(value = "/{sessionId}/chunks", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<UploadSessionResponse> putChunkStream(
+            @PathVariable String teamId,
+            @PathVariable String sessionId,
+            @AuthenticationPrincipal User user,
+            HttpServletRequest request) throws IOException {
+
+        return ResponseEntity.ok(uploadSessionService.putChunkStream(teamId, sessionId, user.getUserId(),
+                new ChunkFrameReader(request.getInputStream())));
+    }
+
+    /**
+     * C. 세션 상태 조회 (재개 시 receivedRanges 밖의 청크만 재전송)
+     * GET /api/teams/{teamId}/upload-sessions/{sessionId}
+     * Response: { "receivedCount": 1200, "receivedRanges": [{ "start": 0, "end": 999 }, { "start": 2000, "end": 2199 }] }
+     */
+    @GetMapping("/{sessionId}")
+    public ResponseEntity<UploadSessionResponse> getSession(
+            @PathVariable String teamId,
+            @PathVariable String sessionId,
+            @AuthenticationPrincipal User user) {
+
+        return ResponseEntity.ok(uploadSessionService.getStatus(teamId, sessionId, user.getUserId()));
+    }
+
+    /**
+     * D. 세션 커밋 (청크를 256개씩 나눠 문서에 반영, 동기화에는 커밋 완료 시 한 번에 공개, 실패 시 다시 커밋하면 이어서 반영)
+     * POST /api/teams/{teamId}/upload-sessions/{sessionId}/commit
+     * Response: { "documentId": "...", "changedIndexes": [...], "unchangedCount": 0 }
+     */
+    @PostMapping("/{sessionId}/commit")
+    public ResponseEntity<ChunkUploadResponse> commitSession(
+            @PathVariable String teamId,
+            @PathVariable String sessionId,
+            @AuthenticationPrincipal User user) throws IOException {
+
+        return ResponseEntity.ok(uploadSessionService.commit(teamId, sessionId, user.getUserId()));
+    }
+
+    /**
+     * E. 세션 취소
+     * DELETE /api/teams/{teamId}/upload-sessions/{sessionId}
+     */
+    @DeleteMapping("/{sessionId}")
+    public ResponseEntity<Void> abortSession(
+            @PathVariable String teamId,
+            @PathVariable String sessionId,
+            @AuthenticationPrincipal User user) {
+
+        uploadSessionService.abort(teamId, sessionId, user.getUserId());
+        return ResponseEntity.ok().build();
+    }
+}
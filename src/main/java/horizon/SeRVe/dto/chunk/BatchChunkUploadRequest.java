@@ -0,0 +1,14 @@
+package horizon.SeRVe.dto.chunk;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchChunkUploadRequest {
+    private List<ChunkUploadRequest> documents; // 문서별 { fileName, encryptedDEK, chunks }
+}
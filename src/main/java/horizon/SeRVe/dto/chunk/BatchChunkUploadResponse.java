@@ -0,0 +1,14 @@
+package horizon.SeRVe.dto.chunk;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchChunkUploadResponse {
+    private List<BatchDocumentResult> documents; // 요청의 documents와 같은 순서
+}
@@ -0,0 +1,39 @@
+package horizon.SeRVe.dto.chunk;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchDocumentResult {
+
+    public enum Status {
+        CREATED,  // 새 문서 생성
+        UPDATED,  // 기존 문서에 반영
+        REJECTED  // 검증 실패로 반영하지 않음 (message 참고)
+    }
+
+    private String fileName;
+    private String documentId; // REJECTED면 null
+    private Status status;
+    private List<Integer> changedIndexes;
+    private int unchangedCount;
+    private List<ChunkReceipt> receipts; // 기록된 청크별 (chunkId, version)
+    private String message; // REJECTED 사유
+
+    public static BatchDocumentResult rejected(String fileName, String message) {
+        return BatchDocumentResult.builder()
+                .fileName(fileName)
+                .status(Status.REJECTED)
+                .changedIndexes(List.of())
+                .receipts(List.of())
+                .message(message)
+                .build();
+    }
+}
@@ -0,0 +1,16 @@
+package horizon.SeRVe.dto.chunk;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChunkAppendRequest {
+    private String fileName; // 파일 이름 (예: "telemetry-2026-10.log")
+    private List<String> encryptedBlobs; // 순서대로 이어 붙일 청크 (Base64), chunkIndex는 서버가 할당
+    private String encryptedDEK; // Envelope Encryption: 팀 키로 암호화된 DEK (Base64)
+}
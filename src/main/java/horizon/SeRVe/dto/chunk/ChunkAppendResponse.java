@@ -0,0 +1,20 @@
+package horizon.SeRVe.dto.chunk;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ChunkAppendResponse {
+    private String documentId;
+    private int firstChunkIndex; // 할당된 구간 [firstChunkIndex, lastChunkIndex] (요청 순서대로)
+    private int lastChunkIndex;
+    private int count;
+    private List<ChunkReceipt> receipts; // 기록된 청크별 (chunkId, version = 0)
+}
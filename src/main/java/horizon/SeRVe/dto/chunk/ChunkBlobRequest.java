@@ -0,0 +1,15 @@
+package horizon.SeRVe.dto.chunk;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChunkBlobRequest {
+    private String teamId;
+    private List<String> chunkIds; // 메타데이터 동기화로 받은 chunkId 중 blob이 필요한 것만
+}
@@ -0,0 +1,65 @@
+package horizon.SeRVe.dto.chunk;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * 바이너리 청크 업로드 프레임 파서 (application/octet-stream)
+ *
+ * 프레임 형식 (Big-Endian, 본문 끝까지 반복):
+ * <pre>
+ * [chunkIndex : int32][length : int32][payload : length bytes]
+ * </pre>
+ * - chunkIndex = -1 이면 payload는 encryptedDEK (Envelope Encryption)
+ * - Base64 인코딩이 없으므로 전송량이 약 25% 줄고, 요청 전체를 메모리에 올리지 않음
+ */
+public class ChunkFrameReader implements ChunkStreamSource {
+
+    public static final int DEK_FRAME_INDEX = -1;
+
+    // 잘못된 length 값으로 인한 과도한 메모리 할당 방지
+    private static final int MAX_FRAME_LENGTH = 64 * 1024 * 1024;
+
+    private final DataInputStream in;
+
+    public ChunkFrameReader(InputStream in) {
+        this.in = new DataInputStream(new BufferedInputStream(in));
+    }
+
+    @Override
+    public void readTo(ChunkStreamSink sink) throws IOException {
+        while (hasNextFrame()) {
+            int chunkIndex = in.readInt();
+            int length = in.readInt();
+            if (chunkIndex < DEK_FRAME_INDEX) {
+                throw new IllegalArgumentException("잘못된 chunkIndex입니다: " + chunkIndex);
+            }
+            if (length < 0 || length > MAX_FRAME_LENGTH) {
+                throw new IllegalArgumentException("잘못된 프레임 길이입니다: " + length);
+            }
+
+            byte[] payload = new byte[length];
+            in.readFully(payload); // 프레임이 잘린 경우 EOFException
+
+            if (chunkIndex == DEK_FRAME_INDEX) {
+                sink.encryptedDEK(payload);
+            } else {
+                sink.chunk(chunkIndex, payload);
+            }
+        }
+    }
+
+    /**
+     * 본문에 읽을 프레임이 남아 있는지 확인 (1바이트 미리 보기)
+     */
+    private boolean hasNextFrame() throws IOException {
+        in.mark(1);
+        if (in.read() < 0) {
+            return false;
+        }
+        in.reset();
+        return true;
+    }
+}
@@ -0,0 +1,39 @@
+package horizon.SeRVe.dto.chunk;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * 바이너리 청크 프레임 작성기 (ChunkFrameReader와 같은 형식)
+ * - 비동기 업로드 스풀 파일 기록 등에 사용
+ */
+public class ChunkFrameWriter {
+
+    private final DataOutputStream out;
+
+    public ChunkFrameWriter(OutputStream out) {
+        this.out = new DataOutputStream(out);
+    }
+
+    public void writeEncryptedDEK(byte[] encryptedDEK) throws IOException {
+        writeFrame(ChunkFrameReader.DEK_FRAME_INDEX, encryptedDEK);
+    }
+
+    public void writeChunk(int chunkIndex, byte[] encryptedBlob) throws IOException {
+        if (chunkIndex < 0) {
+            throw new IllegalArgumentException("잘못된 chunkIndex입니다: " + chunkIndex);
+        }
+        writeFrame(chunkIndex, encryptedBlob);
+    }
+
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    private void writeFrame(int chunkIndex, byte[] payload) throws IOException {
+        out.writeInt(chunkIndex);
+        out.writeInt(payload.length);
+        out.write(payload);
+    }
+}
@@ -0,0 +1,144 @@
+package horizon.SeRVe.dto.chunk;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JSON 청크 업로드 스트리밍 파서 (ChunkUploadRequest와 같은 형식)
+ *
+ * <pre>
+ * { "fileName": "...", "encryptedDEK": "...(Base64)", "chunks": [{ "chunkIndex": 0, "encryptedBlob": "...(Base64)" }, ...] }
+ * </pre>
+ * - ChunkUploadRequest 전체를 바인딩하지 않고 chunks[i]를 하나씩 Base64 디코딩해 sink로 전달
+ * - Base64는 JsonParser.getBinaryValue로 입력에서 바로 디코딩 (중간 String 없음)
+ * - 최대 메모리 사용량: 청크 1개 (단, chunks가 fileName보다 먼저 오면 fileName을 알 때까지 버퍼링)
+ *
+ * 사용 순서: open()으로 fileName을 먼저 읽은 뒤 readTo()로 나머지 본문 처리
+ */
+public class ChunkJsonReader implements ChunkStreamSource {
+
+    private final JsonParser parser;
+
+    private String fileName;
+    private byte[] encryptedDEK;
+    // fileName보다 먼저 도착한 청크 (일반적인 클라이언트는 fileName을 먼저 보내므로 비어 있음)
+    private final List<BufferedChunk> bufferedChunks = new ArrayList<>();
+
+    public ChunkJsonReader(JsonParser parser) {
+        this.parser = parser;
+    }
+
+    /**
+     * fileName을 알 때까지 본문 앞부분을 읽음
+     */
+    public ChunkJsonReader open() throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new IllegalArgumentException("요청 본문은 JSON 객체여야 합니다.");
+        }
+        while (fileName == null && parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            if ("chunks".equals(field)) {
+                readChunksArray(null);
+            } else {
+                readHeaderField(field, null);
+            }
+        }
+        return this;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    @Override
+    public void readTo(ChunkStreamSink sink) throws IOException {
+        if (encryptedDEK != null) {
+            sink.encryptedDEK(encryptedDEK);
+        }
+        for (BufferedChunk buffered : bufferedChunks) {
+            sink.chunk(buffered.chunkIndex, buffered.encryptedBlob);
+        }
+        bufferedChunks.clear();
+
+        // 나머지 필드 (fileName 뒤의 chunks, chunks 뒤에 오는 encryptedDEK 등)
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            if ("chunks".equals(field)) {
+                readChunksArray(sink);
+            } else {
+                readHeaderField(field, sink);
+            }
+        }
+    }
+
+    private void readHeaderField(String field, ChunkStreamSink sink) throws IOException {
+        switch (field) {
+            case "fileName" -> fileName = parser.currentToken() == JsonToken.VALUE_NULL ? null : parser.getText();
+            case "encryptedDEK" -> {
+                if (parser.currentToken() != JsonToken.VALUE_NULL) {
+                    encryptedDEK = parser.getBinaryValue();
+                    if (sink != null) {
+                        sink.encryptedDEK(encryptedDEK);
+                    }
+                }
+            }
+            default -> parser.skipChildren(); // 알 수 없는 필드는 무시 (ChunkUploadRequest 바인딩과 동일)
+        }
+    }
+
+    /**
+     * chunks 배열 처리 (sink가 null이면 버퍼링)
+     */
+    private void readChunksArray(ChunkStreamSink sink) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_NULL) {
+            return;
+        }
+        if (token != JsonToken.START_ARRAY) {
+            throw new IllegalArgumentException("chunks는 배열이어야 합니다.");
+        }
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            Integer chunkIndex = null;
+            byte[] encryptedBlob = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                if ("chunkIndex".equals(field)) {
+                    chunkIndex = parser.getIntValue();
+                } else if ("encryptedBlob".equals(field)) {
+                    encryptedBlob = parser.getBinaryValue();
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            if (chunkIndex == null || encryptedBlob == null) {
+                throw new IllegalArgumentException("chunks 항목에는 chunkIndex와 encryptedBlob이 필요합니다.");
+            }
+
+            if (sink != null) {
+                sink.chunk(chunkIndex, encryptedBlob);
+            } else {
+                bufferedChunks.add(new BufferedChunk(chunkIndex, encryptedBlob));
+            }
+        }
+        if (parser.currentToken() != JsonToken.END_ARRAY) {
+            throw new IllegalArgumentException("chunks 항목은 JSON 객체여야 합니다.");
+        }
+    }
+
+    private static final class BufferedChunk {
+        final int chunkIndex;
+        final byte[] encryptedBlob;
+
+        BufferedChunk(int chunkIndex, byte[] encryptedBlob) {
+            this.chunkIndex = chunkIndex;
+            this.encryptedBlob = encryptedBlob;
+        }
+    }
+}
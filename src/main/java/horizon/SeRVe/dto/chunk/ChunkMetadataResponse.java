@@ -0,0 +1,21 @@
+package horizon.SeRVe.dto.chunk;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 메타데이터 전용 동기화 응답 (blob 없음)
+ * - 로컬 캐시의 digest와 비교해 달라진 청크만 POST /api/sync/chunks/blobs로 내려받음
+ */
+@Getter
+@Builder
+public class ChunkMetadataResponse {
+    private String documentId;
+    private String chunkId;
+    private int chunkIndex;
+    private int version;
+    private Long changeSeq;
+    private boolean isDeleted;
+    private byte[] digest; // 암호문 SHA-256 (content_hash 도입 이전 행은 null)
+    private int size; // 암호문 바이트 수 (tombstone은 0, blob_size 백필 전 inline 행은 0)
+}
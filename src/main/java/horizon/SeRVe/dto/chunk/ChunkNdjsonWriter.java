@@ -0,0 +1,38 @@
+package horizon.SeRVe.dto.chunk;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+
+/**
+ * 동기화 응답 NDJSON 스트리밍 기록기 (application/x-ndjson)
+ *
+ * <pre>
+ * { "documentId": "...", "chunkId": "...", "chunkIndex": 0, "encryptedBlob": "...(Base64)", "version": 3, "changeSeq": 42, ... }\n
+ * { ... }\n
+ * </pre>
+ * - ChunkSyncResponse와 같은 형식의 JSON 객체를 한 줄에 하나씩 기록 (배열로 감싸지 않음)
+ * - Base64는 JsonGenerator가 출력 버퍼에 바로 인코딩 (중간 String 없음)
+ * - 최대 메모리 사용량: 청크 1개 + 출력 버퍼
+ */
+public class ChunkNdjsonWriter implements ChunkSyncSink {
+
+    private final JsonGenerator generator;
+
+    public ChunkNdjsonWriter(JsonGenerator generator) {
+        this.generator = generator;
+        // 루트 값 사이 기본 구분자(공백) 대신 줄바꿈을 직접 기록
+        this.generator.setRootValueSeparator(null);
+    }
+
+    @Override
+    public void chunk(ChunkSyncResponse chunk) throws IOException {
+        generator.writeObject(chunk);
+        generator.writeRaw('\n');
+    }
+
+    @Override
+    public void close() throws IOException {
+        generator.close();
+    }
+}
@@ -0,0 +1,26 @@
+package horizon.SeRVe.dto.chunk;
+
+import horizon.SeRVe.entity.VectorChunk;
+import lombok.Getter;
+
+/**
+ * DB 기록 직전 형태의 청크 (Base64 디코딩 및 content_hash 계산 완료)
+ * - 디코딩/해시 계산은 트랜잭션 밖에서 미리 수행 (ChunkPayloadPreparer)
+ */
+@Getter
+public class ChunkPayload {
+
+    private final int chunkIndex;
+    private final byte[] encryptedBlob;
+    private final byte[] contentHash;
+
+    public ChunkPayload(int chunkIndex, byte[] encryptedBlob, byte[] contentHash) {
+        this.chunkIndex = chunkIndex;
+        this.encryptedBlob = encryptedBlob;
+        this.contentHash = contentHash;
+    }
+
+    public static ChunkPayload of(int chunkIndex, byte[] encryptedBlob) {
+        return new ChunkPayload(chunkIndex, encryptedBlob, VectorChunk.computeContentHash(encryptedBlob));
+    }
+}
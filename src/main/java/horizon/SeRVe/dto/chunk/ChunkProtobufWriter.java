@@ -0,0 +1,30 @@
+package horizon.SeRVe.dto.chunk;
+
+import com.google.protobuf.CodedOutputStream;
+import horizon.SeRVe.dto.sync.SyncProtobufCodec;
+
+import java.io.IOException;
+
+/**
+ * 동기화 응답 protobuf 스트리밍 기록기 (application/x-protobuf, ChunkSync 프레임 반복)
+ * - 최대 메모리 사용량: 청크 1개 + CodedOutputStream 버퍼
+ * - close는 버퍼만 비움 (CodedOutputStream은 하위 스트림을 닫지 않음)
+ */
+public class ChunkProtobufWriter implements ChunkSyncSink {
+
+    private final CodedOutputStream out;
+
+    public ChunkProtobufWriter(CodedOutputStream out) {
+        this.out = out;
+    }
+
+    @Override
+    public void chunk(ChunkSyncResponse chunk) throws IOException {
+        SyncProtobufCodec.writeChunk(out, chunk);
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.flush();
+    }
+}
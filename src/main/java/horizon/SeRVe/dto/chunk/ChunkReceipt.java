@@ -0,0 +1,18 @@
+package horizon.SeRVe.dto.chunk;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 업로드 영수증: 기록된 청크의 식별자와 커밋된 version
+ * - 클라이언트는 이 값으로 로컬 상태를 갱신하므로 자신이 쓴 청크를 동기화로 다시 받을 필요가 없음
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChunkReceipt {
+    private int chunkIndex;
+    private String chunkId;
+    private int version;
+}
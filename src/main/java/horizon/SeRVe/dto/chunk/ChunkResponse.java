@@ -12,11 +12,12 @@ public class ChunkResponse {
     private byte[] encryptedBlob;
     private int version;
 
-    public static ChunkResponse from(VectorChunk chunk) {
+    // blob은 BlobStore에서 조회한 값을 전달
+    public static ChunkResponse from(VectorChunk chunk, byte[] encryptedBlob) {
         return ChunkResponse.builder()
                 .chunkId(chunk.getChunkId())
                 .chunkIndex(chunk.getChunkIndex())
-                .encryptedBlob(chunk.getEncryptedBlob())
+                .encryptedBlob(encryptedBlob)
                 .version(chunk.getVersion())
                 .build();
     }
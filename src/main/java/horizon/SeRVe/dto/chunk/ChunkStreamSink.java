@@ -0,0 +1,18 @@
+package horizon.SeRVe.dto.chunk;
+
+/**
+ * 스트리밍 업로드 수신 측 (Service 레이어에서 구현)
+ * - 요청 본문을 파싱하는 즉시 청크 단위로 전달받아 영속화
+ */
+public interface ChunkStreamSink {
+
+    /**
+     * Envelope Encryption: 팀 키로 암호화된 DEK 수신
+     */
+    void encryptedDEK(byte[] encryptedDEK);
+
+    /**
+     * 청크 1개 수신
+     */
+    void chunk(int chunkIndex, byte[] encryptedBlob);
+}
@@ -0,0 +1,15 @@
+package horizon.SeRVe.dto.chunk;
+
+import java.io.IOException;
+
+/**
+ * 스트리밍 업로드 요청 본문 (전체를 메모리에 올리지 않고 순차적으로 읽음)
+ */
+@FunctionalInterface
+public interface ChunkStreamSource {
+
+    /**
+     * 본문 끝까지 읽으면서 각 항목을 sink로 전달
+     */
+    void readTo(ChunkStreamSink sink) throws IOException;
+}
@@ -0,0 +1,20 @@
+package horizon.SeRVe.dto.chunk;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 팀 변경 시퀀스 기준 동기화 페이지 (청크: ChunkSyncResponse 또는 ChunkMetadataResponse)
+ * - hasMore = true: nextCursor로 바로 다음 페이지 요청
+ * - hasMore = false: 현재까지의 변경을 모두 받음, nextCursor를 보관했다가 다음 증분 동기화에 사용
+ */
+@Getter
+@AllArgsConstructor
+public class ChunkSyncPage<T> {
+    private final List<T> chunks;
+    private final String nextCursor;
+    private final boolean hasMore;
+    private final long highWaterMark; // nextCursor가 가리키는 change_seq (X-Change-Seq 헤더와 동일)
+}
@@ -10,31 +10,26 @@ public class ChunkSyncResponse {
     private String documentId; // 팀 동기화 시 필요
     private String chunkId;
     private int chunkIndex;
-    private byte[] encryptedBlob;
+    private byte[] encryptedBlob; // 논리 삭제된 청크(tombstone)는 null
     private int version;
+    private Long changeSeq; // 팀 변경 시퀀스 (시퀀스 도입 이전 행은 백필 전까지 null)
     private boolean isDeleted;
     private String createdBy; // 업로더 정보 (감사 추적용)
 
-    public static ChunkSyncResponse from(VectorChunk chunk) {
-        return ChunkSyncResponse.builder()
-                .documentId(chunk.getDocumentId())
-                .chunkId(chunk.getChunkId())
-                .chunkIndex(chunk.getChunkIndex())
-                .encryptedBlob(chunk.getEncryptedBlob())
-                .version(chunk.getVersion())
-                .isDeleted(chunk.isDeleted())
-                .createdBy(null) // Service 레이어에서 설정
-                .build();
+    // blob은 BlobStore에서 조회한 값을 전달 (외부 저장 행의 encrypted_blob 컬럼은 비어 있음, tombstone은 null)
+    public static ChunkSyncResponse from(VectorChunk chunk, byte[] encryptedBlob) {
+        return from(chunk, encryptedBlob, null); // createdBy는 Service 레이어에서 설정
     }
 
     // Service 레이어에서 createdBy를 설정할 수 있도록 정적 팩토리 메서드 추가
-    public static ChunkSyncResponse from(VectorChunk chunk, String createdBy) {
+    public static ChunkSyncResponse from(VectorChunk chunk, byte[] encryptedBlob, String createdBy) {
         return ChunkSyncResponse.builder()
                 .documentId(chunk.getDocumentId())
                 .chunkId(chunk.getChunkId())
                 .chunkIndex(chunk.getChunkIndex())
-                .encryptedBlob(chunk.getEncryptedBlob())
+                .encryptedBlob(chunk.isDeleted() ? null : encryptedBlob)
                 .version(chunk.getVersion())
+                .changeSeq(chunk.getChangeSeq())
                 .isDeleted(chunk.isDeleted())
                 .createdBy(createdBy)
                 .build();
@@ -0,0 +1,17 @@
+package horizon.SeRVe.dto.chunk;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * 스트리밍 동기화 송신 측 (Controller에서 응답 형식에 맞게 구현)
+ * - DB에서 읽는 즉시 청크 단위로 전달받아 응답 스트림에 기록
+ * - close: 버퍼에 남은 내용을 응답 스트림에 기록
+ */
+public interface ChunkSyncSink extends Closeable {
+
+    /**
+     * 청크 1개 송신
+     */
+    void chunk(ChunkSyncResponse chunk) throws IOException;
+}
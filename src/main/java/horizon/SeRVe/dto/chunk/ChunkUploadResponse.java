@@ -0,0 +1,31 @@
+package horizon.SeRVe.dto.chunk;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ChunkUploadResponse {
+    private String documentId;
+    private List<Integer> changedIndexes; // 실제로 기록된 청크 (version 증가 → 동기화 대상)
+    private int unchangedCount; // 동일 내용이라 생략된 청크 수
+    private boolean coalesced; // 쓰기 병합 구간에 접수됨 (구간 종료 시 반영, documentId는 아직 없을 수 있음)
+    private List<ChunkReceipt> receipts; // 기록된 청크별 (chunkId, version)
+    private String flushError; // 쓰기 병합: 같은 문서에 대한 직전 구간 반영 실패 사유 (없으면 null, 한 번만 전달)
+
+    public static ChunkUploadResponse of(String documentId, List<ChunkReceipt> receipts, int receivedCount) {
+        return ChunkUploadResponse.builder()
+                .documentId(documentId)
+                .changedIndexes(receipts.stream().map(ChunkReceipt::getChunkIndex).collect(Collectors.toList()))
+                .unchangedCount(receivedCount - receipts.size())
+                .receipts(receipts)
+                .build();
+    }
+}
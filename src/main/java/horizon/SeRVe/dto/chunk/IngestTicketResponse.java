@@ -0,0 +1,50 @@
+package horizon.SeRVe.dto.chunk;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class IngestTicketResponse {
+    private String ticketId;
+    private Status status;
+    private String documentId; // COMMITTED 시 설정
+    private List<Integer> changedIndexes; // COMMITTED 시 설정
+    private String message; // FAILED 시 실패 사유
+
+    public enum Status {
+        PENDING,    // 큐 대기 중
+        COMMITTED,  // DB 반영 완료
+        FAILED      // 반영 실패 (재업로드 필요)
+    }
+
+    public static IngestTicketResponse pending(String ticketId) {
+        return IngestTicketResponse.builder()
+                .ticketId(ticketId)
+                .status(Status.PENDING)
+                .build();
+    }
+
+    public static IngestTicketResponse committed(String ticketId, ChunkUploadResponse result) {
+        return IngestTicketResponse.builder()
+                .ticketId(ticketId)
+                .status(Status.COMMITTED)
+                .documentId(result.getDocumentId())
+                .changedIndexes(result.getChangedIndexes())
+                .build();
+    }
+
+    public static IngestTicketResponse failed(String ticketId, String message) {
+        return IngestTicketResponse.builder()
+                .ticketId(ticketId)
+                .status(Status.FAILED)
+                .message(message)
+                .build();
+    }
+}
@@ -0,0 +1,42 @@
+package horizon.SeRVe.dto.chunk;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * 동기화 페이지 연속 커서 (불투명 문자열)
+ *
+ * - 내부적으로는 마지막으로 전달한 change_seq (팀 안에서 유일하므로 keyset으로 충분)
+ * - 클라이언트는 값을 해석하지 않고 다음 요청의 cursor로 그대로 전달
+ * - 형식 버전 접두사를 두어 이후 커서 내용이 바뀌어도 이전 커서를 구분할 수 있게 함
+ */
+public final class SyncCursor {
+
+    private static final String PREFIX = "s1:";
+
+    private SyncCursor() {
+    }
+
+    public static String encode(long afterSeq) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((PREFIX + afterSeq).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * @return 커서가 가리키는 change_seq (이 값보다 큰 변경부터 조회)
+     */
+    public static long decode(String cursor) {
+        long afterSeq;
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+            afterSeq = decoded.startsWith(PREFIX) ? Long.parseLong(decoded.substring(PREFIX.length())) : -1;
+        } catch (IllegalArgumentException e) {
+            // Base64/숫자 형식 오류 (NumberFormatException 포함)
+            afterSeq = -1;
+        }
+        if (afterSeq < 0) {
+            throw new IllegalArgumentException("유효하지 않은 동기화 커서입니다.");
+        }
+        return afterSeq;
+    }
+}
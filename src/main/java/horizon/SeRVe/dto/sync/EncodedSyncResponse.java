@@ -0,0 +1,28 @@
+package horizon.SeRVe.dto.sync;
+
+import lombok.Getter;
+
+/**
+ * 인코딩된 동기화 응답 (JSON 또는 protobuf 본문 + 페이지 헤더 값)
+ * - 같은 팀/위치/형식의 요청이 본문을 다시 직렬화하지 않도록 응답 캐시에 그대로 보관
+ */
+@Getter
+public class EncodedSyncResponse {
+
+    private final byte[] body;
+    private final long highWaterMark;
+    private final String nextCursor;  // lastVersion 방식 응답이면 null
+    private final boolean hasMore;
+
+    public EncodedSyncResponse(byte[] body, long highWaterMark, String nextCursor, boolean hasMore) {
+        this.body = body;
+        this.highWaterMark = highWaterMark;
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+    }
+
+    // 캐시 용량 계산용 (본문 바이트 + 고정 오버헤드)
+    public int weight() {
+        return 128 + body.length;
+    }
+}
@@ -0,0 +1,158 @@
+package horizon.SeRVe.dto.sync;
+
+import com.google.protobuf.CodedOutputStream;
+import horizon.SeRVe.dto.chunk.ChunkSyncResponse;
+
+import java.io.IOException;
+
+/**
+ * 동기화 응답 protobuf 프레임 인코더 (Content-Type: application/x-protobuf)
+ *
+ * - 스키마: src/main/proto/serve_sync.proto (ChunkSync, ChangedDocument, SnapshotHeader, SnapshotDocument)
+ * - 메시지마다 [varint 길이][메시지] 프레임으로 기록 (클라이언트는 parseDelimitedFrom으로 순서대로 읽음)
+ * - 생성 코드 없이 필드 번호대로 CodedOutputStream에 직접 기록 (DTO → 메시지 객체 사본 없음)
+ * - blob은 Base64 없이 바이트 그대로, 기본값(0/false/null) 필드는 생략
+ */
+public final class SyncProtobufCodec {
+
+    public static final String MEDIA_TYPE_VALUE = "application/x-protobuf";
+
+    // ChunkSync 필드 번호
+    private static final int CHUNK_DOCUMENT_ID = 1;
+    private static final int CHUNK_CHUNK_ID = 2;
+    private static final int CHUNK_INDEX = 3;
+    private static final int CHUNK_ENCRYPTED_BLOB = 4;
+    private static final int CHUNK_VERSION = 5;
+    private static final int CHUNK_CHANGE_SEQ = 6;
+    private static final int CHUNK_DELETED = 7;
+    private static final int CHUNK_CREATED_BY = 8;
+
+    // ChangedDocument 필드 번호
+    private static final int DOCUMENT_DOCUMENT_ID = 1;
+    private static final int DOCUMENT_FILE_NAME = 2;
+    private static final int DOCUMENT_FILE_TYPE = 3;
+    private static final int DOCUMENT_VERSION = 4;
+    private static final int DOCUMENT_UPLOADER_ID = 5;
+
+    // SnapshotHeader 필드 번호
+    private static final int SNAPSHOT_TEAM_ID = 1;
+    private static final int SNAPSHOT_CHANGE_SEQ = 2;
+    private static final int SNAPSHOT_DOCUMENT_COUNT = 3;
+    private static final int SNAPSHOT_CREATED_AT = 4;
+
+    // SnapshotDocument 필드 번호
+    private static final int SNAPSHOT_DOCUMENT_ID = 1;
+    private static final int SNAPSHOT_FILE_NAME = 2;
+    private static final int SNAPSHOT_ENCRYPTED_DEK = 3;
+
+    private SyncProtobufCodec() {
+    }
+
+    public static void writeChunk(CodedOutputStream out, ChunkSyncResponse chunk) throws IOException {
+        out.writeUInt32NoTag(chunkSize(chunk));
+        writeString(out, CHUNK_DOCUMENT_ID, chunk.getDocumentId());
+        writeString(out, CHUNK_CHUNK_ID, chunk.getChunkId());
+        writeUInt32(out, CHUNK_INDEX, chunk.getChunkIndex());
+        if (chunk.getEncryptedBlob() != null && chunk.getEncryptedBlob().length > 0) {
+            out.writeByteArray(CHUNK_ENCRYPTED_BLOB, chunk.getEncryptedBlob());
+        }
+        writeUInt32(out, CHUNK_VERSION, chunk.getVersion());
+        if (chunk.getChangeSeq() != null && chunk.getChangeSeq() != 0) {
+            out.writeUInt64(CHUNK_CHANGE_SEQ, chunk.getChangeSeq());
+        }
+        if (chunk.isDeleted()) {
+            out.writeBool(CHUNK_DELETED, true);
+        }
+        writeString(out, CHUNK_CREATED_BY, chunk.getCreatedBy());
+    }
+
+    public static void writeDocument(CodedOutputStream out, ChangedDocumentResponse document) throws IOException {
+        out.writeUInt32NoTag(documentSize(document));
+        writeString(out, DOCUMENT_DOCUMENT_ID, document.getDocumentId());
+        writeString(out, DOCUMENT_FILE_NAME, document.getFileName());
+        writeString(out, DOCUMENT_FILE_TYPE, document.getFileType());
+        writeUInt32(out, DOCUMENT_VERSION, document.getVersion());
+        writeString(out, DOCUMENT_UPLOADER_ID, document.getUploaderId());
+    }
+
+    public static void writeSnapshotHeader(CodedOutputStream out, String teamId, long changeSeq,
+                                           int documentCount, long createdAt) throws IOException {
+        int size = stringSize(SNAPSHOT_TEAM_ID, teamId)
+                + uint32Size(SNAPSHOT_DOCUMENT_COUNT, documentCount);
+        if (changeSeq != 0) {
+            size += CodedOutputStream.computeUInt64Size(SNAPSHOT_CHANGE_SEQ, changeSeq);
+        }
+        if (createdAt != 0) {
+            size += CodedOutputStream.computeInt64Size(SNAPSHOT_CREATED_AT, createdAt);
+        }
+        out.writeUInt32NoTag(size);
+        writeString(out, SNAPSHOT_TEAM_ID, teamId);
+        if (changeSeq != 0) {
+            out.writeUInt64(SNAPSHOT_CHANGE_SEQ, changeSeq);
+        }
+        writeUInt32(out, SNAPSHOT_DOCUMENT_COUNT, documentCount);
+        if (createdAt != 0) {
+            out.writeInt64(SNAPSHOT_CREATED_AT, createdAt);
+        }
+    }
+
+    public static void writeSnapshotDocument(CodedOutputStream out, String documentId, String fileName,
+                                             byte[] encryptedDEK) throws IOException {
+        boolean hasDEK = encryptedDEK != null && encryptedDEK.length > 0;
+        int size = stringSize(SNAPSHOT_DOCUMENT_ID, documentId)
+                + stringSize(SNAPSHOT_FILE_NAME, fileName)
+                + (hasDEK ? CodedOutputStream.computeByteArraySize(SNAPSHOT_ENCRYPTED_DEK, encryptedDEK) : 0);
+        out.writeUInt32NoTag(size);
+        writeString(out, SNAPSHOT_DOCUMENT_ID, documentId);
+        writeString(out, SNAPSHOT_FILE_NAME, fileName);
+        if (hasDEK) {
+            out.writeByteArray(SNAPSHOT_ENCRYPTED_DEK, encryptedDEK);
+        }
+    }
+
+    private static int chunkSize(ChunkSyncResponse chunk) {
+        int size = stringSize(CHUNK_DOCUMENT_ID, chunk.getDocumentId())
+                + stringSize(CHUNK_CHUNK_ID, chunk.getChunkId())
+                + uint32Size(CHUNK_INDEX, chunk.getChunkIndex())
+                + uint32Size(CHUNK_VERSION, chunk.getVersion())
+                + stringSize(CHUNK_CREATED_BY, chunk.getCreatedBy());
+        if (chunk.getEncryptedBlob() != null && chunk.getEncryptedBlob().length > 0) {
+            size += CodedOutputStream.computeByteArraySize(CHUNK_ENCRYPTED_BLOB, chunk.getEncryptedBlob());
+        }
+        if (chunk.getChangeSeq() != null && chunk.getChangeSeq() != 0) {
+            size += CodedOutputStream.computeUInt64Size(CHUNK_CHANGE_SEQ, chunk.getChangeSeq());
+        }
+        if (chunk.isDeleted()) {
+            size += CodedOutputStream.computeBoolSize(CHUNK_DELETED, true);
+        }
+        return size;
+    }
+
+    private static int documentSize(ChangedDocumentResponse document) {
+        return stringSize(DOCUMENT_DOCUMENT_ID, document.getDocumentId())
+                + stringSize(DOCUMENT_FILE_NAME, document.getFileName())
+                + stringSize(DOCUMENT_FILE_TYPE, document.getFileType())
+                + uint32Size(DOCUMENT_VERSION, document.getVersion())
+                + stringSize(DOCUMENT_UPLOADER_ID, document.getUploaderId());
+    }
+
+    private static void writeString(CodedOutputStream out, int field, String value) throws IOException {
+        if (value != null && !value.isEmpty()) {
+            out.writeString(field, value);
+        }
+    }
+
+    private static void writeUInt32(CodedOutputStream out, int field, int value) throws IOException {
+        if (value != 0) {
+            out.writeUInt32(field, value);
+        }
+    }
+
+    private static int stringSize(int field, String value) {
+        return value != null && !value.isEmpty() ? CodedOutputStream.computeStringSize(field, value) : 0;
+    }
+
+    private static int uint32Size(int field, int value) {
+        return value != 0 ? CodedOutputStream.computeUInt32Size(field, value) : 0;
+    }
+}
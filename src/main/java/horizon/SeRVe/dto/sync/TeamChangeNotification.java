@@ -0,0 +1,15 @@
+package horizon.SeRVe.dto.sync;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 팀 변경 알림 (SSE "changed" 이벤트 / long-poll 응답)
+ * - 변경 내용은 담지 않음, 클라이언트는 받은 뒤 GET /api/sync/chunks?since=... 로 동기화
+ */
+@Getter
+@AllArgsConstructor
+public class TeamChangeNotification {
+    private String teamId;
+    private long changeSeq; // 알림 시점의 팀 변경 시퀀스 (이 값 이하의 변경은 이미 커밋됨)
+}
@@ -0,0 +1,18 @@
+package horizon.SeRVe.dto.sync;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.file.Path;
+
+/**
+ * 생성 완료된 팀 스냅샷 파일 (GET /api/sync/snapshot)
+ */
+@Getter
+@AllArgsConstructor
+public class TeamSnapshot {
+    private final String teamId;
+    private final long changeSeq; // 스냅샷 위치 (적재 후 since로 사용)
+    private final Path path;
+    private final long length;
+}
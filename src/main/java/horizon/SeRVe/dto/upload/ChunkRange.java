@@ -0,0 +1,41 @@
+package horizon.SeRVe.dto.upload;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 연속된 chunk_index 구간 [start, end] (양 끝 포함)
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChunkRange {
+    private int start;
+    private int end;
+
+    /**
+     * 정렬된 chunk_index 목록을 연속 구간으로 압축
+     */
+    public static List<ChunkRange> fromSortedIndexes(List<Integer> sortedIndexes) {
+        List<ChunkRange> ranges = new ArrayList<>();
+        if (sortedIndexes.isEmpty()) {
+            return ranges;
+        }
+        int start = sortedIndexes.get(0);
+        int end = start;
+        for (int i = 1; i < sortedIndexes.size(); i++) {
+            int index = sortedIndexes.get(i);
+            if (index != end + 1) {
+                ranges.add(new ChunkRange(start, end));
+                start = index;
+            }
+            end = index;
+        }
+        ranges.add(new ChunkRange(start, end));
+        return ranges;
+    }
+}
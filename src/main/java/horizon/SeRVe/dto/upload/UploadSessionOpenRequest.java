@@ -0,0 +1,14 @@
+package horizon.SeRVe.dto.upload;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class UploadSessionOpenRequest {
+    private String fileName; // 파일 이름 (예: "설비매뉴얼.pdf")
+    private Integer totalChunks; // 전체 청크 수 (선택, 지정 시 커밋 전에 누락 검증)
+    private String encryptedDEK; // Envelope Encryption: 팀 키로 암호화된 DEK (Base64, 선택)
+}
@@ -0,0 +1,37 @@
+package horizon.SeRVe.dto.upload;
+
+import horizon.SeRVe.entity.UploadSession;
+import horizon.SeRVe.entity.UploadSessionStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UploadSessionResponse {
+    private String sessionId;
+    private String fileName;
+    private UploadSessionStatus status;
+    private Integer totalChunks;
+    private long receivedCount; // 수신된 청크 수
+    private List<ChunkRange> receivedRanges; // 수신된 chunk_index 구간 (재개 시 나머지만 전송)
+    private LocalDateTime expiresAt;
+
+    public static UploadSessionResponse from(UploadSession session, long receivedCount, List<ChunkRange> receivedRanges) {
+        return UploadSessionResponse.builder()
+                .sessionId(session.getSessionId())
+                .fileName(session.getFileName())
+                .status(session.getStatus())
+                .totalChunks(session.getTotalChunks())
+                .receivedCount(receivedCount)
+                .receivedRanges(receivedRanges)
+                .expiresAt(session.getExpiresAt())
+                .build();
+    }
+}
@@ -43,6 +43,10 @@ public class Document {
 
     private LocalDateTime uploadedAt;
 
+    // Append 모드 청크 인덱스 카운터 (JDBC로만 갱신, 최초 append 시 초기화되므로 그 전까지는 null)
+    @Column(name = "next_chunk_index", insertable = false, updatable = false)
+    private Integer nextChunkIndex;
+
     @PrePersist
     public void prePersist() {
         this.uploadedAt = LocalDateTime.now();
@@ -33,6 +33,15 @@ public class Team {
     @Enumerated(EnumType.STRING)
     private RepoType type = RepoType.TEAM;
 
+    // 팀 변경 시퀀스 카운터 (청크 쓰기 시 JDBC로만 증가, 엔티티 저장으로 덮어쓰지 않음)
+    @Column(name = "change_seq", nullable = false, updatable = false, columnDefinition = "BIGINT NOT NULL DEFAULT 0")
+    private long changeSeq = 0;
+
+    // 하드 삭제(tombstone 정리)된 청크의 최대 change_seq (TombstoneCompactionJob이 JDBC로만 증가)
+    // 이보다 이전 위치의 증분 동기화는 삭제를 놓치므로 다시 처음부터 동기화해야 함
+    @Column(name = "purged_seq", nullable = false, updatable = false, columnDefinition = "BIGINT NOT NULL DEFAULT 0")
+    private long purgedSeq = 0;
+
     // 생성자 편의 메서드
     public Team(String name, String description, String ownerId) {
         this.name = name;
@@ -0,0 +1,88 @@
+package horizon.SeRVe.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 재개 가능한 대용량 업로드 세션
+ * - 청크는 upload_session_chunks에 임시 저장되고, 커밋 시 256개씩 나눠 vector_chunks에 반영
+ * - 커밋이 끝나기 전까지 동기화 클라이언트에는 아무것도 보이지 않음 (반영된 페이지도 마지막에 한 번에 공개)
+ */
+@Entity
+@Table(name = "upload_sessions", indexes = {
+    @Index(name = "idx_upload_session_status_expires", columnList = "status, expires_at")
+})
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+public class UploadSession {
+
+    @Id
+    @Column(name = "session_id", length = 36)
+    private String sessionId;
+
+    @Column(name = "team_id", nullable = false)
+    private String teamId;
+
+    @Column(name = "file_name", nullable = false)
+    private String fileName;
+
+    @Column(name = "user_id", nullable = false)
+    private String userId;
+
+    // 커밋 시 Document에 반영할 encryptedDEK (선택)
+    @Lob
+    @Column(name = "encrypted_dek", columnDefinition = "LONGBLOB")
+    private byte[] encryptedDEK;
+
+    // 클라이언트가 알려준 전체 청크 수 (선택, 커밋 시 누락 검증용)
+    @Column(name = "total_chunks")
+    private Integer totalChunks;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 16)
+    private UploadSessionStatus status;
+
+    @Version
+    @Column(name = "version", nullable = false)
+    private int version;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public boolean isOpen() {
+        return status == UploadSessionStatus.OPEN && expiresAt.isAfter(LocalDateTime.now());
+    }
+
+    public void setEncryptedDEK(byte[] encryptedDEK) {
+        this.encryptedDEK = encryptedDEK;
+    }
+
+    // 청크를 받을 때마다 유효 시간 연장
+    public void extendUntil(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    public void markCommitted() {
+        this.status = UploadSessionStatus.COMMITTED;
+    }
+
+    public void markAborted() {
+        this.status = UploadSessionStatus.ABORTED;
+    }
+
+    public void markExpired() {
+        this.status = UploadSessionStatus.EXPIRED;
+    }
+}
@@ -0,0 +1,32 @@
+package horizon.SeRVe.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * 업로드 세션에 임시 저장된 청크 (커밋 시 vector_chunks로 이동 후 삭제)
+ */
+@Entity
+@Table(name = "upload_session_chunks", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_upload_session_chunk", columnNames = {"session_id", "chunk_index"})
+})
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+public class UploadSessionChunk {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "session_id", length = 36, nullable = false)
+    private String sessionId;
+
+    @Column(name = "chunk_index", nullable = false)
+    private int chunkIndex;
+
+    @Lob
+    @Column(name = "encrypted_blob", nullable = false, columnDefinition = "LONGBLOB")
+    private byte[] encryptedBlob;
+}
@@ -0,0 +1,8 @@
+package horizon.SeRVe.entity;
+
+public enum UploadSessionStatus {
+    OPEN,       // 청크 수신 중
+    COMMITTED,  // 문서에 반영 완료
+    ABORTED,    // 클라이언트가 취소
+    EXPIRED     // 유효 시간 초과로 정리됨
+}
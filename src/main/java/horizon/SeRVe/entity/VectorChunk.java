@@ -1,14 +1,19 @@
 package horizon.SeRVe.entity;
 
 import jakarta.persistence.*;
+import horizon.SeRVe.storage.BlobRef;
 import lombok.*;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "vector_chunks", indexes = {
     @Index(name = "idx_document_chunk", columnList = "document_id, chunk_index"),
     @Index(name = "idx_team_version", columnList = "team_id, version"),
-    @Index(name = "idx_document_deleted", columnList = "document_id, is_deleted")
+    @Index(name = "idx_document_deleted", columnList = "document_id, is_deleted"),
+    @Index(name = "idx_team_change_seq", columnList = "team_id, change_seq")
 })
 @Getter
 @Setter
@@ -34,6 +39,24 @@ public class VectorChunk {
     @Column(name = "encrypted_blob", nullable = false, columnDefinition = "LONGBLOB")
     private byte[] encryptedBlob;
 
+    // 외부 BlobStore 포인터 (null이면 encrypted_blob에 inline 저장된 행)
+    @Column(name = "blob_segment", length = 64)
+    private String blobSegment;
+
+    @Column(name = "blob_offset")
+    private Long blobOffset;
+
+    @Column(name = "blob_length")
+    private Integer blobLength;
+
+    // 암호문 크기 (inline/외부 저장 공통, 동기화 페이지 바이트 예산을 blob 로드 없이 계산하는 용도)
+    @Column(name = "blob_size")
+    private Integer blobSize;
+
+    // 암호문 SHA-256 (동일 내용 재업로드 감지용, 평문 정보 없음)
+    @Column(name = "content_hash", length = 32)
+    private byte[] contentHash;
+
     @Version
     @Column(name = "version", nullable = false)
     private int version;
@@ -42,6 +65,15 @@ public class VectorChunk {
     @Column(name = "is_deleted", nullable = false)
     private boolean isDeleted = false;
 
+    // 마지막으로 기록(업로드/삭제)한 사용자 ID (동기화 시 자기 쓰기 제외용, 도입 이전 행은 null)
+    @Column(name = "written_by", length = 36)
+    private String writtenBy;
+
+    // 팀 단위 변경 시퀀스 (삽입/수정/논리 삭제마다 새로 할당, 팀 안에서 단조 증가)
+    // 동기화 커서로 사용 (version은 행 단위 카운터라 팀 전체에서 단조 증가하지 않음)
+    @Column(name = "change_seq")
+    private Long changeSeq;
+
     @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
 
@@ -61,11 +93,40 @@ public class VectorChunk {
 
     public void updateContent(byte[] newBlob) {
         this.encryptedBlob = newBlob;
+        this.contentHash = computeContentHash(newBlob);
+        // JPA 경로로 갱신한 blob은 inline 저장
+        this.blobSegment = null;
+        this.blobOffset = null;
+        this.blobLength = null;
+        this.blobSize = newBlob.length;
         // version은 @Version에 의해 자동 증가
     }
 
-    public void markAsDeleted() {
+    /**
+     * 이 행의 blob 참조 (BlobStore.load로 실제 blob 조회)
+     */
+    public BlobRef getBlobRef() {
+        if (blobSegment == null) {
+            return BlobRef.inline(encryptedBlob);
+        }
+        return BlobRef.external(blobSegment, blobOffset, blobLength);
+    }
+
+    public void markAsDeleted(String userId) {
         this.isDeleted = true;
+        this.writtenBy = userId;
+        this.changeSeq = null; // 커밋 직전에 할당 (VectorChunkRepository.deferChangeSeq)
         // version은 @Version에 의해 자동 증가
     }
+
+    /**
+     * 암호문 내용 해시 (SHA-256)
+     */
+    public static byte[] computeContentHash(byte[] encryptedBlob) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(encryptedBlob);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256을 사용할 수 없습니다.", e);
+        }
+    }
 }
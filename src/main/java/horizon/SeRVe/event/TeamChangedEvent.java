@@ -0,0 +1,15 @@
+package horizon.SeRVe.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 팀 변경 시퀀스 할당 이벤트 (청크 쓰기/삭제, 문서 변경)
+ * - 할당한 트랜잭션 안에서 발행, 구독 알림은 커밋 후(AFTER_COMMIT)에만 전달
+ */
+@Getter
+@AllArgsConstructor
+public class TeamChangedEvent {
+    private final String teamId;
+    private final long changeSeq; // 이번에 할당한 구간의 마지막 시퀀스
+}
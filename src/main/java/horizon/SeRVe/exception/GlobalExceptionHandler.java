@@ -1,5 +1,8 @@
 package horizon.SeRVe.exception;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -29,4 +32,34 @@ public class GlobalExceptionHandler {
         String message = e.getMessage() + " (Error: Rate limit exceeded)";
         return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(message);
     }
+
+    // 스트리밍 파싱 중 잘못된 JSON 본문이면 HTTP 400 Bad Request
+    @ExceptionHandler(JsonProcessingException.class)
+    public ResponseEntity<String> handleJsonProcessingException(JsonProcessingException e) {
+        String message = "요청 본문을 해석할 수 없습니다: " + e.getOriginalMessage() + " (Error: Malformed request body)";
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(message);
+    }
+
+    // 같은 문서 동시 쓰기 충돌이 서버 재시도 후에도 남으면 HTTP 409 Conflict (500 대신, 클라이언트 재시도 가능)
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<String> handleOptimisticLockingFailureException(OptimisticLockingFailureException e) {
+        String message = "다른 요청이 같은 문서를 수정 중입니다. 잠시 후 다시 시도하세요. (Error: Write conflict)";
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(message);
+    }
+
+    // 서버 포화(업로드 큐 등) 시 HTTP 503 Service Unavailable + Retry-After 반환
+    @ExceptionHandler(ServerBusyException.class)
+    public ResponseEntity<String> handleServerBusyException(ServerBusyException e) {
+        String message = e.getMessage() + " (Error: Server busy)";
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(message);
+    }
+
+    // 동기화 위치가 tombstone 정리 구간 이전이면 HTTP 410 Gone (로컬 상태를 비우고 since=0부터 다시 동기화)
+    @ExceptionHandler(SyncCursorExpiredException.class)
+    public ResponseEntity<String> handleSyncCursorExpiredException(SyncCursorExpiredException e) {
+        String message = e.getMessage() + " (Error: Sync cursor expired, purgedSeq=" + e.getPurgedSeq() + ")";
+        return ResponseEntity.status(HttpStatus.GONE).body(message);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,19 @@
+package horizon.SeRVe.exception;
+
+/**
+ * 서버 자원(큐, 메모리 등) 포화로 요청을 받을 수 없을 때 발생하는 예외
+ * HTTP 503 Service Unavailable + Retry-After 반환용
+ */
+public class ServerBusyException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ServerBusyException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
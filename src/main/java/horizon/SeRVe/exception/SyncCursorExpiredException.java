@@ -0,0 +1,19 @@
+package horizon.SeRVe.exception;
+
+/**
+ * 동기화 위치(since/cursor)가 tombstone 정리 구간보다 오래되어 증분 동기화로 따라잡을 수 없을 때 발생하는 예외
+ * HTTP 410 Gone 반환용 (클라이언트는 로컬 상태를 비우고 since=0부터 다시 동기화)
+ */
+public class SyncCursorExpiredException extends RuntimeException {
+
+    private final long purgedSeq;
+
+    public SyncCursorExpiredException(String message, long purgedSeq) {
+        super(message);
+        this.purgedSeq = purgedSeq;
+    }
+
+    public long getPurgedSeq() {
+        return purgedSeq;
+    }
+}
@@ -0,0 +1,17 @@
+package horizon.SeRVe.repository;
+
+/**
+ * 동기화 페이지 후보 (blob 없이 (team_id, change_seq) 인덱스 범위 스캔으로 조회하는 메타데이터)
+ * - blobSize가 null이면 blob_size 도입 이전 행 (백필 전), tombstone은 0
+ * - 메타데이터 전용 동기화 응답(ChunkMetadataResponse)의 원본으로도 사용
+ */
+public interface ChunkSyncCandidate {
+    String getChunkId();
+    String getDocumentId();
+    Integer getChunkIndex();
+    Integer getVersion();
+    Long getChangeSeq();
+    Boolean getDeleted();
+    byte[] getContentHash();
+    Integer getBlobSize();
+}
@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -24,4 +25,8 @@ public interface DocumentRepository extends JpaRepository<Document, Long> {
     // 여러 documentId로 일괄 조회 (N+1 방지)
     @EntityGraph(attributePaths = {"uploader"})
     List<Document> findAllByDocumentIdIn(List<String> documentIds);
+
+    // 다중 문서 업로드: 여러 파일명을 한 번에 조회 (업로더 검증용으로 uploader 함께 로딩)
+    @EntityGraph(attributePaths = {"uploader"})
+    List<Document> findAllByTeamAndOriginalFileNameIn(Team team, Collection<String> originalFileNames);
 }
@@ -0,0 +1,41 @@
+package horizon.SeRVe.repository;
+
+import horizon.SeRVe.entity.UploadSessionChunk;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface UploadSessionChunkRepository extends JpaRepository<UploadSessionChunk, Long> {
+
+    /**
+     * 수신된 chunk_index 목록 (blob 제외, 수신 범위 계산용)
+     */
+    @Query("SELECT c.chunkIndex FROM UploadSessionChunk c WHERE c.sessionId = :sessionId ORDER BY c.chunkIndex")
+    List<Integer> findChunkIndexesBySessionId(@Param("sessionId") String sessionId);
+
+    long countBySessionId(String sessionId);
+
+    /**
+     * 커밋 시 chunk_index 기준 키셋 페이지로 임시 청크 조회 (전체를 한 번에 메모리에 올리지 않음)
+     */
+    List<UploadSessionChunk> findTop256BySessionIdAndChunkIndexGreaterThanOrderByChunkIndexAsc(
+            String sessionId, int afterChunkIndex);
+
+    /**
+     * 재전송된 chunk_index 제거 (같은 인덱스는 마지막 전송 값 사용)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM UploadSessionChunk c WHERE c.sessionId = :sessionId AND c.chunkIndex IN :chunkIndexes")
+    int deleteBySessionIdAndChunkIndexIn(@Param("sessionId") String sessionId,
+                                         @Param("chunkIndexes") Collection<Integer> chunkIndexes);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM UploadSessionChunk c WHERE c.sessionId = :sessionId")
+    int deleteAllBySessionId(@Param("sessionId") String sessionId);
+}
@@ -0,0 +1,18 @@
+package horizon.SeRVe.repository;
+
+import horizon.SeRVe.entity.UploadSession;
+import horizon.SeRVe.entity.UploadSessionStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface UploadSessionRepository extends JpaRepository<UploadSession, String> {
+
+    /**
+     * 만료 대상 세션 조회 (정리 스케줄러)
+     */
+    List<UploadSession> findByStatusAndExpiresAtBefore(UploadSessionStatus status, LocalDateTime now);
+}
@@ -0,0 +1,133 @@
+package horizon.SeRVe.repository;
+
+import horizon.SeRVe.dto.chunk.ChunkPayload;
+import horizon.SeRVe.dto.chunk.ChunkReceipt;
+import horizon.SeRVe.dto.chunk.ChunkSyncSink;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * VectorChunk 대량 쓰기/스트리밍 조회 전용 Fragment (Spring Data Custom Repository)
+ * - JPA 엔티티를 거치지 않고 JDBC 배치로 직접 기록, 결과 집합을 한 행씩 직접 전달
+ */
+public interface VectorChunkBulkRepository {
+
+    /**
+     * 문서 단위 청크 일괄 UPSERT
+     * - 기존 청크 상태 조회: 문서당 1회 (blob 미조회, content_hash만 비교)
+     * - INSERT / UPDATE: 각각 JDBC 배치 1회
+     * - UPDATE 시 version + 1, is_deleted = false (기존 재업로드 의미 유지)
+     * - 암호문이 동일한(content_hash 일치) 살아있는 청크는 쓰지 않음 (version 유지)
+     * - 트랜잭션 안에서는 change_seq를 비워 두고 assignPendingChangeSeqs(늦어도 커밋 직전)에서 할당
+     *
+     * @param documentId 문서 ID
+     * @param teamId 팀 ID
+     * @param blobsByIndex chunkIndex → 암호화된 blob
+     * @return 실제로 INSERT/UPDATE된 청크의 영수증 (written_by 없음)
+     */
+    List<ChunkReceipt> upsertChunks(String documentId, String teamId, Map<Integer, byte[]> blobsByIndex);
+
+    /**
+     * 문서 단위 청크 일괄 UPSERT (content_hash 계산 완료된 청크)
+     * - chunkIndex는 중복되지 않아야 함
+     *
+     * @param writtenBy 기록한 사용자 ID (동기화 시 자기 쓰기 제외용)
+     * @return 실제로 INSERT/UPDATE된 청크의 영수증 (chunkId, 커밋 후 version)
+     */
+    List<ChunkReceipt> upsertPreparedChunks(String documentId, String teamId, String writtenBy, List<ChunkPayload> chunks);
+
+    /**
+     * 여러 문서의 청크 일괄 UPSERT (다중 문서 배치 업로드용)
+     * - 문서 수와 무관하게 SELECT 1회 + INSERT 배치 1회 + UPDATE 배치 1회
+     * - 모든 문서는 같은 팀에 속해야 함
+     *
+     * @param chunksByDocument documentId → content_hash 계산 완료된 청크 (문서 내 chunkIndex 중복 없음)
+     * @return documentId → 실제로 INSERT/UPDATE된 청크의 영수증 (요청한 모든 문서 포함)
+     */
+    Map<String, List<ChunkReceipt>> upsertDocumentsChunks(String teamId, String writtenBy,
+                                                          Map<String, List<ChunkPayload>> chunksByDocument);
+
+    /**
+     * 현재 트랜잭션에서 기록한 청크에 팀 변경 시퀀스 할당 (UPSERT/INSERT가 미뤄 둔 change_seq)
+     * - 쓰기 단위의 마지막 문장으로 호출 (같은 트랜잭션 안에서 기록한 청크를 바로 동기화 조회하는 경우 포함)
+     * - 호출하지 않아도 커밋 직전에 자동으로 할당됨, 대기 중인 청크가 없으면 아무것도 하지 않음
+     */
+    void assignPendingChangeSeqs();
+
+    /**
+     * JPA로 변경한 청크의 change_seq를 현재 트랜잭션 끝으로 미룸 (삭제 표시 등)
+     * - assignPendingChangeSeqs가 대기 중인 JPA 변경을 먼저 flush하므로 청크 행 → 팀 행 순으로 잠김 (upsert와 같은 순서)
+     *   트랜잭션 중간에 allocateChangeSeq를 호출하면 팀 행을 먼저 잠가 upsert와 교착할 수 있음
+     * - chunkIds가 비어 있어도 팀 시퀀스를 1 진행 (문서 생성/DEK 변경 등 청크 없는 변경의 알림)
+     * - 트랜잭션 안에서만 호출, 쓰기 단위의 마지막 문장으로 assignPendingChangeSeqs 호출
+     */
+    void deferChangeSeq(String teamId, Collection<String> chunkIds);
+
+    /**
+     * 현재 트랜잭션에서 미뤄 둔 change_seq를 할당하지 않고 버림
+     * - 이 트랜잭션에서 기록한 청크는 change_seq 없이 커밋되어 동기화/스냅샷 조회에 보이지 않음
+     * - 여러 트랜잭션에 나눠 기록한 뒤 한 번에 공개할 때 사용 (업로드 세션 커밋의 페이지 반영)
+     *   마지막 트랜잭션에서 deferUnstampedChangeSeqs로 한꺼번에 할당
+     */
+    void discardPendingChangeSeqs();
+
+    /**
+     * 문서의 change_seq 없는 청크를 잠그고 현재 트랜잭션의 할당 대기 목록에 추가
+     * - SELECT ... FOR UPDATE로 청크 행을 먼저 잠근 뒤 assignPendingChangeSeqs에서 팀 행을 잠금 (upsert와 같은 잠금 순서)
+     * - 트랜잭션 안에서만 호출 (잠금과 할당이 같은 트랜잭션이어야 함)
+     *
+     * @return 대기 목록에 추가한 청크 수
+     */
+    int deferUnstampedChangeSeqs(String teamId, String fileName);
+
+    /**
+     * 팀 변경 시퀀스 할당 (teams.change_seq를 count만큼 증가)
+     * - 호출한 트랜잭션이 커밋될 때까지 teams 행이 잠기므로 같은 팀의 쓰기는 시퀀스 순서대로 커밋됨
+     *   (동기화/스냅샷은 팀 시퀀스 이하의 변경이 모두 커밋되었다고 가정)
+     * - 반드시 요청 본문 수신, blob 저장 등 I/O가 모두 끝난 뒤 커밋 직전의 마지막 문장으로 호출
+     *   본문을 읽는 도중에 호출하면 같은 팀의 모든 쓰기가 그 전송이 끝날 때까지 대기함 (innodb_lock_wait_timeout)
+     * - 쓰기 트랜잭션에서는 직접 호출하지 말고 deferChangeSeq/assignPendingChangeSeqs 사용
+     * - TeamChangedEvent 발행 (커밋 후 변경 알림 구독자에게 전달)
+     *
+     * @return 할당된 구간의 첫 시퀀스 (구간: [반환값, 반환값 + count))
+     */
+    long allocateChangeSeq(String teamId, int count);
+
+    /**
+     * Append 모드 청크 인덱스 할당 (문서별 카운터를 원자적으로 증가)
+     * - 호출한 트랜잭션이 커밋될 때까지 documents 행이 잠기므로 짧은 별도 트랜잭션에서 호출
+     * - 할당 후 쓰기가 실패하면 해당 구간은 비어 있는 채로 남음 (재사용하지 않음)
+     *
+     * @return 할당된 구간의 첫 chunkIndex (구간: [반환값, 반환값 + count))
+     */
+    int allocateChunkIndexes(String documentId, int count);
+
+    /**
+     * 할당받은 구간에 청크 INSERT (기존 청크 조회 없음)
+     *
+     * @param chunks 순서대로 firstChunkIndex, firstChunkIndex + 1, ... 에 기록 (ChunkPayload.chunkIndex는 무시)
+     * @return 기록된 청크의 영수증 (version = 0)
+     */
+    List<ChunkReceipt> insertAppendedChunks(String documentId, String teamId, String writtenBy,
+                                            int firstChunkIndex, List<ChunkPayload> chunks);
+
+    /**
+     * 팀 변경 스트리밍 조회 (afterSeq < change_seq <= upToSeq, change_seq 순)
+     * - forward-only 결과 집합을 fetchSize 단위로 읽으며 행마다 sink 호출 (행을 모아두지 않음)
+     * - 엔티티로 매핑하지 않으므로 영속성 컨텍스트에 쌓이지 않음
+     *
+     * @param excludeWriterId null이 아니면 해당 사용자가 마지막으로 기록한 청크 제외
+     */
+    void streamTeamChanges(String teamId, long afterSeq, long upToSeq, String excludeWriterId,
+                           int fetchSize, ChunkSyncSink sink) throws IOException;
+
+    /**
+     * 살아있는 청크 스트리밍 조회 (change_seq <= upToSeq, tombstone 제외, change_seq 순)
+     * - 팀 스냅샷 생성용, 조회 방식은 streamTeamChanges와 동일
+     * - upToSeq 이후에 수정/삭제된 청크는 포함되지 않음 (스냅샷 위치 이후의 증분 동기화로 전달됨)
+     */
+    void streamLiveChunks(String teamId, long upToSeq, int fetchSize, ChunkSyncSink sink) throws IOException;
+}
@@ -0,0 +1,568 @@
+package horizon.SeRVe.repository;
+
+import horizon.SeRVe.dto.chunk.ChunkPayload;
+import horizon.SeRVe.dto.chunk.ChunkReceipt;
+import horizon.SeRVe.dto.chunk.ChunkSyncResponse;
+import horizon.SeRVe.dto.chunk.ChunkSyncSink;
+import horizon.SeRVe.event.TeamChangedEvent;
+import horizon.SeRVe.storage.BlobRef;
+import horizon.SeRVe.storage.BlobStore;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * VectorChunkBulkRepository 구현체
+ *
+ * 기존 방식(청크마다 SELECT 후 INSERT/UPDATE)은 배치 크기만큼 DB 왕복이 발생하고,
+ * 덮어쓸 blob까지 영속성 컨텍스트에 올려 스냅샷 사본을 유지했습니다.
+ * 이 구현은 배치 크기(및 다중 문서 업로드 시 문서 수)와 무관하게 최대 3회(SELECT 1 + INSERT 배치 1 + UPDATE 배치 1)만 왕복합니다.
+ *
+ * blob 본문은 BlobStore에 먼저 일괄 저장한 뒤 행에는 그 참조를 기록합니다.
+ * (외부 저장소 사용 시 encrypted_blob에는 빈 배열, 포인터 컬럼에 위치 기록)
+ *
+ * 트랜잭션 안에서 기록한 청크의 change_seq는 비워 두었다가 assignPendingChangeSeqs(늦어도 커밋 직전)에서 한 번에 할당합니다.
+ * 한 트랜잭션이 여러 번 나누어 기록해도(스트리밍 flush, 그룹 커밋) 팀 행 잠금은 마지막 문장부터 커밋까지만 유지됩니다.
+ */
+@RequiredArgsConstructor
+public class VectorChunkBulkRepositoryImpl implements VectorChunkBulkRepository {
+
+    // 문서 수만큼 IN 절 파라미터를 붙여 사용 (한 번의 SELECT로 여러 문서의 상태 조회)
+    private static final String SELECT_CHUNK_STATES_SQL_PREFIX =
+            "SELECT chunk_id, document_id, chunk_index, content_hash, version, is_deleted FROM vector_chunks WHERE document_id IN ";
+
+    private static final String INSERT_CHUNK_SQL =
+            "INSERT INTO vector_chunks " +
+            "(chunk_id, document_id, team_id, chunk_index, encrypted_blob, blob_segment, blob_offset, blob_length, " +
+            "blob_size, content_hash, version, is_deleted, written_by, change_seq, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0, ?, ?, ?, ?, ?)";
+
+    // version은 JPA @Version과 동일하게 +1, 재업로드 시 삭제 플래그 해제
+    private static final String UPDATE_CHUNK_SQL =
+            "UPDATE vector_chunks SET encrypted_blob = ?, blob_segment = ?, blob_offset = ?, blob_length = ?, " +
+            "blob_size = ?, content_hash = ?, version = version + 1, is_deleted = ?, written_by = ?, change_seq = ?, " +
+            "updated_at = ? " +
+            "WHERE document_id = ? AND chunk_index = ?";
+
+    // Append 모드 인덱스 할당: 카운터를 count만큼 증가 (행 잠금은 이 짧은 트랜잭션 동안만 유지)
+    // 기존 방식으로 업로드된 청크가 있으면 그 뒤부터 할당 (document_id, chunk_index 인덱스로 MAX 조회)
+    private static final String ALLOCATE_CHUNK_INDEX_SQL =
+            "UPDATE documents SET next_chunk_index = GREATEST(COALESCE(next_chunk_index, 0), " +
+            "(SELECT COALESCE(MAX(chunk_index) + 1, 0) FROM vector_chunks WHERE document_id = ?)) + ? " +
+            "WHERE document_id = ?";
+
+    private static final String SELECT_NEXT_CHUNK_INDEX_SQL =
+            "SELECT next_chunk_index FROM documents WHERE document_id = ?";
+
+    // 팀 변경 시퀀스 할당: teams 행 잠금이 커밋까지 유지되므로 같은 팀의 쓰기는 시퀀스 순서대로 커밋됨
+    // (동기화 클라이언트가 high-water mark 이하의 변경을 나중에 놓치지 않음)
+    private static final String ALLOCATE_CHANGE_SEQ_SQL =
+            "UPDATE teams SET change_seq = change_seq + ? WHERE team_id = ?";
+
+    private static final String SELECT_CHANGE_SEQ_SQL =
+            "SELECT change_seq FROM teams WHERE team_id = ?";
+
+    private static final String ASSIGN_CHANGE_SEQ_SQL =
+            "UPDATE vector_chunks SET change_seq = ? WHERE chunk_id = ?";
+
+    // 업로드 세션 커밋: 페이지 트랜잭션이 change_seq 없이 남긴 문서 청크를 잠금 (팀 행보다 청크 행을 먼저 잠가 upsert와 같은 순서 유지)
+    private static final String SELECT_UNSTAMPED_CHUNKS_SQL =
+            "SELECT c.chunk_id FROM vector_chunks c " +
+            "JOIN documents d ON d.document_id = c.document_id " +
+            "WHERE c.team_id = ? AND d.original_file_name = ? AND c.change_seq IS NULL " +
+            "ORDER BY c.chunk_index FOR UPDATE";
+
+    // 현재 트랜잭션에서 change_seq 할당을 미룬 청크 (팀 ID → chunk_id, 기록 순서)
+    private static final Object PENDING_CHANGE_SEQ_KEY = new Object();
+
+    // 팀 변경 스트리밍: (team_id, change_seq) 인덱스 범위 스캔, 업로더 이메일은 조인으로 함께 조회
+    // tombstone은 blob을 전송하지 않음 (DB에서 읽지도 않음)
+    private static final String STREAM_TEAM_CHANGES_SQL =
+            "SELECT c.chunk_id, c.document_id, c.chunk_index, " +
+            "CASE WHEN c.is_deleted THEN NULL ELSE c.encrypted_blob END AS encrypted_blob, " +
+            "c.blob_segment, c.blob_offset, c.blob_length, c.version, c.change_seq, c.is_deleted, u.email " +
+            "FROM vector_chunks c " +
+            "LEFT JOIN documents d ON d.document_id = c.document_id " +
+            "LEFT JOIN users u ON u.user_id = d.uploader_id " +
+            "WHERE c.team_id = ? AND c.change_seq > ? AND c.change_seq <= ? ";
+
+    private static final String EXCLUDE_WRITER_SQL = "AND (c.written_by IS NULL OR c.written_by <> ?) ";
+
+    private static final String LIVE_ONLY_SQL = "AND c.is_deleted = FALSE ";
+
+    private static final String ORDER_BY_CHANGE_SEQ_SQL = "ORDER BY c.change_seq";
+
+    private static final byte[] EMPTY_BLOB = new byte[0];
+
+    private static final RowMapper<ExistingChunk> EXISTING_CHUNK_MAPPER = (rs, rowNum) -> new ExistingChunk(
+            rs.getString("chunk_id"),
+            rs.getString("document_id"),
+            rs.getInt("chunk_index"),
+            rs.getBytes("content_hash"),
+            rs.getInt("version"),
+            rs.getBoolean("is_deleted"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+    private final BlobStore blobStore;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public List<ChunkReceipt> upsertChunks(String documentId, String teamId, Map<Integer, byte[]> blobsByIndex) {
+        List<ChunkPayload> chunks = new ArrayList<>(blobsByIndex.size());
+        blobsByIndex.forEach((chunkIndex, blob) -> chunks.add(ChunkPayload.of(chunkIndex, blob)));
+        return upsertPreparedChunks(documentId, teamId, null, chunks);
+    }
+
+    @Override
+    public List<ChunkReceipt> upsertPreparedChunks(String documentId, String teamId, String writtenBy,
+                                                   List<ChunkPayload> chunks) {
+        return upsertDocumentsChunks(teamId, writtenBy, Map.of(documentId, chunks)).getOrDefault(documentId, List.of());
+    }
+
+    @Override
+    public Map<String, List<ChunkReceipt>> upsertDocumentsChunks(String teamId, String writtenBy,
+                                                                 Map<String, List<ChunkPayload>> chunksByDocument) {
+        Map<String, List<ChunkReceipt>> changedByDocument = new LinkedHashMap<>();
+        chunksByDocument.keySet().forEach(documentId -> changedByDocument.put(documentId, new ArrayList<>()));
+        if (chunksByDocument.values().stream().allMatch(List::isEmpty)) {
+            return changedByDocument;
+        }
+
+        // 1. 영속성 컨텍스트의 대기 중인 변경(Document 생성/DEK 갱신 등)을 먼저 반영
+        entityManager.flush();
+
+        // 2. 기존 청크 상태 일괄 조회 (blob은 읽지 않고 해시만 비교, 문서 수와 무관하게 1회)
+        List<String> documentIds = new ArrayList<>(chunksByDocument.keySet());
+        String placeholders = documentIds.stream().map(id -> "?").collect(Collectors.joining(", ", "(", ")"));
+        Map<String, Map<Integer, ExistingChunk>> existingByDocument = new HashMap<>();
+        for (ExistingChunk existing : jdbcTemplate.query(SELECT_CHUNK_STATES_SQL_PREFIX + placeholders,
+                EXISTING_CHUNK_MAPPER, documentIds.toArray())) {
+            existingByDocument.computeIfAbsent(existing.documentId, id -> new HashMap<>())
+                    .put(existing.chunkIndex, existing);
+        }
+
+        List<PendingWrite> inserts = new ArrayList<>();
+        List<PendingWrite> updates = new ArrayList<>();
+        for (Map.Entry<String, List<ChunkPayload>> entry : chunksByDocument.entrySet()) {
+            String documentId = entry.getKey();
+            Map<Integer, ExistingChunk> existingChunks = existingByDocument.getOrDefault(documentId, Map.of());
+            for (ChunkPayload chunk : entry.getValue()) {
+                ExistingChunk existing = existingChunks.get(chunk.getChunkIndex());
+                PendingWrite write;
+
+                if (existing == null) {
+                    write = new PendingWrite(documentId, chunk, UUID.randomUUID().toString(), 0);
+                    inserts.add(write);
+                } else if (existing.isUnchangedBy(chunk.getContentHash())) {
+                    // 동일한 암호문 재업로드: 쓰기/버전 증가 생략 (동기화 전파 없음)
+                    continue;
+                } else {
+                    // 문서 락 안에서 실행되므로 커밋될 version = 조회한 version + 1
+                    write = new PendingWrite(documentId, chunk, existing.chunkId, existing.version + 1);
+                    updates.add(write);
+                }
+                changedByDocument.get(documentId).add(new ChunkReceipt(write.chunkIndex, write.chunkId, write.version));
+            }
+        }
+
+        // 3. 변경분 blob을 BlobStore에 일괄 저장 (세그먼트 저장소는 append + fsync 1회)
+        List<PendingWrite> writes = new ArrayList<>(inserts.size() + updates.size());
+        writes.addAll(inserts);
+        writes.addAll(updates);
+        if (!writes.isEmpty()) {
+            List<BlobRef> refs = blobStore.store(writes.stream().map(write -> write.blob).collect(Collectors.toList()));
+            // 팀 변경 시퀀스는 트랜잭션 끝에서 할당 (트랜잭션 밖이면 즉시 할당)
+            Long firstSeq = reserveChangeSeq(teamId,
+                    writes.stream().map(write -> write.chunkId).collect(Collectors.toList()));
+            for (int i = 0; i < writes.size(); i++) {
+                writes.get(i).ref = refs.get(i);
+                writes.get(i).changeSeq = firstSeq != null ? firstSeq + i : null;
+            }
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        // 4. INSERT 배치 (version = 0)
+        if (!inserts.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_CHUNK_SQL, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    PendingWrite write = inserts.get(i);
+                    ps.setString(1, write.chunkId);
+                    ps.setString(2, write.documentId);
+                    ps.setString(3, teamId);
+                    ps.setInt(4, write.chunkIndex);
+                    setBlobRef(ps, 5, write.ref);
+                    ps.setBytes(10, write.contentHash);
+                    ps.setBoolean(11, false);
+                    ps.setString(12, writtenBy);
+                    setChangeSeq(ps, 13, write.changeSeq);
+                    ps.setTimestamp(14, now);
+                    ps.setTimestamp(15, now);
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return inserts.size();
+                }
+            });
+        }
+
+        // 5. UPDATE 배치 (기존 blob을 로딩하지 않고 덮어쓰기)
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_CHUNK_SQL, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    PendingWrite write = updates.get(i);
+                    setBlobRef(ps, 1, write.ref);
+                    ps.setBytes(6, write.contentHash);
+                    ps.setBoolean(7, false);
+                    ps.setString(8, writtenBy);
+                    setChangeSeq(ps, 9, write.changeSeq);
+                    ps.setTimestamp(10, now);
+                    ps.setString(11, write.documentId);
+                    ps.setInt(12, write.chunkIndex);
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return updates.size();
+                }
+            });
+        }
+
+        // 6. JDBC로 직접 갱신했으므로 영속성 컨텍스트의 VectorChunk가 낡지 않도록 비움
+        //    (@Modifying(flushAutomatically = true, clearAutomatically = true)와 동일한 의미)
+        entityManager.clear();
+
+        return changedByDocument;
+    }
+
+    @Override
+    public void assignPendingChangeSeqs() {
+        Map<String, Set<String>> pending = pendingChangeSeqs(false);
+        if (pending == null || pending.isEmpty()) {
+            return;
+        }
+        // 대기 중인 JPA 변경을 먼저 내보내 팀 행 잠금 이후의 문장을 최소화
+        entityManager.flush();
+        // 팀 ID 순으로 잠금 (여러 팀을 기록한 트랜잭션끼리 교착 방지)
+        for (Map.Entry<String, Set<String>> entry : pending.entrySet()) {
+            List<String> chunkIds = new ArrayList<>(entry.getValue());
+            // 청크 없이 예약된 팀(문서 메타데이터 변경)도 시퀀스 1개를 진행시켜 변경 알림/ETag 갱신
+            long firstSeq = allocateChangeSeq(entry.getKey(), Math.max(1, chunkIds.size()));
+            if (chunkIds.isEmpty()) {
+                continue;
+            }
+            jdbcTemplate.batchUpdate(ASSIGN_CHANGE_SEQ_SQL, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    ps.setLong(1, firstSeq + i);
+                    ps.setString(2, chunkIds.get(i));
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return chunkIds.size();
+                }
+            });
+        }
+        pending.clear();
+    }
+
+    @Override
+    public void deferChangeSeq(String teamId, Collection<String> chunkIds) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("change_seq 지연 할당은 트랜잭션 안에서만 호출할 수 있습니다.");
+        }
+        reserveChangeSeq(teamId, new ArrayList<>(chunkIds));
+    }
+
+    @Override
+    public void discardPendingChangeSeqs() {
+        Map<String, Set<String>> pending = pendingChangeSeqs(false);
+        if (pending != null) {
+            pending.clear();
+        }
+    }
+
+    @Override
+    public int deferUnstampedChangeSeqs(String teamId, String fileName) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("change_seq 일괄 할당은 트랜잭션 안에서만 호출할 수 있습니다.");
+        }
+        List<String> chunkIds = jdbcTemplate.queryForList(SELECT_UNSTAMPED_CHUNKS_SQL, String.class, teamId, fileName);
+        if (!chunkIds.isEmpty()) {
+            reserveChangeSeq(teamId, chunkIds);
+        }
+        return chunkIds.size();
+    }
+
+    @Override
+    public long allocateChangeSeq(String teamId, int count) {
+        int updated = jdbcTemplate.update(ALLOCATE_CHANGE_SEQ_SQL, count, teamId);
+        if (updated == 0) {
+            throw new IllegalArgumentException("팀을 찾을 수 없습니다.");
+        }
+        Long last = jdbcTemplate.queryForObject(SELECT_CHANGE_SEQ_SQL, Long.class, teamId);
+        // 구독자 알림은 이 트랜잭션이 커밋된 뒤에 전달됨 (TeamChangeNotifier)
+        eventPublisher.publishEvent(new TeamChangedEvent(teamId, last));
+        return last - count + 1;
+    }
+
+    @Override
+    public int allocateChunkIndexes(String documentId, int count) {
+        int updated = jdbcTemplate.update(ALLOCATE_CHUNK_INDEX_SQL, documentId, count, documentId);
+        if (updated == 0) {
+            throw new IllegalArgumentException("문서를 찾을 수 없습니다.");
+        }
+        Integer next = jdbcTemplate.queryForObject(SELECT_NEXT_CHUNK_INDEX_SQL, Integer.class, documentId);
+        return next - count;
+    }
+
+    @Override
+    public List<ChunkReceipt> insertAppendedChunks(String documentId, String teamId, String writtenBy,
+                                                   int firstChunkIndex, List<ChunkPayload> chunks) {
+        if (chunks.isEmpty()) {
+            return List.of();
+        }
+        // 할당받은 구간은 다른 쓰기와 겹치지 않으므로 기존 청크 조회 없이 INSERT만 수행
+        List<BlobRef> refs = blobStore.store(chunks.stream().map(ChunkPayload::getEncryptedBlob).collect(Collectors.toList()));
+        List<ChunkReceipt> receipts = new ArrayList<>(chunks.size());
+        for (int i = 0; i < chunks.size(); i++) {
+            receipts.add(new ChunkReceipt(firstChunkIndex + i, UUID.randomUUID().toString(), 0));
+        }
+        Long firstSeq = reserveChangeSeq(teamId,
+                receipts.stream().map(ChunkReceipt::getChunkId).collect(Collectors.toList()));
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        jdbcTemplate.batchUpdate(INSERT_CHUNK_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ChunkPayload chunk = chunks.get(i);
+                ps.setString(1, receipts.get(i).getChunkId());
+                ps.setString(2, documentId);
+                ps.setString(3, teamId);
+                ps.setInt(4, firstChunkIndex + i);
+                setBlobRef(ps, 5, refs.get(i));
+                ps.setBytes(10, chunk.getContentHash());
+                ps.setBoolean(11, false);
+                ps.setString(12, writtenBy);
+                setChangeSeq(ps, 13, firstSeq != null ? firstSeq + i : null);
+                ps.setTimestamp(14, now);
+                ps.setTimestamp(15, now);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return chunks.size();
+            }
+        });
+        return receipts;
+    }
+
+    @Override
+    public void streamTeamChanges(String teamId, long afterSeq, long upToSeq, String excludeWriterId,
+                                  int fetchSize, ChunkSyncSink sink) throws IOException {
+        String sql = STREAM_TEAM_CHANGES_SQL
+                + (excludeWriterId != null ? EXCLUDE_WRITER_SQL : "")
+                + ORDER_BY_CHANGE_SEQ_SQL;
+        if (excludeWriterId != null) {
+            stream(sql, fetchSize, sink, teamId, afterSeq, upToSeq, excludeWriterId);
+        } else {
+            stream(sql, fetchSize, sink, teamId, afterSeq, upToSeq);
+        }
+    }
+
+    @Override
+    public void streamLiveChunks(String teamId, long upToSeq, int fetchSize, ChunkSyncSink sink) throws IOException {
+        stream(STREAM_TEAM_CHANGES_SQL + LIVE_ONLY_SQL + ORDER_BY_CHANGE_SEQ_SQL, fetchSize, sink, teamId, 0L, upToSeq);
+    }
+
+    private void stream(String sql, int fetchSize, ChunkSyncSink sink, Object... params) throws IOException {
+        RowCallbackHandler handler = rs -> {
+            try {
+                sink.chunk(toSyncResponse(rs));
+            } catch (IOException e) {
+                // 클라이언트 연결 종료 등 (JDBC 콜백은 IOException을 던질 수 없으므로 감싸서 전달)
+                throw new UncheckedIOException(e);
+            }
+        };
+
+        try {
+            jdbcTemplate.query(con -> {
+                // forward-only + fetchSize: 드라이버가 결과 집합 전체를 메모리에 올리지 않고 나눠서 읽음
+                PreparedStatement ps = con.prepareStatement(
+                        sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                ps.setFetchSize(fetchSize);
+                for (int i = 0; i < params.length; i++) {
+                    ps.setObject(i + 1, params[i]);
+                }
+                return ps;
+            }, handler);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private ChunkSyncResponse toSyncResponse(ResultSet rs) throws SQLException {
+        boolean deleted = rs.getBoolean("is_deleted");
+        byte[] blob = null;
+        if (!deleted) {
+            String segment = rs.getString("blob_segment");
+            blob = blobStore.load(segment == null
+                    ? BlobRef.inline(rs.getBytes("encrypted_blob"))
+                    : BlobRef.external(segment, rs.getLong("blob_offset"), rs.getInt("blob_length")));
+        }
+        String createdBy = rs.getString("email");
+
+        return ChunkSyncResponse.builder()
+                .documentId(rs.getString("document_id"))
+                .chunkId(rs.getString("chunk_id"))
+                .chunkIndex(rs.getInt("chunk_index"))
+                .encryptedBlob(blob)
+                .version(rs.getInt("version"))
+                .changeSeq(rs.getLong("change_seq"))
+                .isDeleted(deleted)
+                .createdBy(createdBy != null ? createdBy : "unknown")
+                .build();
+    }
+
+    /**
+     * 기록할 청크의 팀 변경 시퀀스 예약
+     * - 트랜잭션 안: 현재 트랜잭션의 대기 목록에 추가하고 null 반환 (행은 change_seq 없이 기록, 다른 트랜잭션에는 보이지 않음)
+     *   assignPendingChangeSeqs를 호출하지 않았더라도 커밋 직전에 할당됨
+     * - 트랜잭션 밖: 즉시 할당 (자동 커밋이므로 잠금도 바로 해제)
+     *
+     * @return 즉시 할당한 경우 첫 시퀀스, 미룬 경우 null
+     */
+    private Long reserveChangeSeq(String teamId, List<String> chunkIds) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return allocateChangeSeq(teamId, chunkIds.size());
+        }
+        Set<String> pending = pendingChangeSeqs(true).computeIfAbsent(teamId, id -> new LinkedHashSet<>());
+        for (String chunkId : chunkIds) {
+            // 같은 트랜잭션에서 다시 기록한 청크는 마지막 기록 순서로 (시퀀스 1개만 사용)
+            pending.remove(chunkId);
+            pending.add(chunkId);
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Set<String>> pendingChangeSeqs(boolean create) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        Map<String, Set<String>> pending =
+                (Map<String, Set<String>>) TransactionSynchronizationManager.getResource(PENDING_CHANGE_SEQ_KEY);
+        if (pending == null && create) {
+            pending = new TreeMap<>();
+            TransactionSynchronizationManager.bindResource(PENDING_CHANGE_SEQ_KEY, pending);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    assignPendingChangeSeqs();
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(PENDING_CHANGE_SEQ_KEY);
+                }
+            });
+        }
+        return pending;
+    }
+
+    private static void setChangeSeq(PreparedStatement ps, int index, Long changeSeq) throws SQLException {
+        if (changeSeq != null) {
+            ps.setLong(index, changeSeq);
+        } else {
+            ps.setNull(index, Types.BIGINT);
+        }
+    }
+
+    /**
+     * (encrypted_blob, blob_segment, blob_offset, blob_length, blob_size) 5개 파라미터 설정
+     * - encrypted_blob은 NOT NULL이므로 외부 참조는 빈 배열로 기록
+     */
+    private static void setBlobRef(PreparedStatement ps, int startIndex, BlobRef ref) throws SQLException {
+        if (ref.isInline()) {
+            ps.setBytes(startIndex, ref.getInlineBlob());
+            ps.setNull(startIndex + 1, Types.VARCHAR);
+            ps.setNull(startIndex + 2, Types.BIGINT);
+            ps.setNull(startIndex + 3, Types.INTEGER);
+        } else {
+            ps.setBytes(startIndex, EMPTY_BLOB);
+            ps.setString(startIndex + 1, ref.getSegment());
+            ps.setLong(startIndex + 2, ref.getOffset());
+            ps.setInt(startIndex + 3, ref.getLength());
+        }
+        ps.setInt(startIndex + 4, ref.isInline() ? ref.getInlineBlob().length : ref.getLength());
+    }
+
+    /**
+     * DB에 이미 존재하는 청크의 상태 (blob 제외)
+     */
+    static final class ExistingChunk {
+        final String chunkId;
+        final String documentId;
+        final int chunkIndex;
+        final byte[] contentHash;
+        final int version;
+        final boolean deleted;
+
+        ExistingChunk(String chunkId, String documentId, int chunkIndex, byte[] contentHash, int version,
+                      boolean deleted) {
+            this.chunkId = chunkId;
+            this.documentId = documentId;
+            this.chunkIndex = chunkIndex;
+            this.contentHash = contentHash;
+            this.version = version;
+            this.deleted = deleted;
+        }
+
+        // 해시가 없는 기존 행(해시 도입 이전 데이터)은 항상 변경으로 취급
+        boolean isUnchangedBy(byte[] incomingHash) {
+            return !deleted && contentHash != null && Arrays.equals(contentHash, incomingHash);
+        }
+    }
+
+    private static final class PendingWrite {
+        final String documentId;
+        final int chunkIndex;
+        final byte[] blob;
+        final byte[] contentHash;
+        final String chunkId;
+        final int version; // 커밋 후 version (영수증용)
+        BlobRef ref;
+        Long changeSeq; // null이면 트랜잭션 끝에서 할당
+
+        PendingWrite(String documentId, ChunkPayload chunk, String chunkId, int version) {
+            this.documentId = documentId;
+            this.chunkIndex = chunk.getChunkIndex();
+            this.blob = chunk.getEncryptedBlob();
+            this.contentHash = chunk.getContentHash();
+            this.chunkId = chunkId;
+            this.version = version;
+        }
+    }
+}
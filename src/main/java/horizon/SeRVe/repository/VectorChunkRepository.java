@@ -1,14 +1,23 @@
 package horizon.SeRVe.repository;
 
 import horizon.SeRVe.entity.VectorChunk;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface VectorChunkRepository extends JpaRepository<VectorChunk, String> {
+public interface VectorChunkRepository extends JpaRepository<VectorChunk, String>, VectorChunkBulkRepository {
+
+    String CANDIDATE_SELECT =
+            "SELECT c.chunkId AS chunkId, c.documentId AS documentId, c.chunkIndex AS chunkIndex, " +
+            "c.version AS version, c.changeSeq AS changeSeq, c.isDeleted AS deleted, c.contentHash AS contentHash, " +
+            "CASE WHEN c.isDeleted = true THEN 0 ELSE COALESCE(c.blobSize, c.blobLength) END AS blobSize ";
 
     /**
      * 문서별 청크 조회 (삭제 여부 필터링, chunk_index 순 정렬)
@@ -26,7 +35,42 @@ public interface VectorChunkRepository extends JpaRepository<VectorChunk, String
     List<VectorChunk> findByTeamIdAndVersionGreaterThanOrderByVersionAsc(String teamId, int lastVersion);
 
     /**
-     * 특정 청크 조회 (업데이트 시 사용)
+     * 팀별 증분 동기화 - 요청자가 마지막으로 기록한 청크 제외 (written_by가 없는 이전 행은 포함)
+     */
+    @Query("SELECT c FROM VectorChunk c WHERE c.teamId = :teamId AND c.version > :lastVersion " +
+           "AND (c.writtenBy IS NULL OR c.writtenBy <> :writerId) ORDER BY c.version ASC")
+    List<VectorChunk> findTeamChangesExcludingWriter(@Param("teamId") String teamId,
+                                                     @Param("lastVersion") int lastVersion,
+                                                     @Param("writerId") String writerId);
+
+    /**
+     * 팀별 동기화 페이지 후보 (change_seq > afterSeq, Pageable의 크기만큼만 인덱스 범위 스캔, blob 미조회)
+     * - 외부 저장 행은 blob_length로 크기 계산 (blob_size 백필 전 행 대비), tombstone은 blob이 없으므로 0
+     */
+    @Query(CANDIDATE_SELECT +
+           "FROM VectorChunk c WHERE c.teamId = :teamId AND c.changeSeq > :afterSeq ORDER BY c.changeSeq ASC")
+    List<ChunkSyncCandidate> findSyncCandidates(@Param("teamId") String teamId,
+                                                @Param("afterSeq") long afterSeq,
+                                                Pageable pageable);
+
+    /**
+     * 팀별 동기화 페이지 후보 - 요청자가 마지막으로 기록한 청크 제외
+     */
+    @Query(CANDIDATE_SELECT +
+           "FROM VectorChunk c WHERE c.teamId = :teamId AND c.changeSeq > :afterSeq " +
+           "AND (c.writtenBy IS NULL OR c.writtenBy <> :writerId) ORDER BY c.changeSeq ASC")
+    List<ChunkSyncCandidate> findSyncCandidatesExcludingWriter(@Param("teamId") String teamId,
+                                                               @Param("afterSeq") long afterSeq,
+                                                               @Param("writerId") String writerId,
+                                                               Pageable pageable);
+
+    /**
+     * 선택한 청크 조회 (blob 일괄 조회용, 다른 팀 청크와 tombstone 제외)
+     */
+    List<VectorChunk> findByTeamIdAndChunkIdInAndIsDeletedFalse(String teamId, Collection<String> chunkIds);
+
+    /**
+     * 특정 청크 조회 (단건 수정/삭제 시 사용)
      */
     Optional<VectorChunk> findByDocumentIdAndChunkIndex(String documentId, int chunkIndex);
 
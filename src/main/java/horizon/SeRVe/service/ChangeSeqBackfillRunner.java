@@ -0,0 +1,123 @@
+package horizon.SeRVe.service;
+
+import horizon.SeRVe.repository.VectorChunkRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * 팀 변경 시퀀스 백필 (change_seq 도입 이전 청크)
+ *
+ * - change_seq가 없는 행은 since 기반 동기화에 나타나지 않으므로 기동 시 시퀀스를 할당
+ * - 팀별로 작은 배치 트랜잭션 처리 ((team_id, change_seq) 인덱스로 미할당 행 조회)
+ * - 백필 중 다른 쓰기가 먼저 시퀀스를 기록한 행은 건너뜀 (할당한 시퀀스는 빈 번호로 남음)
+ * - 백필로 받은 시퀀스는 기존 커서보다 크므로 이미 동기화한 클라이언트는 해당 청크를 한 번 더 받음
+ * - blob_size 도입 이전 행의 크기도 함께 채움 (동기화 페이지 바이트 예산 계산용, chunk_id 순 배치)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "serve.sync.backfill-change-seq-on-startup", havingValue = "true", matchIfMissing = true)
+public class ChangeSeqBackfillRunner implements ApplicationRunner {
+
+    private static final String SELECT_TEAMS_SQL =
+            "SELECT DISTINCT team_id FROM vector_chunks WHERE change_seq IS NULL";
+
+    private static final String SELECT_UNSTAMPED_SQL =
+            "SELECT chunk_id FROM vector_chunks WHERE team_id = ? AND change_seq IS NULL LIMIT ?";
+
+    private static final String STAMP_SQL =
+            "UPDATE vector_chunks SET change_seq = ? WHERE chunk_id = ? AND change_seq IS NULL";
+
+    private static final String SELECT_UNSIZED_SQL =
+            "SELECT chunk_id FROM vector_chunks WHERE chunk_id > ? AND blob_size IS NULL ORDER BY chunk_id LIMIT ?";
+
+    private static final String SIZE_SQL =
+            "UPDATE vector_chunks SET blob_size = COALESCE(blob_length, OCTET_LENGTH(encrypted_blob)) " +
+            "WHERE chunk_id = ? AND blob_size IS NULL";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final VectorChunkRepository vectorChunkRepository;
+
+    @Value("${serve.sync.backfill-batch-size:1000}")
+    private int batchSize;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        backfillChangeSeq();
+        backfillBlobSize();
+    }
+
+    private void backfillChangeSeq() {
+        List<String> teamIds = jdbcTemplate.queryForList(SELECT_TEAMS_SQL, String.class);
+        if (teamIds.isEmpty()) {
+            return;
+        }
+
+        long stamped = 0;
+        for (String teamId : teamIds) {
+            while (true) {
+                Integer count = transactionTemplate.execute(status -> backfillBatch(teamId));
+                if (count == null || count == 0) {
+                    break;
+                }
+                stamped += count;
+            }
+        }
+        log.info("[ChangeSeqBackfill] 완료 - 팀 {}개, 청크 {}건", teamIds.size(), stamped);
+    }
+
+    private void backfillBlobSize() {
+        // chunk_id(PK) 순으로 전진하므로 배치마다 앞부분을 다시 스캔하지 않음
+        String lastChunkId = "";
+        long sized = 0;
+        while (true) {
+            List<String> chunkIds = jdbcTemplate.queryForList(
+                    SELECT_UNSIZED_SQL, String.class, lastChunkId, batchSize);
+            if (chunkIds.isEmpty()) {
+                break;
+            }
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(
+                    SIZE_SQL, chunkIds, chunkIds.size(), (ps, chunkId) -> ps.setString(1, chunkId)));
+            sized += chunkIds.size();
+            lastChunkId = chunkIds.get(chunkIds.size() - 1);
+        }
+        if (sized > 0) {
+            log.info("[ChangeSeqBackfill] blob_size 백필 완료 - 청크 {}건", sized);
+        }
+    }
+
+    private int backfillBatch(String teamId) {
+        List<String> chunkIds = jdbcTemplate.queryForList(SELECT_UNSTAMPED_SQL, String.class, teamId, batchSize);
+        if (chunkIds.isEmpty()) {
+            return 0;
+        }
+
+        long firstSeq = vectorChunkRepository.allocateChangeSeq(teamId, chunkIds.size());
+        jdbcTemplate.batchUpdate(STAMP_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ps.setLong(1, firstSeq + i);
+                ps.setString(2, chunkIds.get(i));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return chunkIds.size();
+            }
+        });
+        return chunkIds.size();
+    }
+}
@@ -0,0 +1,263 @@
+package horizon.SeRVe.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import horizon.SeRVe.dto.chunk.ChunkStreamSink;
+import horizon.SeRVe.dto.chunk.ChunkStreamSource;
+import horizon.SeRVe.dto.chunk.ChunkUploadResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 팀 단위 쓰기 병합 (Write Coalescing)
+ *
+ * 상태 문서의 같은 청크를 초당 여러 번 덮어쓰는 워크로드는
+ * 쓰기마다 트랜잭션과 version 증가가 발생하고, 그때마다 모든 로봇의 동기화 대상이 됩니다.
+ * 설정된 팀(serve.coalesce.team-ids)의 업로드는 즉시 기록하지 않고 window 동안 메모리에서 병합한 뒤
+ * (문서, chunkIndex)별 마지막 값만 커밋합니다. (문서는 최초 업로드 전에는 documentId가 없으므로 fileName으로 구분)
+ * 업로더 검증이 사용자 단위이므로 한 구간의 문서 버퍼는 한 사용자만 가질 수 있고,
+ * 다른 사용자의 쓰기가 반영 대기 중인 문서에 접수하면 403으로 거절합니다 (구간 종료 후 다시 시도).
+ *
+ * - 응답은 접수 즉시 반환 (권한 검증/Rate Limit은 접수 시 수행, 반영 시 권한 재확인)
+ * - 반영 실패는 같은 사용자의 같은 문서에 대한 다음 접수 응답(flushError)으로 전달
+ * - flush는 단일 스레드에서 순서대로 실행 (이전 구간 값이 나중 구간 값을 덮어쓰지 않음)
+ * - 종료 시 남은 버퍼를 모두 반영
+ * - 버퍼는 메모리에만 있으므로 비정상 종료 시 마지막 window의 쓰기는 유실될 수 있음 (상태 문서 전용)
+ */
+@Slf4j
+@Service
+public class ChunkCoalescingService {
+
+    private final ChunkService chunkService;
+    private final Set<String> teamIds;
+    private final long windowMillis;
+    private final long maxBufferedBytes;
+
+    private final Map<String, TeamBuffer> buffers = new ConcurrentHashMap<>();
+
+    // 반영 실패 사유 ((팀, 문서, 사용자) → 메시지), 다음 접수 응답으로 한 번 전달
+    private final Cache<String, String> flushErrors = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .expireAfterWrite(Duration.ofHours(1))
+            .build();
+    private final ScheduledThreadPoolExecutor flusher;
+
+    private final Counter receivedCounter;
+    private final Counter mergedCounter;
+    private final Counter failedCounter;
+
+    public ChunkCoalescingService(ChunkService chunkService,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${serve.coalesce.team-ids:}") List<String> teamIds,
+                                  @Value("${serve.coalesce.window-ms:200}") long windowMillis,
+                                  @Value("${serve.coalesce.max-buffered-bytes:16777216}") long maxBufferedBytes) {
+        this.chunkService = chunkService;
+        this.teamIds = new HashSet<>(teamIds);
+        this.teamIds.remove("");
+        this.windowMillis = windowMillis;
+        this.maxBufferedBytes = maxBufferedBytes;
+
+        this.flusher = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "chunk-coalesce");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // 종료 시에는 대기 중인 예약 flush 대신 flushAll로 즉시 반영
+        this.flusher.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+
+        this.receivedCounter = Counter.builder("serve.coalesce.received")
+                .description("쓰기 병합 구간에 접수된 청크 수")
+                .register(meterRegistry);
+        this.mergedCounter = Counter.builder("serve.coalesce.merged")
+                .description("같은 구간의 이후 쓰기로 대체되어 DB에 기록되지 않은 청크 수")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("serve.coalesce.failed")
+                .description("반영에 실패해 버려진 병합 문서 수")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (flusher.isShutdown()) {
+            return;
+        }
+        flusher.submit(this::flushAll);
+        flusher.shutdown();
+        if (!flusher.awaitTermination(30, TimeUnit.SECONDS)) {
+            log.warn("[Coalesce] 종료 시 flush가 제한 시간 안에 끝나지 않았습니다.");
+        }
+    }
+
+    public boolean isEnabled(String teamId) {
+        return teamIds.contains(teamId);
+    }
+
+    /**
+     * 업로드 접수 (본문을 모두 읽어 팀 버퍼에 병합)
+     *
+     * @throws SecurityException 다른 사용자의 쓰기가 같은 문서에 반영 대기 중인 경우
+     */
+    public ChunkUploadResponse submit(String teamId, String fileName, String userId,
+                                      ChunkStreamSource source) throws IOException {
+        // 1. 권한 검증 (Rate Limit 기록 포함)
+        chunkService.authorizeUpload(teamId, fileName, userId);
+        TeamBuffer buffer = buffers.computeIfAbsent(teamId, id -> new TeamBuffer());
+        synchronized (buffer) {
+            checkSingleWriter(buffer, fileName, userId); // 본문을 받기 전에 거절
+        }
+
+        // 2. 본문 수신 (상태 문서용이므로 요청 단위로 메모리에 보관)
+        PendingDocument incoming = new PendingDocument(teamId, fileName, userId);
+        source.readTo(incoming);
+
+        // 3. 팀 버퍼에 병합, 구간의 첫 쓰기면 flush 예약
+        boolean flushNow;
+        synchronized (buffer) {
+            checkSingleWriter(buffer, fileName, userId); // 수신 중에 다른 사용자가 접수했을 수 있음
+            PendingDocument pending = buffer.documents.computeIfAbsent(fileName,
+                    key -> new PendingDocument(teamId, fileName, userId));
+            long before = pending.bufferedBytes;
+            mergedCounter.increment(pending.merge(incoming));
+            buffer.bufferedBytes += pending.bufferedBytes - before;
+
+            if (!buffer.flushScheduled) {
+                buffer.flushScheduled = true;
+                flusher.schedule(() -> flush(teamId), windowMillis, TimeUnit.MILLISECONDS);
+            }
+            flushNow = buffer.bufferedBytes >= maxBufferedBytes;
+        }
+        receivedCounter.increment(incoming.blobsByIndex.size());
+        if (flushNow) {
+            // 버퍼 상한 초과: 구간 종료를 기다리지 않고 반영 (예약된 flush는 빈 버퍼를 만나 종료)
+            flusher.execute(() -> flush(teamId));
+        }
+
+        // 직전 구간 반영 실패 사유 전달 (한 번만)
+        String flushError = flushErrors.asMap().remove(errorKey(teamId, fileName, userId));
+
+        return ChunkUploadResponse.builder()
+                .changedIndexes(new ArrayList<>(incoming.blobsByIndex.keySet()))
+                .unchangedCount(0)
+                .coalesced(true)
+                .receipts(List.of())
+                .flushError(flushError)
+                .build();
+    }
+
+    private void checkSingleWriter(TeamBuffer buffer, String fileName, String userId) {
+        PendingDocument pending = buffer.documents.get(fileName);
+        if (pending != null && !pending.userId.equals(userId)) {
+            throw new SecurityException("다른 사용자의 쓰기가 반영 대기 중인 문서입니다. 잠시 후 다시 시도하세요.");
+        }
+    }
+
+    /**
+     * 모든 팀 버퍼 즉시 반영 (종료 시)
+     */
+    void flushAll() {
+        buffers.keySet().forEach(this::flush);
+    }
+
+    private void flush(String teamId) {
+        TeamBuffer buffer = buffers.get(teamId);
+        if (buffer == null) {
+            return;
+        }
+        List<PendingDocument> documents = new ArrayList<>();
+        synchronized (buffer) {
+            documents.addAll(buffer.documents.values());
+            buffer.documents.clear();
+            buffer.bufferedBytes = 0;
+            buffer.flushScheduled = false;
+        }
+
+        for (PendingDocument document : documents) {
+            String errorKey = errorKey(document.teamId, document.fileName, document.userId);
+            try {
+                chunkService.writeCoalescedChunks(document.teamId, document.fileName, document.userId,
+                        document.encryptedDEK, document.blobsByIndex);
+                flushErrors.invalidate(errorKey);
+            } catch (RuntimeException e) {
+                // 클라이언트에는 이미 응답했으므로 다음 접수 응답으로 실패 사유 전달
+                failedCounter.increment();
+                flushErrors.put(errorKey, e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+                log.error("[Coalesce] 병합 쓰기 반영 실패 - Team: {}, File: {}, 청크 수: {}",
+                        document.teamId, document.fileName, document.blobsByIndex.size(), e);
+            }
+        }
+    }
+
+    private static String errorKey(String teamId, String fileName, String userId) {
+        return teamId + '\n' + fileName + '\n' + userId;
+    }
+
+    private static class TeamBuffer {
+        // fileName → 병합 중인 쓰기 (구간마다 문서당 한 사용자)
+        private final Map<String, PendingDocument> documents = new LinkedHashMap<>();
+        private long bufferedBytes = 0;
+        private boolean flushScheduled = false;
+    }
+
+    /**
+     * 한 문서의 병합 중인 쓰기 (chunkIndex별 마지막 값, 마지막 DEK)
+     */
+    private static class PendingDocument implements ChunkStreamSink {
+        private final String teamId;
+        private final String fileName;
+        private final String userId;
+        private final Map<Integer, byte[]> blobsByIndex = new LinkedHashMap<>();
+        private byte[] encryptedDEK;
+        private long bufferedBytes = 0;
+
+        PendingDocument(String teamId, String fileName, String userId) {
+            this.teamId = teamId;
+            this.fileName = fileName;
+            this.userId = userId;
+        }
+
+        @Override
+        public void encryptedDEK(byte[] encryptedDEK) {
+            this.encryptedDEK = encryptedDEK;
+        }
+
+        @Override
+        public void chunk(int chunkIndex, byte[] encryptedBlob) {
+            put(chunkIndex, encryptedBlob);
+        }
+
+        /**
+         * 이후 쓰기 병합
+         *
+         * @return 대체된 이전 값 수
+         */
+        int merge(PendingDocument later) {
+            if (later.encryptedDEK != null) {
+                encryptedDEK = later.encryptedDEK;
+            }
+            int replaced = 0;
+            for (Map.Entry<Integer, byte[]> entry : later.blobsByIndex.entrySet()) {
+                if (put(entry.getKey(), entry.getValue())) {
+                    replaced++;
+                }
+            }
+            return replaced;
+        }
+
+        private boolean put(int chunkIndex, byte[] encryptedBlob) {
+            byte[] previous = blobsByIndex.put(chunkIndex, encryptedBlob);
+            bufferedBytes += encryptedBlob.length - (previous != null ? previous.length : 0);
+            return previous != null;
+        }
+    }
+}
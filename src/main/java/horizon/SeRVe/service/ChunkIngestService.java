@@ -0,0 +1,435 @@
+package horizon.SeRVe.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import horizon.SeRVe.dto.chunk.*;
+import horizon.SeRVe.exception.ServerBusyException;
+import horizon.SeRVe.repository.VectorChunkRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.*;
+import java.nio.file.*;
+import java.sql.SQLTransientException;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 비동기 청크 업로드 큐 (Group Commit)
+ *
+ * 동작 방식:
+ * 1. 요청 스레드: 권한 검증 + Base64 검증 후 로컬 스풀 파일에 기록하고 즉시 202 + ticketId 반환
+ * 2. writer 스레드: 큐에서 여러 업로드를 꺼내 하나의 트랜잭션으로 커밋
+ * 3. 그룹 커밋 실패 시 업로드별 개별 트랜잭션으로 재시도하여 실패 원인 격리
+ *    - 일시적 오류(락 대기 초과, 교착, 커넥션 획득 실패 등): 스풀 파일을 유지하고 지수 백오프 후 다시 큐에 적재 (PENDING 유지)
+ *    - 영구적 오류(권한 회수, 형식 오류 등): FAILED 처리 후 스풀 파일 삭제
+ *
+ * - 큐가 가득 차면 DB 커넥션 풀을 고갈시키는 대신 503 + Retry-After로 백프레셔
+ * - 스풀 파일은 커밋 후 삭제, 서버 재시작 시 남은 파일을 다시 큐에 적재 (durable)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ChunkIngestService {
+
+    private static final String SPOOL_SUFFIX = ".ingest";
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final long RETRY_AFTER_SECONDS = 5;
+
+    private final ChunkService chunkService;
+    private final ChunkPayloadPreparer chunkPayloadPreparer;
+    private final TransactionTemplate transactionTemplate;
+    private final DocumentWriteCoordinator documentWriteCoordinator;
+    private final VectorChunkRepository vectorChunkRepository;
+
+    @Value("${serve.ingest.spool-dir:${java.io.tmpdir}/serve-ingest}")
+    private String spoolDir;
+
+    @Value("${serve.ingest.queue-capacity:1000}")
+    private int queueCapacity;
+
+    @Value("${serve.ingest.writer-threads:2}")
+    private int writerThreads;
+
+    @Value("${serve.ingest.max-group-size:32}")
+    private int maxGroupSize;
+
+    // 일시적 오류 재시도 간격 (시도마다 2배, 최대값까지)
+    @Value("${serve.ingest.retry-initial-delay-ms:500}")
+    private long retryInitialDelayMs;
+
+    @Value("${serve.ingest.retry-max-delay-ms:30000}")
+    private long retryMaxDelayMs;
+
+    // 티켓 상태 (완료 후 1시간 보관)
+    private final Cache<String, TicketState> tickets = Caffeine.newBuilder()
+            .maximumSize(100_000)
+            .expireAfterWrite(Duration.ofHours(1))
+            .build();
+
+    private BlockingQueue<IngestTicket> queue;
+    private ExecutorService writers;
+    private ScheduledExecutorService retryScheduler;
+    private volatile boolean running;
+
+    @PostConstruct
+    public void start() throws IOException {
+        Files.createDirectories(Path.of(spoolDir));
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        running = true;
+
+        writers = Executors.newFixedThreadPool(writerThreads + 1, runnable -> {
+            Thread thread = new Thread(runnable, "chunk-ingest");
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < writerThreads; i++) {
+            writers.submit(this::drainLoop);
+        }
+        retryScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "chunk-ingest-retry");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        // 이전 실행에서 커밋되지 못한 스풀 파일 복구
+        writers.submit(this::recoverSpool);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        // 대기 중인 업로드(재시도 대기 포함)는 스풀 파일로 남아 다음 기동 시 복구됨
+        running = false;
+        retryScheduler.shutdownNow();
+        writers.shutdown();
+        if (!writers.awaitTermination(30, TimeUnit.SECONDS)) {
+            writers.shutdownNow();
+        }
+    }
+
+    /**
+     * 비동기 업로드 접수
+     *
+     * @return PENDING 상태의 티켓
+     * @throws ServerBusyException 큐가 가득 찬 경우
+     */
+    public IngestTicketResponse submit(String teamId, String userId, ChunkUploadRequest request) {
+        if (request.getFileName() == null || request.getFileName().isBlank()) {
+            throw new IllegalArgumentException("fileName이 필요합니다.");
+        }
+        if (request.getChunks() == null) {
+            throw new IllegalArgumentException("chunks가 필요합니다.");
+        }
+
+        // 1. 권한 검증 (Rate Limit 기록 포함)
+        chunkService.authorizeUpload(teamId, request.getFileName(), userId);
+
+        // 2. 큐 여유 확인 (스풀 기록 전에 빠르게 거절)
+        if (queue.remainingCapacity() == 0) {
+            throw new ServerBusyException("업로드 대기열이 가득 찼습니다.", RETRY_AFTER_SECONDS);
+        }
+
+        // 3. Base64 디코딩/길이 검증 (동기 업로드와 같은 ChunkPayloadPreparer → 같은 오류 응답)
+        byte[] encryptedDEK = request.getEncryptedDEK() != null
+                ? chunkPayloadPreparer.decode(request.getEncryptedDEK(), "encryptedDEK")
+                : null;
+        List<byte[]> blobs = chunkPayloadPreparer.decodeAll(request.getChunks().stream()
+                .map(ChunkUploadItem::getEncryptedBlob)
+                .collect(Collectors.toList()), "encryptedBlob");
+
+        // 4. 스풀 파일 기록
+        String ticketId = UUID.randomUUID().toString();
+        IngestTicket ticket = new IngestTicket(ticketId, teamId, userId, request.getFileName(),
+                Path.of(spoolDir, ticketId + SPOOL_SUFFIX));
+        writeSpool(ticket, encryptedDEK, request.getChunks(), blobs);
+
+        // 5. 큐 적재
+        tickets.put(ticketId, new TicketState(teamId, userId, IngestTicketResponse.pending(ticketId)));
+        if (!queue.offer(ticket)) {
+            tickets.invalidate(ticketId);
+            deleteSpool(ticket);
+            throw new ServerBusyException("업로드 대기열이 가득 찼습니다.", RETRY_AFTER_SECONDS);
+        }
+
+        return IngestTicketResponse.pending(ticketId);
+    }
+
+    /**
+     * 티켓 상태 조회 (업로드한 본인만 조회 가능, 다른 팀 경로로는 조회 불가)
+     */
+    public IngestTicketResponse getTicket(String teamId, String ticketId, String userId) {
+        TicketState state = tickets.getIfPresent(ticketId);
+        if (state == null || !state.teamId.equals(teamId)) {
+            throw new IllegalArgumentException("티켓을 찾을 수 없습니다: " + ticketId);
+        }
+        if (!state.userId.equals(userId)) {
+            throw new SecurityException("본인의 업로드 티켓만 조회할 수 있습니다.");
+        }
+        return state.response;
+    }
+
+    // ==================== writer ====================
+
+    private void drainLoop() {
+        while (running) {
+            try {
+                IngestTicket first = queue.poll(500, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                List<IngestTicket> group = new ArrayList<>(maxGroupSize);
+                group.add(first);
+                queue.drainTo(group, maxGroupSize - 1);
+                commitGroup(group);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("[Ingest] writer 오류", e);
+            }
+        }
+    }
+
+    /**
+     * 여러 업로드를 하나의 트랜잭션으로 커밋
+     * - 실패 시 업로드별로 나누어 재시도 (실패 원인 격리)
+     */
+    private void commitGroup(List<IngestTicket> group) {
+        Map<String, ChunkUploadResponse> results;
+        try {
+            // 그룹에 포함된 문서 락을 모두 잡은 뒤 트랜잭션 시작 (동기 업로드와 직렬화)
+            List<String> lockKeys = group.stream()
+                    .map(ticket -> DocumentWriteCoordinator.lockKey(ticket.teamId, ticket.fileName))
+                    .distinct()
+                    .collect(Collectors.toList());
+            results = documentWriteCoordinator.writeAll(lockKeys, 1, () -> transactionTemplate.execute(status -> {
+                Map<String, ChunkUploadResponse> committed = new LinkedHashMap<>();
+                for (IngestTicket ticket : group) {
+                    committed.put(ticket.ticketId, ingest(ticket));
+                }
+                // 팀 변경 시퀀스는 모든 스풀 파일을 반영한 뒤 마지막에 할당 (팀 행 잠금은 커밋 직전에만)
+                vectorChunkRepository.assignPendingChangeSeqs();
+                return committed;
+            }));
+        } catch (RuntimeException e) {
+            if (group.size() > 1) {
+                log.warn("[Ingest] 그룹 커밋 실패, 개별 재시도 - size: {}", group.size());
+                group.forEach(ticket -> commitGroup(List.of(ticket)));
+            } else {
+                fail(group.get(0), e);
+            }
+            return;
+        }
+
+        for (IngestTicket ticket : group) {
+            complete(ticket, results.get(ticket.ticketId));
+        }
+        log.debug("[Ingest] 그룹 커밋 완료 - size: {}", group.size());
+    }
+
+    private ChunkUploadResponse ingest(IngestTicket ticket) {
+        try (InputStream in = Files.newInputStream(ticket.spoolFile)) {
+            readSpoolHeader(new DataInputStream(in));
+            return chunkService.ingestChunkStream(ticket.teamId, ticket.fileName, ticket.userId,
+                    new ChunkFrameReader(in));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void complete(IngestTicket ticket, ChunkUploadResponse result) {
+        tickets.put(ticket.ticketId,
+                new TicketState(ticket.teamId, ticket.userId, IngestTicketResponse.committed(ticket.ticketId, result)));
+        deleteSpool(ticket);
+    }
+
+    private void fail(IngestTicket ticket, RuntimeException e) {
+        if (isTransient(e) && running) {
+            retryLater(ticket, e);
+            return;
+        }
+        log.warn("[Ingest] 업로드 반영 실패 - ticket: {}, reason: {}", ticket.ticketId, e.getMessage());
+        tickets.put(ticket.ticketId,
+                new TicketState(ticket.teamId, ticket.userId, IngestTicketResponse.failed(ticket.ticketId, e.getMessage())));
+        deleteSpool(ticket);
+    }
+
+    /**
+     * 일시적 오류: 스풀 파일은 그대로 두고 백오프 후 다시 큐에 적재 (티켓은 PENDING 유지)
+     * - 큐가 가득 차 있으면 다음 간격에 다시 시도
+     */
+    private void retryLater(IngestTicket ticket, RuntimeException e) {
+        long delayMs = Math.min(retryMaxDelayMs, retryInitialDelayMs << Math.min(ticket.attempts, 16));
+        ticket.attempts++;
+        log.warn("[Ingest] 일시적 오류로 재시도 예약 - ticket: {}, attempt: {}, delay: {}ms, reason: {}",
+                ticket.ticketId, ticket.attempts, delayMs, e.getMessage());
+        scheduleRequeue(ticket, delayMs);
+    }
+
+    private void scheduleRequeue(IngestTicket ticket, long delayMs) {
+        try {
+            retryScheduler.schedule(() -> {
+                if (running && !queue.offer(ticket)) {
+                    scheduleRequeue(ticket, retryMaxDelayMs);
+                }
+            }, delayMs, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException ignored) {
+            // 종료 중: 스풀 파일이 남아 있으므로 다음 기동 시 복구됨
+        }
+    }
+
+    /**
+     * 다시 시도하면 성공할 수 있는 오류인지 (원인 체인 전체 확인)
+     * - 락 대기 초과/교착(CannotAcquireLockException 등 TransientDataAccessException), 커넥션 획득 실패
+     */
+    private static boolean isTransient(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof TransientDataAccessException
+                    || cause instanceof CannotCreateTransactionException
+                    || cause instanceof SQLTransientException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // ==================== spool ====================
+
+    /**
+     * 스풀 파일 형식: [teamId:UTF][userId:UTF][fileName:UTF] + ChunkFrameReader 프레임
+     * - 임시 파일에 기록 후 fsync, 원자적으로 이름 변경
+     */
+    private void writeSpool(IngestTicket ticket, byte[] encryptedDEK, List<ChunkUploadItem> items, List<byte[]> blobs) {
+        Path temp = Path.of(spoolDir, ticket.ticketId + TEMP_SUFFIX);
+        try (FileOutputStream fileOut = new FileOutputStream(temp.toFile())) {
+            BufferedOutputStream buffered = new BufferedOutputStream(fileOut);
+            DataOutputStream header = new DataOutputStream(buffered);
+            header.writeUTF(ticket.teamId);
+            header.writeUTF(ticket.userId);
+            header.writeUTF(ticket.fileName);
+
+            ChunkFrameWriter frames = new ChunkFrameWriter(buffered);
+            if (encryptedDEK != null) {
+                frames.writeEncryptedDEK(encryptedDEK);
+            }
+            for (int i = 0; i < items.size(); i++) {
+                frames.writeChunk(items.get(i).getChunkIndex(), blobs.get(i));
+            }
+            frames.flush();
+            fileOut.getFD().sync();
+        } catch (IOException e) {
+            deleteQuietly(temp);
+            throw new UncheckedIOException("업로드 스풀 기록 실패", e);
+        }
+
+        try {
+            Files.move(temp, ticket.spoolFile, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            deleteQuietly(temp);
+            throw new UncheckedIOException("업로드 스풀 기록 실패", e);
+        }
+    }
+
+    private static String[] readSpoolHeader(DataInputStream in) throws IOException {
+        return new String[]{in.readUTF(), in.readUTF(), in.readUTF()};
+    }
+
+    private void recoverSpool() {
+        List<Path> spoolFiles;
+        try (Stream<Path> files = Files.list(Path.of(spoolDir))) {
+            spoolFiles = files.sorted(Comparator.comparing(ChunkIngestService::lastModified)).toList();
+        } catch (IOException e) {
+            log.error("[Ingest] 스풀 디렉토리 조회 실패: {}", spoolDir, e);
+            return;
+        }
+
+        int recovered = 0;
+        for (Path file : spoolFiles) {
+            String name = file.getFileName().toString();
+            if (name.endsWith(TEMP_SUFFIX)) {
+                deleteQuietly(file); // 기록 도중 중단된 파일 (클라이언트는 202를 받지 못함)
+                continue;
+            }
+            if (!name.endsWith(SPOOL_SUFFIX)) {
+                continue;
+            }
+
+            String ticketId = name.substring(0, name.length() - SPOOL_SUFFIX.length());
+            try (DataInputStream in = new DataInputStream(Files.newInputStream(file))) {
+                String[] header = readSpoolHeader(in);
+                IngestTicket ticket = new IngestTicket(ticketId, header[0], header[1], header[2], file);
+                tickets.put(ticketId, new TicketState(ticket.teamId, ticket.userId, IngestTicketResponse.pending(ticketId)));
+                queue.put(ticket); // 큐가 가득 차면 writer가 비울 때까지 대기
+                recovered++;
+            } catch (IOException e) {
+                log.error("[Ingest] 손상된 스풀 파일 - {}", file, e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+
+        if (recovered > 0) {
+            log.info("[Ingest] 미완료 업로드 {}건 복구", recovered);
+        }
+    }
+
+    private void deleteSpool(IngestTicket ticket) {
+        deleteQuietly(ticket.spoolFile);
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("[Ingest] 스풀 파일 삭제 실패 - {}", path, e);
+        }
+    }
+
+    private static long lastModified(Path path) {
+        try {
+            return Files.getLastModifiedTime(path).toMillis();
+        } catch (IOException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+
+    private static final class IngestTicket {
+        private final String ticketId;
+        private final String teamId;
+        private final String userId;
+        private final String fileName;
+        private final Path spoolFile;
+        private int attempts; // 일시적 오류로 재시도한 횟수
+
+        IngestTicket(String ticketId, String teamId, String userId, String fileName, Path spoolFile) {
+            this.ticketId = ticketId;
+            this.teamId = teamId;
+            this.userId = userId;
+            this.fileName = fileName;
+            this.spoolFile = spoolFile;
+        }
+    }
+
+    private static final class TicketState {
+        private final String teamId;
+        private final String userId;
+        private final IngestTicketResponse response;
+
+        TicketState(String teamId, String userId, IngestTicketResponse response) {
+            this.teamId = teamId;
+            this.userId = userId;
+            this.response = response;
+        }
+    }
+}
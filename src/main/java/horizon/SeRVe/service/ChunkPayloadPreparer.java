@@ -0,0 +1,106 @@
+package horizon.SeRVe.service;
+
+import horizon.SeRVe.dto.chunk.ChunkPayload;
+import horizon.SeRVe.dto.chunk.ChunkUploadItem;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 트랜잭션 전 업로드 페이로드 준비 단계
+ *
+ * Base64 디코딩, 길이 검증, content_hash(SHA-256) 계산은 CPU 작업이므로
+ * 트랜잭션 안에서 하면 그동안 DB 커넥션이 놀게 됩니다.
+ * 쓰기 트랜잭션을 열기 전에 이 단계에서 끝내고, 항목이 많으면 전용 ForkJoinPool에서 병렬 처리합니다.
+ * (공용 풀을 쓰지 않아 다른 parallelStream 작업과 간섭하지 않음)
+ */
+@Slf4j
+@Component
+public class ChunkPayloadPreparer {
+
+    private final ForkJoinPool pool;
+    private final int parallelThreshold;
+    private final int maxBlobBytes;
+
+    public ChunkPayloadPreparer(@Value("${serve.prepare.parallelism:0}") int parallelism,
+                                @Value("${serve.prepare.parallel-threshold:32}") int parallelThreshold,
+                                @Value("${serve.upload.max-blob-bytes:67108864}") int maxBlobBytes) {
+        // 0이면 CPU 코어 수
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.parallelThreshold = parallelThreshold;
+        this.maxBlobBytes = maxBlobBytes;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    /**
+     * JSON 청크 목록 → 디코딩/해시 완료된 청크 (같은 chunk_index가 중복되면 마지막 값 사용)
+     */
+    public List<ChunkPayload> prepareChunks(List<ChunkUploadItem> items) {
+        if (items == null || items.isEmpty()) {
+            return List.of();
+        }
+        Map<Integer, ChunkUploadItem> lastByIndex = new LinkedHashMap<>();
+        for (ChunkUploadItem item : items) {
+            lastByIndex.remove(item.getChunkIndex()); // 마지막 값의 순서 유지
+            lastByIndex.put(item.getChunkIndex(), item);
+        }
+        return map(new ArrayList<>(lastByIndex.values()),
+                item -> ChunkPayload.of(item.getChunkIndex(), decode(item.getEncryptedBlob(), "encryptedBlob")));
+    }
+
+    /**
+     * 이미 디코딩된 blob → 해시 계산 완료된 청크 (스트리밍 업로드 flush 단위)
+     */
+    public List<ChunkPayload> hashChunks(Map<Integer, byte[]> blobsByIndex) {
+        List<Map.Entry<Integer, byte[]>> entries = new ArrayList<>(blobsByIndex.entrySet());
+        return map(entries, entry -> ChunkPayload.of(entry.getKey(), entry.getValue()));
+    }
+
+    /**
+     * Base64 값 여러 개 일괄 디코딩 (순서 유지)
+     */
+    public List<byte[]> decodeAll(List<String> values, String fieldName) {
+        return map(values, value -> decode(value, fieldName));
+    }
+
+    /**
+     * Base64 디코딩 + 길이 검증 (디코딩 전에 길이를 먼저 확인해 과도한 할당 방지)
+     */
+    public byte[] decode(String value, String fieldName) {
+        if (value == null) {
+            throw new IllegalArgumentException(fieldName + "은(는) 필수입니다.");
+        }
+        long decodedLength = (long) value.length() / 4 * 3;
+        if (decodedLength > maxBlobBytes) {
+            throw new IllegalArgumentException(String.format(
+                    "%s 크기가 너무 큽니다. (최대 %d bytes)", fieldName, maxBlobBytes));
+        }
+        try {
+            return Base64.getDecoder().decode(value);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(fieldName + "이(가) 올바른 Base64 형식이 아닙니다.", e);
+        }
+    }
+
+    private <T, R> List<R> map(List<T> items, Function<T, R> mapper) {
+        if (items.size() < parallelThreshold) {
+            return items.stream().map(mapper).collect(Collectors.toList());
+        }
+        // 전용 풀 안에서 실행한 parallelStream은 해당 풀의 워커를 사용
+        return pool.submit(() -> items.parallelStream().map(mapper).collect(Collectors.toList())).join();
+    }
+}
@@ -2,14 +2,28 @@ package horizon.SeRVe.service;
 
 import horizon.SeRVe.dto.chunk.*;
 import horizon.SeRVe.entity.*;
+import horizon.SeRVe.exception.SyncCursorExpiredException;
 import horizon.SeRVe.repository.*;
+import horizon.SeRVe.storage.BlobStore;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.util.Base64;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -23,15 +37,412 @@ public class ChunkService {
     private final UserRepository userRepository;
     private final MemberRepository memberRepository;
     private final RateLimitService rateLimitService;
+    private final BlobStore blobStore;
+    private final DocumentWriteCoordinator documentWriteCoordinator;
+    private final ChunkPayloadPreparer chunkPayloadPreparer;
+    private final TransactionTemplate transactionTemplate;
+
+    // 스트리밍 업로드(JSON/바이너리) 시 한 번에 DB로 내보내는 단위 (청크 수 / 바이트)
+    // 작을수록 요청당 메모리가 줄고, 클수록 DB 왕복이 줄어듦
+    @Value("${serve.upload.flush-chunks:256}")
+    private int streamFlushChunks;
+
+    @Value("${serve.upload.flush-bytes:33554432}")
+    private long streamFlushBytes;
+
+    // 업로드 본문을 트랜잭션 전에 받아 둘 때 메모리에 보관하는 상한 (넘으면 spill-dir 임시 파일)
+    @Value("${serve.upload.spill-threshold-bytes:8388608}")
+    private long uploadSpillThreshold;
+
+    @Value("${serve.upload.spill-dir:${java.io.tmpdir}/serve-upload}")
+    private String uploadSpillDir;
+
+    // 다중 문서 업로드 한 요청에 담을 수 있는 최대 문서 수 (락/트랜잭션 크기 상한)
+    @Value("${serve.upload.batch-max-documents:500}")
+    private int batchMaxDocuments;
+
+    // 동기화 페이지 크기 (limit 미지정 시 기본값 / 클라이언트 요청 상한)
+    @Value("${serve.sync.page-default-limit:500}")
+    private int syncDefaultPageSize;
+
+    @Value("${serve.sync.page-max-limit:5000}")
+    private int syncMaxPageSize;
+
+    // 동기화 페이지 blob 바이트 상한 (maxBytes 미지정 시 기본값이자 상한)
+    @Value("${serve.sync.page-max-bytes:16777216}")
+    private long syncMaxPageBytes;
+
+    // blob 일괄 조회 한 요청당 최대 청크 수
+    @Value("${serve.sync.blob-fetch-max-chunks:500}")
+    private int blobFetchMaxChunks;
+
+    // 스트리밍 동기화 시 드라이버가 한 번에 가져오는 행 수 (요청당 메모리 ≈ fetchSize × 청크 크기)
+    @Value("${serve.sync.stream-fetch-size:64}")
+    private int syncStreamFetchSize;
 
     /**
      * A. 청크 업로드 (배치)
      * - ADMIN 권한 필요
      * - fileName으로 Document 찾거나 생성
-     * - 기존 chunk_index 존재 시 UPDATE, 없으면 INSERT
+     * - 기존 chunk_index 존재 시 UPDATE, 없으면 INSERT (배치 크기와 무관하게 일정한 쿼리 수)
+     */
+    public ChunkUploadResponse uploadChunks(String teamId, String fileName, String userId, ChunkUploadRequest request) {
+        // 디코딩/길이 검증/해시 계산은 락/트랜잭션 밖에서 미리 수행 (대량 배치는 병렬)
+        // 같은 chunk_index가 중복되면 마지막 값을 사용
+        byte[] encryptedDEK = request.getEncryptedDEK() != null
+                ? chunkPayloadPreparer.decode(request.getEncryptedDEK(), "encryptedDEK")
+                : null;
+        List<ChunkPayload> chunks = chunkPayloadPreparer.prepareChunks(request.getChunks());
+
+        // Rate Limit은 충돌 재시도와 무관하게 요청당 1회만 기록
+        rateLimitService.checkAndRecordUpload(userId);
+
+        return writeChunks(teamId, fileName, userId, encryptedDEK, chunks);
+    }
+
+    /**
+     * A-7. 쓰기 병합 구간 반영 (ChunkCoalescingService flush 전용)
+     * - 구간 동안 병합된 최종 값만 기록 (Rate Limit은 접수 시 요청마다 기록됨)
+     * - 접수 후 권한이 회수되었을 수 있으므로 권한은 다시 확인
+     */
+    public ChunkUploadResponse writeCoalescedChunks(String teamId, String fileName, String userId,
+                                                    byte[] encryptedDEK, Map<Integer, byte[]> blobsByIndex) {
+        return writeChunks(teamId, fileName, userId, encryptedDEK, chunkPayloadPreparer.hashChunks(blobsByIndex));
+    }
+
+    private ChunkUploadResponse writeChunks(String teamId, String fileName, String userId,
+                                            byte[] encryptedDEK, List<ChunkPayload> chunks) {
+        // 문서 단위로 직렬화, 충돌 시 새 트랜잭션으로 재시도
+        return documentWriteCoordinator.write(teamId, fileName, () -> transactionTemplate.execute(status -> {
+            Document document = resolveUploadDocument(teamId, fileName, userId, encryptedDEK);
+
+            // 4. 청크 일괄 처리 (UPDATE or INSERT, JDBC 배치)
+            // 동일한 암호문은 쓰지 않으므로 변경된 chunk_index만 응답
+            List<ChunkReceipt> receipts = vectorChunkRepository
+                    .upsertPreparedChunks(document.getDocumentId(), teamId, userId, chunks);
+            vectorChunkRepository.assignPendingChangeSeqs();
+
+            return ChunkUploadResponse.of(document.getDocumentId(), receipts, chunks.size());
+        }));
+    }
+
+    /**
+     * A-2. 청크 업로드 (JSON 스트리밍 파싱 / 바이너리 프레임)
+     * - 권한 검증 + Rate Limit 기록은 본문을 받기 전에 수행 (권한 없는 대용량 본문을 받지 않음)
+     * - 본문은 트랜잭션/문서 락 밖에서 끝까지 수신 (느린 클라이언트가 DB 커넥션과 잠금을 붙잡지 않음)
+     *   - spill 임계값 이하: 해시 계산까지 트랜잭션 전에 끝내고 uploadChunks와 같은 경로(writeChunks)로 반영
+     *   - 초과: 해시를 계산하며 임시 파일로 받은 뒤 트랜잭션 안에서 로컬 파일을 flush 단위로 읽어 반영
+     *     (힙 사용량이 본문 크기와 무관, 트랜잭션 안에서는 디코딩/해시 계산 없음)
+     * - 받은 본문은 다시 읽을 수 있으므로 충돌 시 새 트랜잭션으로 재시도 (중간에 실패하면 전체 롤백)
+     */
+    public ChunkUploadResponse uploadChunkStream(String teamId, String fileName, String userId,
+                                                 ChunkStreamSource source) throws IOException {
+        transactionTemplate.executeWithoutResult(status -> checkUploadPermission(teamId, fileName, userId, true));
+
+        try (PreparedChunkUpload upload = PreparedChunkUpload.receive(source, Path.of(uploadSpillDir), uploadSpillThreshold)) {
+            if (!upload.isSpilled()) {
+                return writeChunks(teamId, fileName, userId, upload.getEncryptedDEK(),
+                        chunkPayloadPreparer.hashChunks(upload.getBlobsByIndex()));
+            }
+            return documentWriteCoordinator.write(teamId, fileName, () -> transactionTemplate.execute(status -> {
+                Document document = resolveUploadDocument(teamId, fileName, userId, upload.getEncryptedDEK());
+                List<ChunkReceipt> receipts = new ArrayList<>();
+                try {
+                    // 해시는 수신 중에 계산되어 임시 파일에 있음 → 트랜잭션 안에서는 읽기와 기록만 수행
+                    int received = upload.forEachBatch(streamFlushChunks, streamFlushBytes, batch -> receipts.addAll(
+                            vectorChunkRepository.upsertPreparedChunks(document.getDocumentId(), teamId, userId, batch)));
+                    vectorChunkRepository.assignPendingChangeSeqs();
+                    return ChunkUploadResponse.of(document.getDocumentId(), receipts, received);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e); // 롤백 후 바깥에서 IOException으로 복원
+                }
+            }));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * A-6. Append 모드 업로드 (chunkIndex 서버 할당)
+     * - 계속 이어 쓰기만 하는 텔레메트리 문서용: 클라이언트가 다음 chunkIndex를 알 필요 없음
+     * - 문서별 카운터(documents.next_chunk_index)에서 구간을 원자적으로 할당한 뒤 기존 청크 조회 없이 INSERT
+     * - 할당은 짧은 별도 트랜잭션이라 여러 생산자가 같은 문서에 동시에 이어 써도 대기/충돌 재시도 없음
+     *   (문서 락은 최초 생성 시에만 사용)
+     * - 같은 문서에 명시적 chunkIndex 업로드를 동시에 섞으면 커밋 전 인덱스는 보이지 않으므로 겹칠 수 있음
+     */
+    public ChunkAppendResponse appendChunks(String teamId, String userId, ChunkAppendRequest request) {
+        String fileName = request.getFileName();
+        if (fileName == null || fileName.isBlank()) {
+            throw new IllegalArgumentException("fileName은 필수입니다.");
+        }
+        if (request.getEncryptedBlobs() == null || request.getEncryptedBlobs().isEmpty()) {
+            throw new IllegalArgumentException("encryptedBlobs는 비어 있을 수 없습니다.");
+        }
+
+        // 1. 디코딩/해시 계산은 트랜잭션 밖에서 (chunkIndex는 아직 모르므로 요청 내 순서로 임시 지정)
+        byte[] encryptedDEK = request.getEncryptedDEK() != null
+                ? chunkPayloadPreparer.decode(request.getEncryptedDEK(), "encryptedDEK")
+                : null;
+        List<byte[]> blobs = chunkPayloadPreparer.decodeAll(request.getEncryptedBlobs(), "encryptedBlob");
+        Map<Integer, byte[]> blobsByPosition = new LinkedHashMap<>();
+        for (int i = 0; i < blobs.size(); i++) {
+            blobsByPosition.put(i, blobs.get(i));
+        }
+        List<ChunkPayload> chunks = chunkPayloadPreparer.hashChunks(blobsByPosition);
+
+        rateLimitService.checkAndRecordUpload(userId);
+
+        // 2. 권한 검증 + 대상 문서 확인 (없으면 문서 락을 잡고 생성)
+        String documentId = transactionTemplate.execute(status -> {
+            UploadPermission permission = checkUploadPermission(teamId, fileName, userId, false);
+            return permission.existingDocument != null ? permission.existingDocument.getDocumentId() : null;
+        });
+        boolean created = documentId == null;
+        if (created) {
+            documentId = documentWriteCoordinator.write(teamId, fileName, () -> transactionTemplate.execute(status ->
+                    resolveUploadDocument(teamId, fileName, userId, encryptedDEK).getDocumentId()));
+        }
+        String targetDocumentId = documentId;
+
+        // 3. 구간 할당 (즉시 커밋해 카운터 행 잠금을 바로 해제)
+        int firstChunkIndex = transactionTemplate.execute(status ->
+                vectorChunkRepository.allocateChunkIndexes(targetDocumentId, chunks.size()));
+
+        // 4. 할당 구간에 INSERT (다른 생산자와 겹치지 않으므로 문서 락 없음)
+        List<ChunkReceipt> receipts = transactionTemplate.execute(status -> {
+            if (encryptedDEK != null && !created) {
+                documentRepository.findByDocumentId(targetDocumentId)
+                        .orElseThrow(() -> new IllegalArgumentException("문서를 찾을 수 없습니다."))
+                        .setEncryptedDEK(encryptedDEK);
+            }
+            List<ChunkReceipt> inserted = vectorChunkRepository
+                    .insertAppendedChunks(targetDocumentId, teamId, userId, firstChunkIndex, chunks);
+            vectorChunkRepository.assignPendingChangeSeqs();
+            return inserted;
+        });
+
+        return ChunkAppendResponse.builder()
+                .documentId(targetDocumentId)
+                .firstChunkIndex(firstChunkIndex)
+                .lastChunkIndex(firstChunkIndex + chunks.size() - 1)
+                .count(chunks.size())
+                .receipts(receipts)
+                .build();
+    }
+
+    /**
+     * A-5. 다중 문서 업로드 (한 요청, 한 트랜잭션)
+     * - 권한 검증(Team/User/멤버십)은 요청당 1회, 기존 문서는 IN 쿼리 1회로 조회
+     * - 청크는 문서 수와 무관하게 SELECT 1 + INSERT 배치 1 + UPDATE 배치 1로 반영
+     * - 문서별 검증 실패(Base64 오류, 중복 fileName, 타인의 문서)는 해당 문서만 REJECTED로 응답
+     * - 멤버십/ADMIN 차단은 요청 전체 실패 (uploadChunks와 동일)
+     */
+    public BatchChunkUploadResponse uploadChunkBatch(String teamId, String userId, BatchChunkUploadRequest request) {
+        List<ChunkUploadRequest> documents = request.getDocuments() != null ? request.getDocuments() : List.of();
+        if (documents.isEmpty()) {
+            throw new IllegalArgumentException("documents는 비어 있을 수 없습니다.");
+        }
+        if (documents.size() > batchMaxDocuments) {
+            throw new IllegalArgumentException(String.format(
+                    "한 번에 업로드할 수 있는 문서 수를 초과했습니다. (최대 %d개)", batchMaxDocuments));
+        }
+
+        // 1. 디코딩/해시 계산은 락/트랜잭션 밖에서 (실패한 문서는 REJECTED)
+        BatchDocumentResult[] results = new BatchDocumentResult[documents.size()];
+        Map<String, PreparedDocument> prepared = new LinkedHashMap<>();
+        for (int i = 0; i < documents.size(); i++) {
+            ChunkUploadRequest document = documents.get(i);
+            String fileName = document.getFileName();
+            if (fileName == null || fileName.isBlank()) {
+                results[i] = BatchDocumentResult.rejected(fileName, "fileName은 필수입니다.");
+                continue;
+            }
+            if (prepared.containsKey(fileName)) {
+                results[i] = BatchDocumentResult.rejected(fileName, "같은 요청에 중복된 fileName입니다.");
+                continue;
+            }
+            try {
+                byte[] encryptedDEK = document.getEncryptedDEK() != null
+                        ? chunkPayloadPreparer.decode(document.getEncryptedDEK(), "encryptedDEK")
+                        : null;
+                prepared.put(fileName, new PreparedDocument(i, fileName, encryptedDEK,
+                        chunkPayloadPreparer.prepareChunks(document.getChunks())));
+            } catch (IllegalArgumentException e) {
+                results[i] = BatchDocumentResult.rejected(fileName, e.getMessage());
+            }
+        }
+
+        // 2. Rate Limit은 문서 수와 무관하게 요청당 1회
+        rateLimitService.checkAndRecordUpload(userId);
+
+        // 3. 모든 문서의 락을 한 번에 잡고 단일 트랜잭션으로 반영 (충돌 시 전체 재시도)
+        if (!prepared.isEmpty()) {
+            List<String> lockKeys = prepared.keySet().stream()
+                    .map(fileName -> DocumentWriteCoordinator.lockKey(teamId, fileName))
+                    .collect(Collectors.toList());
+            Map<Integer, BatchDocumentResult> written = documentWriteCoordinator.writeAll(lockKeys,
+                    () -> transactionTemplate.execute(status -> writeDocumentBatch(teamId, userId, prepared.values())));
+            written.forEach((index, result) -> results[index] = result);
+        }
+
+        return new BatchChunkUploadResponse(List.of(results));
+    }
+
+    private Map<Integer, BatchDocumentResult> writeDocumentBatch(String teamId, String userId,
+                                                                 Collection<PreparedDocument> prepared) {
+        Team team = teamRepository.findByTeamId(teamId)
+                .orElseThrow(() -> new IllegalArgumentException("팀을 찾을 수 없습니다."));
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다."));
+        checkUploaderRole(team, user);
+
+        Map<String, Document> existingByFileName = documentRepository
+                .findAllByTeamAndOriginalFileNameIn(team,
+                        prepared.stream().map(document -> document.fileName).collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(Document::getOriginalFileName, document -> document));
+
+        Map<Integer, BatchDocumentResult> results = new HashMap<>();
+        Map<PreparedDocument, Document> accepted = new LinkedHashMap<>();
+        List<Document> newDocuments = new ArrayList<>();
+        for (PreparedDocument document : prepared) {
+            Document existing = existingByFileName.get(document.fileName);
+            if (existing != null && !existing.getUploader().getUserId().equals(user.getUserId())) {
+                // 타인의 문서는 해당 문서만 거절 (나머지 문서는 계속 반영)
+                results.put(document.index, BatchDocumentResult.rejected(document.fileName,
+                        "타인의 문서를 수정할 수 없습니다. (원본 업로더: " + existing.getUploader().getEmail() + ")"));
+                continue;
+            }
+            if (existing != null) {
+                if (document.encryptedDEK != null) {
+                    existing.setEncryptedDEK(document.encryptedDEK);
+                }
+                accepted.put(document, existing);
+            } else {
+                Document created = Document.builder()
+                        .documentId(UUID.randomUUID().toString())
+                        .team(team)
+                        .uploader(user)
+                        .originalFileName(document.fileName)
+                        .fileType("application/octet-stream") // 기본값
+                        .encryptedDEK(document.encryptedDEK)
+                        .build();
+                newDocuments.add(created);
+                accepted.put(document, created);
+            }
+        }
+        documentRepository.saveAll(newDocuments);
+        Set<String> createdDocumentIds = newDocuments.stream().map(Document::getDocumentId).collect(Collectors.toSet());
+
+        // 모든 문서의 청크를 한 번에 UPSERT
+        Map<String, List<ChunkPayload>> chunksByDocument = new LinkedHashMap<>();
+        accepted.forEach((document, entity) -> chunksByDocument.put(entity.getDocumentId(), document.chunks));
+        Map<String, List<ChunkReceipt>> changedByDocument =
+                vectorChunkRepository.upsertDocumentsChunks(teamId, user.getUserId(), chunksByDocument);
+        vectorChunkRepository.assignPendingChangeSeqs();
+
+        accepted.forEach((document, entity) -> {
+            List<ChunkReceipt> receipts = changedByDocument.getOrDefault(entity.getDocumentId(), List.of());
+            results.put(document.index, BatchDocumentResult.builder()
+                    .fileName(document.fileName)
+                    .documentId(entity.getDocumentId())
+                    .status(createdDocumentIds.contains(entity.getDocumentId())
+                            ? BatchDocumentResult.Status.CREATED
+                            : BatchDocumentResult.Status.UPDATED)
+                    .changedIndexes(receipts.stream().map(ChunkReceipt::getChunkIndex).collect(Collectors.toList()))
+                    .unchangedCount(document.chunks.size() - receipts.size())
+                    .receipts(receipts)
+                    .build());
+        });
+        return results;
+    }
+
+    private static class PreparedDocument {
+        private final int index; // 요청 내 위치 (응답 순서 유지)
+        private final String fileName;
+        private final byte[] encryptedDEK;
+        private final List<ChunkPayload> chunks;
+
+        PreparedDocument(int index, String fileName, byte[] encryptedDEK, List<ChunkPayload> chunks) {
+            this.index = index;
+            this.fileName = fileName;
+            this.encryptedDEK = encryptedDEK;
+            this.chunks = chunks;
+        }
+    }
+
+    /**
+     * A-3. 비동기 업로드 사전 검증 (ChunkIngestService 큐 적재 전)
+     * - Rate Limit 기록, 멤버십/ADMIN 차단, 기존 문서 업로더 검증
+     * - Document 생성 및 청크 반영은 writer가 ingestChunkStream으로 수행
+     */
+    @Transactional(readOnly = true)
+    public void authorizeUpload(String teamId, String fileName, String userId) {
+        checkUploadPermission(teamId, fileName, userId, true);
+    }
+
+    /**
+     * A-4. 비동기 업로드 반영 (ChunkIngestService writer 전용)
+     * - 큐 대기 중 권한이 회수되었을 수 있으므로 멤버십은 다시 확인 (Rate Limit은 재기록하지 않음)
+     * - writer의 그룹 트랜잭션에 참여 (여러 업로드를 한 번에 커밋)
+     * - 팀 변경 시퀀스는 할당하지 않음 → 호출자가 그룹의 마지막에 assignPendingChangeSeqs 호출
+     */
+    @Transactional(rollbackFor = IOException.class)
+    public ChunkUploadResponse ingestChunkStream(String teamId, String fileName, String userId,
+                                                 ChunkStreamSource source) throws IOException {
+        UploadPermission permission = checkUploadPermission(teamId, fileName, userId, false);
+        Document document = resolveUploadDocument(permission, fileName, null);
+        return writeChunkStream(document, teamId, userId, source);
+    }
+
+    private ChunkUploadResponse writeChunkStream(Document document, String teamId, String userId,
+                                                 ChunkStreamSource source) throws IOException {
+        StreamingChunkWriter writer = new StreamingChunkWriter(document.getDocumentId(), teamId, userId);
+        source.readTo(writer);
+        writer.finish();
+
+        return ChunkUploadResponse.of(document.getDocumentId(), writer.receipts, writer.receivedCount);
+    }
+
+    /**
+     * [Helper] 업로드 권한 검증 및 대상 Document 조회/생성 (Rate Limit은 호출 전에 기록)
+     */
+    private Document resolveUploadDocument(String teamId, String fileName, String userId, byte[] encryptedDEK) {
+        UploadPermission permission = checkUploadPermission(teamId, fileName, userId, false);
+        return resolveUploadDocument(permission, fileName, encryptedDEK);
+    }
+
+    private Document resolveUploadDocument(UploadPermission permission, String fileName, byte[] encryptedDEK) {
+        // 3. Document 찾거나 생성
+        if (permission.existingDocument != null) {
+            Document document = permission.existingDocument;
+            // 3-1-1. Envelope Encryption: encryptedDEK 업데이트 (키 로테이션 시)
+            if (encryptedDEK != null) {
+                document.setEncryptedDEK(encryptedDEK);
+            }
+            return document;
+        }
+
+        // 3-2. 새 문서 생성
+        Document document = Document.builder()
+                .documentId(UUID.randomUUID().toString())
+                .team(permission.team)
+                .uploader(permission.user)
+                .originalFileName(fileName)
+                .fileType("application/octet-stream") // 기본값
+                .encryptedDEK(encryptedDEK) // 3-2-1. Envelope Encryption: encryptedDEK 저장
+                .build();
+
+        return documentRepository.save(document);
+    }
+
+    /**
+     * [Helper] 업로드 권한 검증 (Team/User/멤버십/기존 문서 업로더)
+     *
+     * @param recordUpload true면 Rate Limit 체크 및 기록
      */
-    @Transactional
-    public void uploadChunks(String teamId, String fileName, String userId, ChunkUploadRequest request) {
+    private UploadPermission checkUploadPermission(String teamId, String fileName, String userId,
+                                                   boolean recordUpload) {
         // 1. Team 조회
         Team team = teamRepository.findByTeamId(teamId)
                 .orElseThrow(() -> new IllegalArgumentException("팀을 찾을 수 없습니다."));
@@ -40,9 +451,29 @@ public class ChunkService {
                 .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다."));
 
         // 1-1. Rate Limit 체크 (악의적인 대량 업로드 방지)
-        rateLimitService.checkAndRecordUpload(userId);
+        if (recordUpload) {
+            rateLimitService.checkAndRecordUpload(userId);
+        }
+
+        // 2. 멤버십 및 권한 체크
+        checkUploaderRole(team, user);
+
+        // 3-1. 기존 문서가 있으면 uploader 검증 (타인의 문서 수정 방지)
+        Document existingDoc = documentRepository.findByTeamAndOriginalFileName(team, fileName).orElse(null);
+        if (existingDoc != null && !existingDoc.getUploader().getUserId().equals(user.getUserId())) {
+            throw new SecurityException(
+                String.format("타인의 문서를 수정할 수 없습니다. (원본 업로더: %s, 현재 사용자: %s)",
+                        existingDoc.getUploader().getEmail(), user.getEmail())
+            );
+        }
 
-        // 2. 멤버십 및 권한 체크 (Federated Model: MEMBER 전용, ADMIN은 Key Master 역할만)
+        return new UploadPermission(team, user, existingDoc);
+    }
+
+    /**
+     * [Helper] 멤버십 및 권한 체크 (Federated Model: MEMBER 전용, ADMIN은 Key Master 역할만)
+     */
+    private void checkUploaderRole(Team team, User user) {
         RepositoryMember member = memberRepository.findByTeamAndUser(team, user)
                 .orElseThrow(() -> new SecurityException("저장소 멤버가 아닙니다."));
 
@@ -50,67 +481,78 @@ public class ChunkService {
         if (member.getRole() == Role.ADMIN) {
             throw new SecurityException("ADMIN은 데이터 업로드가 불가능합니다. MEMBER만 업로드할 수 있습니다.");
         }
+    }
 
-        // 3. Document 찾거나 생성
-        Optional<Document> existingDoc = documentRepository.findByTeamAndOriginalFileName(team, fileName);
-        Document document;
-
-        if (existingDoc.isPresent()) {
-            document = existingDoc.get();
-            // 3-1. 기존 문서가 있으면 uploader 검증 (타인의 문서 수정 방지)
-            if (!document.getUploader().getUserId().equals(user.getUserId())) {
-                throw new SecurityException(
-                    String.format("타인의 문서를 수정할 수 없습니다. (원본 업로더: %s, 현재 사용자: %s)",
-                            document.getUploader().getEmail(), user.getEmail())
-                );
-            }
-            // 3-1-1. Envelope Encryption: encryptedDEK 업데이트 (키 로테이션 시)
-            if (request.getEncryptedDEK() != null) {
-                document.setEncryptedDEK(Base64.getDecoder().decode(request.getEncryptedDEK()));
-            }
-        } else {
-            // 3-2. 새 문서 생성
-            Document.DocumentBuilder builder = Document.builder()
-                    .documentId(UUID.randomUUID().toString())
-                    .team(team)
-                    .uploader(user)
-                    .originalFileName(fileName)
-                    .fileType("application/octet-stream"); // 기본값
-
-            // 3-2-1. Envelope Encryption: encryptedDEK 저장
-            if (request.getEncryptedDEK() != null) {
-                builder.encryptedDEK(Base64.getDecoder().decode(request.getEncryptedDEK()));
-            }
+    private static class UploadPermission {
+        private final Team team;
+        private final User user;
+        private final Document existingDocument;
 
-            document = builder.build();
-            document = documentRepository.save(document);
+        UploadPermission(Team team, User user, Document existingDocument) {
+            this.team = team;
+            this.user = user;
+            this.existingDocument = existingDocument;
         }
+    }
 
-        // 4. 각 청크 처리 (UPDATE or INSERT)
-        for (ChunkUploadItem item : request.getChunks()) {
-            byte[] blobData = Base64.getDecoder().decode(item.getEncryptedBlob());
+    /**
+     * 스트리밍 업로드용 Sink
+     * - 일정 개수/바이트마다 upsertChunks로 내보내고 버퍼를 비움 (팀 변경 시퀀스는 트랜잭션 끝에서 한 번에 할당)
+     * - upsertChunks가 영속성 컨텍스트를 비우므로 DEK는 마지막에 Document를 다시 조회해 반영
+     */
+    private class StreamingChunkWriter implements ChunkStreamSink {
 
-            Optional<VectorChunk> existingChunk = vectorChunkRepository
-                    .findByDocumentIdAndChunkIndex(document.getDocumentId(), item.getChunkIndex());
+        private final String documentId;
+        private final String teamId;
+        private final Map<Integer, byte[]> buffer = new LinkedHashMap<>();
+        private final String userId;
+        private final List<ChunkReceipt> receipts = new ArrayList<>();
+        private long bufferedBytes = 0;
+        private int receivedCount = 0;
+        private byte[] pendingDEK;
 
-            if (existingChunk.isPresent()) {
-                // UPDATE: 기존 청크 내용 갱신 (version 자동 증가)
-                VectorChunk chunk = existingChunk.get();
-                chunk.updateContent(blobData);
-                chunk.setDeleted(false); // 재업로드 시 삭제 플래그 해제
-            } else {
-                // INSERT: 새 청크 생성 (version = 0)
-                VectorChunk newChunk = VectorChunk.builder()
-                        .chunkId(UUID.randomUUID().toString())
-                        .documentId(document.getDocumentId())
-                        .teamId(team.getTeamId())
-                        .chunkIndex(item.getChunkIndex())
-                        .encryptedBlob(blobData)
-                        .isDeleted(false)
-                        .build();
-                vectorChunkRepository.save(newChunk);
+        StreamingChunkWriter(String documentId, String teamId, String userId) {
+            this.documentId = documentId;
+            this.teamId = teamId;
+            this.userId = userId;
+        }
+
+        @Override
+        public void encryptedDEK(byte[] encryptedDEK) {
+            this.pendingDEK = encryptedDEK;
+        }
+
+        @Override
+        public void chunk(int chunkIndex, byte[] encryptedBlob) {
+            byte[] previous = buffer.put(chunkIndex, encryptedBlob);
+            if (previous == null) {
+                receivedCount++;
+            }
+            bufferedBytes += encryptedBlob.length - (previous != null ? previous.length : 0);
+            if (buffer.size() >= streamFlushChunks || bufferedBytes >= streamFlushBytes) {
+                flush();
             }
         }
+
+        void finish() {
+            flush();
+            if (pendingDEK != null) {
+                documentRepository.findByDocumentId(documentId)
+                        .orElseThrow(() -> new IllegalArgumentException("문서를 찾을 수 없습니다."))
+                        .setEncryptedDEK(pendingDEK);
+            }
+        }
+
+        private void flush() {
+            if (buffer.isEmpty()) {
+                return;
+            }
+            // 버퍼 단위 해시 계산은 병렬로 (본문 수신 자체는 순차)
+            receipts.addAll(vectorChunkRepository.upsertPreparedChunks(documentId, teamId, userId,
+                    chunkPayloadPreparer.hashChunks(buffer)));
+            buffer.clear();
+            bufferedBytes = 0;
+        }
     }
 
     /**
@@ -118,8 +560,15 @@ public class ChunkService {
      * - 권한: ADMIN 전용 (Physical AI 환경: 엣지 디바이스는 삭제 권한 없음)
      * - fileName으로 Document 조회
      */
-    @Transactional
     public void deleteChunk(String teamId, String fileName, int chunkIndex, String userId) {
+        // 같은 문서의 업로드와 직렬화, 업로드와 충돌하면 새 트랜잭션으로 재시도
+        documentWriteCoordinator.write(teamId, fileName, () -> transactionTemplate.execute(status -> {
+            markChunkDeleted(teamId, fileName, chunkIndex, userId);
+            return null;
+        }));
+    }
+
+    private void markChunkDeleted(String teamId, String fileName, int chunkIndex, String userId) {
         // 1. Team 조회
         Team team = teamRepository.findByTeamId(teamId)
                 .orElseThrow(() -> new IllegalArgumentException("팀을 찾을 수 없습니다."));
@@ -144,7 +593,10 @@ public class ChunkService {
                 .findByDocumentIdAndChunkIndex(document.getDocumentId(), chunkIndex)
                 .orElseThrow(() -> new IllegalArgumentException("청크를 찾을 수 없습니다."));
 
-        chunk.markAsDeleted();
+        chunk.markAsDeleted(userId);
+        // 삭제 표시를 먼저 내보낸 뒤 팀 행을 잠그도록 마지막 문장에서 할당 (upsert와 같은 잠금 순서)
+        vectorChunkRepository.deferChangeSeq(teamId, List.of(chunk.getChunkId()));
+        vectorChunkRepository.assignPendingChangeSeqs();
     }
 
     /**
@@ -154,6 +606,194 @@ public class ChunkService {
      */
     @Transactional(readOnly = true)
     public List<ChunkSyncResponse> syncTeamChunks(String teamId, int lastVersion, String userId) {
+        return syncTeamChunks(teamId, lastVersion, userId, false);
+    }
+
+    /**
+     * E-1. 팀별 증분 동기화 (excludeSelf = true면 요청자가 기록한 변경 제외)
+     * - 업로드 영수증(chunkId, version)으로 이미 로컬 상태를 갱신한 로봇이 자신의 암호문을 다시 내려받지 않도록
+     */
+    @Transactional(readOnly = true)
+    public List<ChunkSyncResponse> syncTeamChunks(String teamId, int lastVersion, String userId, boolean excludeSelf) {
+        checkSyncPermission(teamId, userId);
+
+        // 팀의 모든 문서에서 변경된 청크 조회
+        List<VectorChunk> chunks = excludeSelf
+                ? vectorChunkRepository.findTeamChangesExcludingWriter(teamId, lastVersion, userId)
+                : vectorChunkRepository.findByTeamIdAndVersionGreaterThanOrderByVersionAsc(teamId, lastVersion);
+
+        return toSyncResponses(chunks);
+    }
+
+    /**
+     * E-2. 팀별 증분 동기화 (팀 변경 시퀀스 기준, keyset 페이지)
+     * - change_seq > afterSeq인 청크를 (team_id, change_seq) 인덱스에서 limit + 1개만 읽음 (OFFSET 없음)
+     * - 바이트 예산(maxBytes)은 blob_size로 먼저 계산하고, 페이지에 들어갈 청크의 blob만 로드
+     *   (예산보다 큰 청크도 페이지의 첫 청크면 포함해 항상 진행)
+     * - limit/maxBytes는 서버 상한으로 제한 → 팀 크기와 무관하게 요청당 메모리 일정
+     * - 마지막 페이지의 커서는 팀 시퀀스(highWaterMark)를 가리킴 → 다음 증분 동기화에 그대로 사용
+     *   팀 조회와 청크 조회가 같은 읽기 트랜잭션(REPEATABLE READ 스냅샷)이므로 그 이하의 변경은 모두 전달됨
+     * - afterSeq가 tombstone 정리 구간(purged_seq) 이전이면 SyncCursorExpiredException (410)
+     */
+    @Transactional(readOnly = true)
+    public ChunkSyncPage<ChunkSyncResponse> syncTeamChanges(String teamId, long afterSeq, Integer limit, Long maxBytes,
+                                                            String userId, boolean excludeSelf) {
+        Team team = checkSyncPermission(teamId, userId);
+        checkSyncPosition(team, afterSeq);
+        long teamSeq = team.getChangeSeq();
+        int pageSize = pageSize(limit);
+        long byteBudget = maxBytes == null ? syncMaxPageBytes : Math.max(1, Math.min(maxBytes, syncMaxPageBytes));
+
+        // 1. 후보 메타데이터 조회 (pageSize + 1개로 다음 페이지 존재 여부 판단)
+        List<ChunkSyncCandidate> candidates = findSyncCandidates(teamId, afterSeq, pageSize + 1, userId, excludeSelf);
+
+        // 2. 건수/바이트 예산 안에서 페이지 확정
+        List<String> pageChunkIds = new ArrayList<>();
+        long pageBytes = 0;
+        long lastSeq = afterSeq;
+        for (ChunkSyncCandidate candidate : candidates) {
+            long size = candidate.getBlobSize() != null ? candidate.getBlobSize() : 0;
+            if (pageChunkIds.size() == pageSize || (!pageChunkIds.isEmpty() && pageBytes + size > byteBudget)) {
+                break;
+            }
+            pageChunkIds.add(candidate.getChunkId());
+            pageBytes += size;
+            lastSeq = candidate.getChangeSeq();
+        }
+        boolean hasMore = pageChunkIds.size() < candidates.size();
+        long nextSeq = hasMore ? lastSeq : Math.max(teamSeq, lastSeq);
+
+        // 3. 페이지에 포함된 청크만 로드 (change_seq 순서 유지)
+        Map<String, VectorChunk> loaded = vectorChunkRepository.findAllById(pageChunkIds).stream()
+                .collect(Collectors.toMap(VectorChunk::getChunkId, chunk -> chunk));
+        List<VectorChunk> chunks = pageChunkIds.stream()
+                .map(loaded::get)
+                .collect(Collectors.toList());
+
+        return new ChunkSyncPage<>(toSyncResponses(chunks), SyncCursor.encode(nextSeq), hasMore, nextSeq);
+    }
+
+    /**
+     * E-3. 팀별 증분 동기화 - 메타데이터 전용 (blob 없음)
+     * - (documentId, chunkId, chunkIndex, version, isDeleted, digest, size)만 반환, blob은 로드하지 않음
+     * - 로컬 캐시가 있는 로봇은 digest가 다른 청크만 fetchChunkBlobs로 요청
+     * - 페이지/커서 규칙은 E-2와 동일 (바이트 예산 없음)
+     */
+    @Transactional(readOnly = true)
+    public ChunkSyncPage<ChunkMetadataResponse> syncTeamMetadata(String teamId, long afterSeq, Integer limit,
+                                                                 String userId, boolean excludeSelf) {
+        Team team = checkSyncPermission(teamId, userId);
+        checkSyncPosition(team, afterSeq);
+        int pageSize = pageSize(limit);
+
+        List<ChunkSyncCandidate> candidates = findSyncCandidates(teamId, afterSeq, pageSize + 1, userId, excludeSelf);
+        boolean hasMore = candidates.size() > pageSize;
+        List<ChunkSyncCandidate> page = hasMore ? candidates.subList(0, pageSize) : candidates;
+        long lastSeq = page.isEmpty() ? afterSeq : page.get(page.size() - 1).getChangeSeq();
+        long nextSeq = hasMore ? lastSeq : Math.max(team.getChangeSeq(), lastSeq);
+
+        List<ChunkMetadataResponse> chunks = page.stream()
+                .map(candidate -> ChunkMetadataResponse.builder()
+                        .documentId(candidate.getDocumentId())
+                        .chunkId(candidate.getChunkId())
+                        .chunkIndex(candidate.getChunkIndex())
+                        .version(candidate.getVersion())
+                        .changeSeq(candidate.getChangeSeq())
+                        .isDeleted(candidate.getDeleted())
+                        .digest(candidate.getDeleted() ? null : candidate.getContentHash())
+                        .size(candidate.getBlobSize() != null ? candidate.getBlobSize() : 0)
+                        .build())
+                .collect(Collectors.toList());
+
+        return new ChunkSyncPage<>(chunks, SyncCursor.encode(nextSeq), hasMore, nextSeq);
+    }
+
+    /**
+     * E-4. 선택한 청크의 blob 일괄 조회
+     * - 메타데이터 동기화 후 로컬에 없는(또는 digest가 다른) 청크만 요청
+     * - 다른 팀의 청크와 tombstone은 응답에서 제외 (요청 순서 유지)
+     */
+    @Transactional(readOnly = true)
+    public List<ChunkSyncResponse> fetchChunkBlobs(String teamId, List<String> chunkIds, String userId) {
+        checkSyncPermission(teamId, userId);
+        if (chunkIds == null || chunkIds.isEmpty()) {
+            return List.of();
+        }
+        if (chunkIds.size() > blobFetchMaxChunks) {
+            throw new IllegalArgumentException(
+                    "한 번에 조회할 수 있는 청크 수를 초과했습니다. (최대 " + blobFetchMaxChunks + "개)");
+        }
+
+        Map<String, VectorChunk> found = vectorChunkRepository
+                .findByTeamIdAndChunkIdInAndIsDeletedFalse(teamId, Set.copyOf(chunkIds))
+                .stream()
+                .collect(Collectors.toMap(VectorChunk::getChunkId, chunk -> chunk));
+        List<VectorChunk> chunks = chunkIds.stream()
+                .distinct()
+                .map(found::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+
+        return toSyncResponses(chunks);
+    }
+
+    /**
+     * E-5. 동기화 권한 검증 + 현재 팀 변경 시퀀스 조회 (스트리밍 시작, 변경 알림 구독 시)
+     * - 응답 본문을 쓰기 전에 호출 (권한 오류는 일반 오류 응답으로 반환)
+     *
+     * @return 현재 팀 변경 시퀀스 (스트림은 이 값 이하의 변경만 전달, 다음 요청의 since)
+     */
+    @Transactional(readOnly = true)
+    public long getSyncHighWaterMark(String teamId, String userId) {
+        return checkSyncPermission(teamId, userId).getChangeSeq();
+    }
+
+    /**
+     * E-5-1. 스트리밍 시작 시 권한 검증 + 동기화 위치 확인 + 현재 팀 변경 시퀀스 조회
+     * - afterSeq가 tombstone 정리 구간(purged_seq) 이전이면 SyncCursorExpiredException (410)
+     */
+    @Transactional(readOnly = true)
+    public long getSyncHighWaterMark(String teamId, long afterSeq, String userId) {
+        Team team = checkSyncPermission(teamId, userId);
+        checkSyncPosition(team, afterSeq);
+        return team.getChangeSeq();
+    }
+
+    /**
+     * E-6. 팀별 증분 동기화 스트리밍 (afterSeq < change_seq <= upToSeq)
+     * - forward-only 결과 집합을 fetchSize만큼씩 읽고 한 행씩 바로 sink에 기록
+     *   (List<VectorChunk> → List<ChunkSyncResponse> → JSON 버퍼로 이어지는 사본 없음)
+     * - 엔티티/영속성 컨텍스트를 거치지 않으므로 delta 크기와 무관하게 힙 사용량 일정
+     * - upToSeq 이하의 쓰기는 이미 모두 커밋됨 (쓰기는 시퀀스 순서대로 커밋) → 트랜잭션 스냅샷 불필요
+     */
+    public void streamTeamChanges(String teamId, long afterSeq, long upToSeq, String userId, boolean excludeSelf,
+                                  ChunkSyncSink sink) throws IOException {
+        vectorChunkRepository.streamTeamChanges(
+                teamId, afterSeq, upToSeq, excludeSelf ? userId : null, syncStreamFetchSize, sink);
+    }
+
+    /**
+     * [Helper] 동기화 페이지 크기 (미지정 시 기본값, 서버 상한으로 제한)
+     */
+    private int pageSize(Integer limit) {
+        return limit == null ? syncDefaultPageSize : Math.max(1, Math.min(limit, syncMaxPageSize));
+    }
+
+    /**
+     * [Helper] 동기화 후보 메타데이터 조회 ((team_id, change_seq) 인덱스에서 count개만, blob 미조회)
+     */
+    private List<ChunkSyncCandidate> findSyncCandidates(String teamId, long afterSeq, int count,
+                                                        String userId, boolean excludeSelf) {
+        Pageable window = PageRequest.of(0, count);
+        return excludeSelf
+                ? vectorChunkRepository.findSyncCandidatesExcludingWriter(teamId, afterSeq, userId, window)
+                : vectorChunkRepository.findSyncCandidates(teamId, afterSeq, window);
+    }
+
+    /**
+     * [Helper] 동기화 권한 검증 (Federated Model: MEMBER 전용)
+     */
+    private Team checkSyncPermission(String teamId, String userId) {
         // 1. Team 조회
         Team team = teamRepository.findByTeamId(teamId)
                 .orElseThrow(() -> new IllegalArgumentException("팀을 찾을 수 없습니다."));
@@ -172,12 +812,27 @@ public class ChunkService {
                 "ADMIN은 메타데이터 조회(GET /api/teams/{teamId}/documents)만 가능합니다."
             );
         }
+        return team;
+    }
 
-        // 3. 팀의 모든 문서에서 변경된 청크 조회
-        List<VectorChunk> chunks = vectorChunkRepository
-                .findByTeamIdAndVersionGreaterThanOrderByVersionAsc(teamId, lastVersion);
+    /**
+     * [Helper] 동기화 위치 확인
+     * - purged_seq 이하의 tombstone은 하드 삭제되었으므로 그 이전 위치에서 이어받으면 삭제를 놓침
+     * - afterSeq = 0(처음부터 동기화)은 로컬 상태가 없으므로 삭제를 몰라도 됨
+     */
+    private void checkSyncPosition(Team team, long afterSeq) {
+        if (afterSeq > 0 && afterSeq < team.getPurgedSeq()) {
+            throw new SyncCursorExpiredException(
+                    "동기화 위치가 삭제 정리 구간보다 오래되었습니다. 로컬 데이터를 비우고 since=0부터 다시 동기화하세요.",
+                    team.getPurgedSeq());
+        }
+    }
 
-        // 4. Document 정보 조회 (N+1 방지: IN 쿼리 사용)
+    /**
+     * [Helper] 청크 → 동기화 응답 (업로더 정보 포함)
+     */
+    private List<ChunkSyncResponse> toSyncResponses(List<VectorChunk> chunks) {
+        // Document 정보 조회 (N+1 방지: IN 쿼리 사용)
         List<String> documentIds = chunks.stream()
                 .map(VectorChunk::getDocumentId)
                 .distinct()
@@ -192,11 +847,13 @@ public class ChunkService {
                         doc -> doc.getUploader().getEmail()
                 ));
 
-        // 5. ChunkSyncResponse 생성 (createdBy 포함)
+        // ChunkSyncResponse 생성 (createdBy 포함)
         return chunks.stream()
                 .map(chunk -> {
                     String createdBy = documentUploaderMap.getOrDefault(chunk.getDocumentId(), "unknown");
-                    return ChunkSyncResponse.from(chunk, createdBy);
+                    // tombstone은 blob을 싣지 않음 (BlobStore 조회도 생략)
+                    byte[] blob = chunk.isDeleted() ? null : blobStore.load(chunk.getBlobRef());
+                    return ChunkSyncResponse.from(chunk, blob, createdBy);
                 })
                 .collect(Collectors.toList());
     }
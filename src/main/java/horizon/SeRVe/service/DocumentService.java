@@ -7,9 +7,10 @@ import lombok.RequiredArgsConstructor;
 import horizon.SeRVe.entity.VectorChunk;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.util.Base64;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -25,14 +26,23 @@ public class DocumentService {
     private final MemberRepository memberRepository;
     private final EdgeNodeRepository edgeNodeRepository;
     private final VectorChunkRepository vectorChunkRepository;
+    private final ChunkPayloadPreparer chunkPayloadPreparer;
+    private final DocumentWriteCoordinator documentWriteCoordinator;
+    private final TransactionTemplate transactionTemplate;
 
     /**
      * [Modified] 기존 uploadDocument 메서드를 수정
      * - 파라미터 변경: 개별 인자 -> DTO (UploadDocumentRequest)
      * - 로직 변경: 단일 저장 -> Document(메타) + EncryptedData(바이너리) 분리 저장
      */
-    @Transactional
     public void uploadDocument(String teamId, String userId, UploadDocumentRequest req) {
+        // 0. 암호화 데이터(Blob) 디코딩/길이 검증은 트랜잭션 밖에서 수행 (DB 커넥션 점유 시간 단축)
+        byte[] blobData = chunkPayloadPreparer.decode(req.getEncryptedBlob(), "encryptedBlob");
+
+        transactionTemplate.executeWithoutResult(status -> saveDocument(teamId, userId, req, blobData));
+    }
+
+    private void saveDocument(String teamId, String userId, UploadDocumentRequest req, byte[] blobData) {
         // 1. 저장소 및 유저 조회
         // 기존: findByRepoId → findByTeamId
         Team team = teamRepository.findByTeamId(teamId)
@@ -50,11 +60,7 @@ public class DocumentService {
             throw new SecurityException("ADMIN은 데이터 업로드가 불가능합니다. MEMBER만 업로드할 수 있습니다.");
         }
 
-
-        // 3. 암호화 데이터(Blob) 변환 및 생성
-        byte[] blobData = Base64.getDecoder().decode(req.getEncryptedBlob());
-
-        // 같은 이름의 파일이 있는지 확인
+        // 3. 같은 이름의 파일이 있는지 확인
         Optional<Document> existingDoc = documentRepository.findByTeamAndOriginalFileName(team, req.getFileName());
 
         if (existingDoc.isPresent()) {
@@ -83,11 +89,32 @@ public class DocumentService {
             document.setEncryptedData(encryptedData);
             documentRepository.save(document);
         }
+
+        // 문서 변경도 팀 변경 시퀀스를 진행시켜 변경 알림 구독자에게 전달
+        // (문서 변경을 먼저 내보낸 뒤 팀 행을 잠그도록 마지막 문장에서 할당)
+        vectorChunkRepository.deferChangeSeq(teamId, List.of());
+        vectorChunkRepository.assignPendingChangeSeqs();
     }
 
     // 문서 목록 조회
     @Transactional(readOnly = true)
     public List<DocumentResponse> getDocuments(String teamId, String userId) {
+        Team team = checkReadPermission(teamId, userId);
+
+        // 기존: findAllByTeamRepository → findAllByTeam
+        return documentRepository.findAllByTeam(team).stream()
+                .map(DocumentResponse::from)
+                .collect(Collectors.toList());
+    }
+
+    // 문서 목록 ETag 비교용 현재 팀 변경 시퀀스 (권한 검증만, 문서 조회 없음)
+    @Transactional(readOnly = true)
+    public long getTeamChangeSeq(String teamId, String userId) {
+        return checkReadPermission(teamId, userId).getChangeSeq();
+    }
+
+    // 문서 목록 조회 권한 검증 (ADMIN과 MEMBER 모두 조회 가능)
+    private Team checkReadPermission(String teamId, String userId) {
         // 기존: findByRepoId → findByTeamId
         Team team = teamRepository.findByTeamId(teamId)
                 .orElseThrow(() -> new IllegalArgumentException("저장소를 찾을 수 없습니다."));
@@ -95,15 +122,10 @@ public class DocumentService {
         User requester = userRepository.findById(userId)
                 .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다."));
 
-        // 멤버십 검증 (ADMIN과 MEMBER 모두 조회 가능)
         if (!memberRepository.existsByTeamAndUser(team, requester)) {
             throw new SecurityException("저장소 멤버가 아닙니다.");
         }
-
-        // 기존: findAllByTeamRepository → findAllByTeam
-        return documentRepository.findAllByTeam(team).stream()
-                .map(DocumentResponse::from)
-                .collect(Collectors.toList());
+        return team;
     }
 
     // [DEPRECATED] 다운로드 기능 제거 - Federated Model에서는 동기화만 사용
@@ -148,10 +170,20 @@ public class DocumentService {
     */
 
     // 문서 삭제 (ADMIN 전용)
-    @Transactional
     public void deleteDocument(String docId, String userId) {
-        Document document = documentRepository.findByDocumentId(docId)
-                .orElseThrow(() -> new IllegalArgumentException("문서를 찾을 수 없습니다."));
+        // 잠금 키(teamId, fileName) 조회 → 같은 문서의 청크 업로드/삭제와 직렬화, 충돌하면 새 트랜잭션으로 재시도
+        String lockKey = transactionTemplate.execute(status -> {
+            Document document = findDocument(docId);
+            return DocumentWriteCoordinator.lockKey(document.getTeam().getTeamId(), document.getOriginalFileName());
+        });
+        documentWriteCoordinator.writeAll(List.of(lockKey), () -> transactionTemplate.execute(status -> {
+            removeDocument(docId, userId);
+            return null;
+        }));
+    }
+
+    private void removeDocument(String docId, String userId) {
+        Document document = findDocument(docId);
 
         User requester = userRepository.findById(userId)
                 .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다."));
@@ -166,9 +198,20 @@ public class DocumentService {
 
         // 연관된 청크도 논리적 삭제 처리
         List<VectorChunk> chunks = vectorChunkRepository.findByDocumentId(docId);
-        chunks.forEach(chunk -> chunk.markAsDeleted());
-
+        chunks.forEach(chunk -> chunk.markAsDeleted(userId));
         documentRepository.delete(document);
+
+        // 삭제도 변경이므로 팀 변경 시퀀스를 새로 할당 (동기화 클라이언트에 전파)
+        // 청크가 없는 문서도 목록이 바뀌므로 최소 1개 할당 (문서 목록 ETag 갱신)
+        // 청크/문서 변경을 먼저 내보낸 뒤 팀 행을 잠그도록 마지막 문장에서 할당 (upsert와 같은 잠금 순서)
+        vectorChunkRepository.deferChangeSeq(document.getTeam().getTeamId(),
+                chunks.stream().map(VectorChunk::getChunkId).collect(Collectors.toList()));
+        vectorChunkRepository.assignPendingChangeSeqs();
+    }
+
+    private Document findDocument(String docId) {
+        return documentRepository.findByDocumentId(docId)
+                .orElseThrow(() -> new IllegalArgumentException("문서를 찾을 수 없습니다."));
     }
 
     /**
@@ -176,38 +219,57 @@ public class DocumentService {
      * - Envelope Encryption: 청크 데이터는 변경하지 않고 DEK만 새 팀 키로 재암호화
      * - ADMIN 권한 필요
      */
-    @Transactional
     public void reencryptDocumentKeys(String teamId, String userId, ReencryptKeysRequest request) {
-        // 1. Team 조회
-        Team team = teamRepository.findByTeamId(teamId)
-                .orElseThrow(() -> new IllegalArgumentException("팀을 찾을 수 없습니다."));
-
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다."));
-
-        // 2. ADMIN 권한 체크
-        RepositoryMember member = memberRepository.findByTeamAndUser(team, user)
-                .orElseThrow(() -> new SecurityException("저장소 멤버가 아닙니다."));
-
-        if (member.getRole() != Role.ADMIN) {
-            throw new SecurityException("DEK 재암호화는 ADMIN 권한이 필요합니다.");
-        }
-
-        // 3. 각 문서의 DEK 업데이트
-        for (ReencryptKeysRequest.DocumentKeyUpdate update : request.getDocuments()) {
-            Document document = documentRepository.findByDocumentId(update.getDocumentId())
-                    .orElseThrow(() -> new IllegalArgumentException(
-                            "문서를 찾을 수 없습니다: " + update.getDocumentId()));
+        // 0. DEK Base64 디코딩은 트랜잭션 밖에서 일괄 수행 (문서가 많으면 병렬)
+        List<ReencryptKeysRequest.DocumentKeyUpdate> updates = request.getDocuments();
+        List<byte[]> newEncryptedDEKs = chunkPayloadPreparer.decodeAll(
+                updates.stream().map(ReencryptKeysRequest.DocumentKeyUpdate::getNewEncryptedDEK).collect(Collectors.toList()),
+                "newEncryptedDEK");
+
+        transactionTemplate.executeWithoutResult(status -> {
+            // 1. Team 조회
+            Team team = teamRepository.findByTeamId(teamId)
+                    .orElseThrow(() -> new IllegalArgumentException("팀을 찾을 수 없습니다."));
+
+            User user = userRepository.findById(userId)
+                    .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다."));
+
+            // 2. ADMIN 권한 체크
+            RepositoryMember member = memberRepository.findByTeamAndUser(team, user)
+                    .orElseThrow(() -> new SecurityException("저장소 멤버가 아닙니다."));
+
+            if (member.getRole() != Role.ADMIN) {
+                throw new SecurityException("DEK 재암호화는 ADMIN 권한이 필요합니다.");
+            }
 
-            // 팀 소속 검증
-            if (!document.getTeam().getTeamId().equals(teamId)) {
-                throw new SecurityException(
-                        "다른 팀의 문서입니다: " + update.getDocumentId());
+            // 3. 대상 문서 일괄 조회 (N+1 방지: IN 쿼리 사용)
+            Map<String, Document> documentsById = documentRepository.findAllByDocumentIdIn(
+                            updates.stream().map(ReencryptKeysRequest.DocumentKeyUpdate::getDocumentId).collect(Collectors.toList()))
+                    .stream()
+                    .collect(Collectors.toMap(Document::getDocumentId, document -> document));
+
+            // 4. 각 문서의 DEK 업데이트
+            for (int i = 0; i < updates.size(); i++) {
+                String documentId = updates.get(i).getDocumentId();
+                Document document = documentsById.get(documentId);
+                if (document == null) {
+                    throw new IllegalArgumentException("문서를 찾을 수 없습니다: " + documentId);
+                }
+
+                // 팀 소속 검증
+                if (!document.getTeam().getTeamId().equals(teamId)) {
+                    throw new SecurityException(
+                            "다른 팀의 문서입니다: " + documentId);
+                }
+
+                document.setEncryptedDEK(newEncryptedDEKs.get(i));
             }
 
-            // DEK 업데이트 (Base64 디코딩)
-            byte[] newEncryptedDEK = Base64.getDecoder().decode(update.getNewEncryptedDEK());
-            document.setEncryptedDEK(newEncryptedDEK);
-        }
+            // DEK 변경도 팀 변경 시퀀스를 진행시켜 변경 알림 구독자에게 전달 (문서 변경을 내보낸 뒤 마지막 문장에서 할당)
+            if (!updates.isEmpty()) {
+                vectorChunkRepository.deferChangeSeq(teamId, List.of());
+                vectorChunkRepository.assignPendingChangeSeqs();
+            }
+        });
     }
 }
@@ -0,0 +1,140 @@
+package horizon.SeRVe.service;
+
+import com.google.common.util.concurrent.Striped;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Supplier;
+
+/**
+ * 문서 단위 쓰기 직렬화 + 낙관적 락 충돌 자동 재시도
+ *
+ * 같은 문서에 대한 동시 쓰기(같은 업로더의 두 세션, 업로드와 삭제 등)는
+ * VectorChunk @Version 충돌로 배치 전체가 실패하거나, 최초 업로드 시 Document가 중복 생성될 수 있습니다.
+ *
+ * - 잠금 키: (teamId, fileName) — 최초 업로드 시점에는 documentId가 없으므로 문서와 1:1인 키 사용
+ * - Guava Striped<Lock>로 고정 개수의 락만 유지 (문서 수와 무관한 메모리)
+ * - 락은 트랜잭션 바깥에서 잡음 (커밋 완료 후 다음 쓰기가 최신 상태를 읽도록)
+ * - 그래도 남는 충돌(다른 인스턴스, 락 밖의 JPA 갱신)은 새 트랜잭션으로 제한된 횟수만큼 재시도
+ */
+@Slf4j
+@Component
+public class DocumentWriteCoordinator {
+
+    private final Striped<Lock> documentLocks;
+    private final int maxAttempts;
+    private final long backoffMillis;
+
+    private final Counter conflictCounter;
+    private final Counter retryCounter;
+    private final Counter exhaustedCounter;
+    private final Timer lockWaitTimer;
+
+    public DocumentWriteCoordinator(MeterRegistry meterRegistry,
+                                    @Value("${serve.write.lock-stripes:256}") int lockStripes,
+                                    @Value("${serve.write.max-attempts:3}") int maxAttempts,
+                                    @Value("${serve.write.backoff-ms:20}") long backoffMillis) {
+        this.documentLocks = Striped.lock(lockStripes);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.backoffMillis = backoffMillis;
+
+        this.conflictCounter = Counter.builder("serve.document.write.conflicts")
+                .description("문서 쓰기 중 발생한 낙관적 락 충돌 수")
+                .register(meterRegistry);
+        this.retryCounter = Counter.builder("serve.document.write.retries")
+                .description("충돌 후 서버에서 재시도한 횟수")
+                .register(meterRegistry);
+        this.exhaustedCounter = Counter.builder("serve.document.write.exhausted")
+                .description("재시도 횟수를 모두 소진해 클라이언트에 409로 반환된 쓰기 수")
+                .register(meterRegistry);
+        this.lockWaitTimer = Timer.builder("serve.document.write.lock.wait")
+                .description("문서 쓰기 락 대기 시간")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 문서 락을 잡고 쓰기 실행, 충돌 시 재시도
+     *
+     * @param attempt 한 번의 시도 (매 호출마다 새 트랜잭션이어야 함)
+     */
+    public <T> T write(String teamId, String fileName, Supplier<T> attempt) {
+        return writeAll(List.of(lockKey(teamId, fileName)), maxAttempts, attempt);
+    }
+
+    /**
+     * 여러 문서의 락을 한 번에 잡고 실행, 충돌 시 재시도 (다중 문서 업로드용)
+     */
+    public <T> T writeAll(Collection<String> lockKeys, Supplier<T> attempt) {
+        return writeAll(lockKeys, maxAttempts, attempt);
+    }
+
+    /**
+     * 여러 문서의 락을 한 번에 잡고 실행 (attempts = 1이면 재시도 없음, 그룹 커밋용)
+     * - Striped.bulkGet은 항상 같은 순서로 락을 반환하므로 교착 상태가 생기지 않음
+     */
+    public <T> T writeAll(Collection<String> lockKeys, int attempts, Supplier<T> attempt) {
+        List<Lock> acquired = new ArrayList<>();
+        long waitStart = System.nanoTime();
+        try {
+            for (Lock lock : documentLocks.bulkGet(lockKeys)) {
+                lock.lock();
+                acquired.add(lock);
+            }
+            lockWaitTimer.record(System.nanoTime() - waitStart, TimeUnit.NANOSECONDS);
+            return runWithRetry(attempts, attempt);
+        } finally {
+            for (int i = acquired.size() - 1; i >= 0; i--) {
+                acquired.get(i).unlock();
+            }
+        }
+    }
+
+    public static String lockKey(String teamId, String fileName) {
+        return teamId + '\n' + fileName;
+    }
+
+    private <T> T runWithRetry(int attempts, Supplier<T> attempt) {
+        // 호출자가 이미 트랜잭션 안에 있으면 롤백 전용 상태가 되므로 재시도 불가
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            attempts = 1;
+        }
+        for (int tryCount = 1; ; tryCount++) {
+            try {
+                return attempt.get();
+            } catch (OptimisticLockingFailureException e) {
+                conflictCounter.increment();
+                if (tryCount >= attempts) {
+                    exhaustedCounter.increment();
+                    throw e;
+                }
+                retryCounter.increment();
+                log.debug("[DocumentWrite] 충돌 재시도 {}/{} - {}", tryCount, attempts, e.getMessage());
+                sleepBackoff(tryCount);
+            }
+        }
+    }
+
+    // 지수 백오프 + 지터 (같은 문서의 재시도끼리 다시 부딪히지 않도록)
+    private void sleepBackoff(int tryCount) {
+        long base = backoffMillis << Math.min(tryCount - 1, 6);
+        long delay = base + ThreadLocalRandom.current().nextLong(base + 1);
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("쓰기 재시도 대기 중 인터럽트되었습니다.", e);
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package horizon.SeRVe.service;
+
+import horizon.SeRVe.dto.chunk.ChunkPayload;
+import horizon.SeRVe.dto.chunk.ChunkStreamSink;
+import horizon.SeRVe.dto.chunk.ChunkStreamSource;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * 쓰기 트랜잭션 전에 끝까지 수신한 업로드 본문
+ *
+ * 요청 본문을 트랜잭션 안에서 읽으면 느린 클라이언트가 전송을 마칠 때까지
+ * DB 커넥션, 문서 락, 팀 행 잠금을 모두 붙잡게 됩니다.
+ * 본문(JSON 스트리밍 파싱 / 바이너리 프레임)은 이 버퍼에 먼저 받고, 반영은 수신이 끝난 뒤에 시작합니다.
+ *
+ * - spillThreshold 바이트까지는 메모리에 보관 (같은 chunkIndex는 마지막 값, 해시는 호출자가 ChunkPayloadPreparer로 계산)
+ * - 넘으면 받은 청크를 임시 파일로 옮기고 이후 청크도 파일에 기록 → 요청당 힙 사용량 상한
+ *   파일에는 content_hash를 함께 기록 (반영 트랜잭션 안에서는 파일을 읽기만 하고 해시를 계산하지 않음)
+ *   같은 chunkIndex가 여러 번 기록되면 마지막 레코드만 재생 (메모리 경로와 같은 의미, 인덱스별 레코드 번호만 메모리에 유지)
+ * - 여러 번 다시 읽을 수 있으므로 낙관적 락 충돌 시 새 트랜잭션으로 재시도 가능
+ * - close 시 임시 파일 삭제
+ */
+@Slf4j
+final class PreparedChunkUpload implements ChunkStreamSink, Closeable {
+
+    private static final int HASH_LENGTH = 32; // SHA-256
+
+    private final Path spillDir;
+    private final long spillThreshold;
+
+    private final Map<Integer, byte[]> blobsByIndex = new LinkedHashMap<>();
+    private long bufferedBytes = 0;
+    private byte[] encryptedDEK;
+
+    // 임시 파일 레코드: [chunkIndex:int32][length:int32][blob][contentHash:32 bytes]
+    private Path spillFile;
+    private DataOutputStream spillOut;
+    private int spillRecords = 0;
+    private final Map<Integer, Integer> lastSpillRecordByIndex = new HashMap<>();
+
+    private PreparedChunkUpload(Path spillDir, long spillThreshold) {
+        this.spillDir = spillDir;
+        this.spillThreshold = spillThreshold;
+    }
+
+    /**
+     * 본문 끝까지 수신 (형식 오류/연결 종료 시 임시 파일을 지우고 예외 전달)
+     */
+    static PreparedChunkUpload receive(ChunkStreamSource source, Path spillDir, long spillThreshold)
+            throws IOException {
+        PreparedChunkUpload upload = new PreparedChunkUpload(spillDir, spillThreshold);
+        try {
+            source.readTo(upload);
+            upload.finishReceiving();
+            return upload;
+        } catch (UncheckedIOException e) {
+            upload.close();
+            throw e.getCause();
+        } catch (IOException | RuntimeException e) {
+            upload.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public void encryptedDEK(byte[] encryptedDEK) {
+        this.encryptedDEK = encryptedDEK;
+    }
+
+    @Override
+    public void chunk(int chunkIndex, byte[] encryptedBlob) {
+        try {
+            if (spillOut != null) {
+                writeSpillRecord(ChunkPayload.of(chunkIndex, encryptedBlob));
+                return;
+            }
+            byte[] previous = blobsByIndex.put(chunkIndex, encryptedBlob);
+            bufferedBytes += encryptedBlob.length - (previous != null ? previous.length : 0);
+            if (bufferedBytes > spillThreshold) {
+                spill();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // Sink는 IOException을 던질 수 없으므로 receive에서 복원
+        }
+    }
+
+    /**
+     * 임시 파일로 옮겨졌는지 여부 (false면 getBlobsByIndex로 전체 조회 가능)
+     */
+    boolean isSpilled() {
+        return spillFile != null;
+    }
+
+    byte[] getEncryptedDEK() {
+        return encryptedDEK;
+    }
+
+    /**
+     * 메모리에 보관된 청크 (chunkIndex → blob, 임시 파일로 옮겨진 경우 비어 있음)
+     */
+    Map<Integer, byte[]> getBlobsByIndex() {
+        return blobsByIndex;
+    }
+
+    /**
+     * 받은 청크를 해시 계산이 끝난 배치로 재생 (수신 순서)
+     * - 같은 chunkIndex는 마지막 값 하나만 재생 (배치 안/배치 사이 모두 중복 없음)
+     * - 임시 파일은 로컬 디스크에서 읽으므로 네트워크 전송 속도와 무관
+     *
+     * @return 재생한 청크 수 (중복 제외)
+     */
+    int forEachBatch(int maxChunks, long maxBytes, Consumer<List<ChunkPayload>> consumer) throws IOException {
+        List<ChunkPayload> batch = new ArrayList<>();
+        long batchBytes = 0;
+        int count = 0;
+        if (spillFile == null) {
+            for (Map.Entry<Integer, byte[]> entry : blobsByIndex.entrySet()) {
+                batch.add(ChunkPayload.of(entry.getKey(), entry.getValue()));
+                batchBytes += entry.getValue().length;
+                count++;
+                if (batch.size() >= maxChunks || batchBytes >= maxBytes) {
+                    consumer.accept(new ArrayList<>(batch));
+                    batch.clear();
+                    batchBytes = 0;
+                }
+            }
+        } else {
+            try (DataInputStream in = new DataInputStream(
+                    new BufferedInputStream(Files.newInputStream(spillFile), 64 * 1024))) {
+                for (int record = 0; record < spillRecords; record++) {
+                    int chunkIndex = in.readInt();
+                    int length = in.readInt();
+                    if (lastSpillRecordByIndex.get(chunkIndex) != record) {
+                        in.skipNBytes((long) length + HASH_LENGTH); // 뒤에서 다시 기록된 인덱스
+                        continue;
+                    }
+                    ChunkPayload chunk = readSpillPayload(in, chunkIndex, length);
+                    batch.add(chunk);
+                    batchBytes += length;
+                    count++;
+                    if (batch.size() >= maxChunks || batchBytes >= maxBytes) {
+                        consumer.accept(new ArrayList<>(batch));
+                        batch.clear();
+                        batchBytes = 0;
+                    }
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            consumer.accept(new ArrayList<>(batch));
+        }
+        return count;
+    }
+
+    @Override
+    public void close() {
+        if (spillOut != null) {
+            try {
+                spillOut.close();
+            } catch (IOException e) {
+                log.debug("[Upload] 임시 파일 닫기 실패 - {}", spillFile, e);
+            }
+            spillOut = null;
+        }
+        if (spillFile != null) {
+            try {
+                Files.deleteIfExists(spillFile);
+            } catch (IOException e) {
+                log.warn("[Upload] 임시 파일 삭제 실패 - {}", spillFile, e);
+            }
+        }
+    }
+
+    private void spill() throws IOException {
+        Files.createDirectories(spillDir);
+        spillFile = Files.createTempFile(spillDir, "upload-", ".spill");
+        spillOut = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(spillFile), 64 * 1024));
+        for (Map.Entry<Integer, byte[]> entry : blobsByIndex.entrySet()) {
+            writeSpillRecord(ChunkPayload.of(entry.getKey(), entry.getValue()));
+        }
+        blobsByIndex.clear();
+        bufferedBytes = 0;
+    }
+
+    private void writeSpillRecord(ChunkPayload chunk) throws IOException {
+        spillOut.writeInt(chunk.getChunkIndex());
+        spillOut.writeInt(chunk.getEncryptedBlob().length);
+        spillOut.write(chunk.getEncryptedBlob());
+        spillOut.write(chunk.getContentHash());
+        lastSpillRecordByIndex.put(chunk.getChunkIndex(), spillRecords++);
+    }
+
+    private static ChunkPayload readSpillPayload(DataInputStream in, int chunkIndex, int length) throws IOException {
+        byte[] blob = new byte[length];
+        in.readFully(blob);
+        byte[] contentHash = new byte[HASH_LENGTH];
+        in.readFully(contentHash);
+        return new ChunkPayload(chunkIndex, blob, contentHash);
+    }
+
+    private void finishReceiving() throws IOException {
+        if (spillOut != null) {
+            spillOut.close();
+            spillOut = null;
+        }
+    }
+}
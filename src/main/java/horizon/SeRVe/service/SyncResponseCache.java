@@ -0,0 +1,214 @@
+package horizon.SeRVe.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.protobuf.CodedOutputStream;
+import horizon.SeRVe.dto.chunk.ChunkProtobufWriter;
+import horizon.SeRVe.dto.chunk.ChunkSyncPage;
+import horizon.SeRVe.dto.chunk.ChunkSyncResponse;
+import horizon.SeRVe.dto.chunk.ChunkSyncSink;
+import horizon.SeRVe.dto.sync.EncodedSyncResponse;
+import horizon.SeRVe.event.TeamChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * 동기화 응답 캐시 + 동일 요청 병합 (single-flight)
+ *
+ * 정전 복구 직후 같은 팀의 로봇 수백 대가 거의 같은 파라미터로 동시에 동기화를 요청하면
+ * 요청마다 같은 쿼리를 실행하고 같은 blob을 다시 직렬화합니다.
+ * 권한 검증은 요청마다 수행하되, (팀, 팀 변경 시퀀스, 위치, 페이지 크기, 형식)이 같은 요청은
+ * 한 요청만 DB를 읽어 인코딩하고 나머지는 그 결과(바이트)를 공유합니다.
+ *
+ * - teamSeq는 호출자가 ChunkService.getSyncHighWaterMark로 권한 검증과 함께 조회한 값
+ *   (캐시 적중 시에는 추가 권한 검증 없음, ETag 비교에도 같은 값 사용)
+ * - 키에 현재 팀 변경 시퀀스가 포함되므로 팀이 변경되면 이전 응답은 더 이상 조회되지 않음
+ *   (커밋 후 TeamChangedEvent에서 해당 팀 항목을 제거해 메모리도 즉시 반환)
+ * - 캐시 상한은 보관 중인 응답 본문 바이트 합계 (maximumWeight)
+ * - excludeSelf=true 요청은 요청자마다 결과가 달라 캐시하지 않음
+ * - 로드 실패(권한 오류 등)는 캐시되지 않고 대기 중이던 요청에도 같은 예외로 전달
+ */
+@Service
+public class SyncResponseCache {
+
+    public enum Format { JSON, PROTOBUF }
+
+    private final ChunkService chunkService;
+    private final ObjectMapper objectMapper;
+    private final AsyncCache<Key, EncodedSyncResponse> cache;
+    private final Counter collapsedCounter;
+
+    public SyncResponseCache(ChunkService chunkService,
+                             ObjectMapper objectMapper,
+                             MeterRegistry meterRegistry,
+                             @Value("${serve.sync.cache.max-bytes:67108864}") long maxBytes,
+                             @Value("${serve.sync.cache.ttl-seconds:60}") long ttlSeconds) {
+        this.chunkService = chunkService;
+        this.objectMapper = objectMapper;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((Key key, EncodedSyncResponse response) -> response.weight())
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .buildAsync();
+
+        // cache.gets{result=hit|miss}, cache.evictions 등 (cache=serve.sync.response)
+        CaffeineCacheMetrics.monitor(meterRegistry, cache.synchronous(), "serve.sync.response");
+        Gauge.builder("serve.sync.cache.bytes", cache,
+                        c -> c.synchronous().policy().eviction()
+                                .map(eviction -> eviction.weightedSize().orElse(0L))
+                                .orElse(0L))
+                .description("동기화 응답 캐시에 보관 중인 본문 바이트 (고정 오버헤드 포함)")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.collapsedCounter = Counter.builder("serve.sync.cache.collapsed")
+                .description("진행 중인 같은 요청의 로드 결과를 기다려 공유한 요청 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 팀 변경 커밋 후 해당 팀의 캐시 항목 제거
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTeamChanged(TeamChangedEvent event) {
+        invalidateTeam(event.getTeamId());
+    }
+
+    void invalidateTeam(String teamId) {
+        cache.asMap().keySet().removeIf(key -> key.teamId.equals(teamId));
+    }
+
+    /**
+     * 팀 변경 시퀀스 기준 동기화 페이지 (GET /api/sync/chunks?since=...|cursor=...)
+     */
+    public EncodedSyncResponse getChunkPage(String teamId, long teamSeq, long afterSeq, Integer limit, Long maxBytes,
+                                            Format format, String userId, boolean excludeSelf) {
+        Supplier<EncodedSyncResponse> loader = () -> {
+            ChunkSyncPage<ChunkSyncResponse> page = chunkService.syncTeamChanges(
+                    teamId, afterSeq, limit, maxBytes, userId, excludeSelf);
+            byte[] body = format == Format.PROTOBUF ? encodeProtobuf(page.getChunks()) : encodeJson(page);
+            return new EncodedSyncResponse(body, page.getHighWaterMark(), page.getNextCursor(), page.isHasMore());
+        };
+        if (excludeSelf) {
+            return loader.get();
+        }
+        return get(new Key(teamId, teamSeq, "page:" + afterSeq + ':' + limit + ':' + maxBytes, format), loader);
+    }
+
+    /**
+     * 행 단위 version 기준 동기화 (이전 방식, GET /api/sync/chunks?lastVersion=...)
+     */
+    public EncodedSyncResponse getLegacyChunks(String teamId, long teamSeq, int lastVersion, String userId,
+                                               boolean excludeSelf) {
+        Supplier<EncodedSyncResponse> loader = () -> new EncodedSyncResponse(
+                encodeJson(chunkService.syncTeamChunks(teamId, lastVersion, userId, excludeSelf)), 0, null, false);
+        if (excludeSelf) {
+            return loader.get();
+        }
+        return get(new Key(teamId, teamSeq, "version:" + lastVersion, Format.JSON), loader);
+    }
+
+    /**
+     * 캐시 조회, 없으면 진행 중인 로드에 합류하거나 요청 스레드에서 직접 로드
+     */
+    private EncodedSyncResponse get(Key key, Supplier<EncodedSyncResponse> loader) {
+        // 매핑 함수는 미완료 future만 등록 (로드는 캐시 잠금 밖에서 수행)
+        CompletableFuture<EncodedSyncResponse> loading = new CompletableFuture<>();
+        CompletableFuture<EncodedSyncResponse> future = cache.get(key, (k, executor) -> loading);
+        if (future != loading) {
+            if (!future.isDone()) {
+                collapsedCounter.increment();
+            }
+            return join(future);
+        }
+
+        try {
+            EncodedSyncResponse response = loader.get();
+            loading.complete(response);
+            return response;
+        } catch (RuntimeException | Error e) {
+            // 실패한 future는 캐시에서 자동 제거됨
+            loading.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private EncodedSyncResponse join(CompletableFuture<EncodedSyncResponse> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private byte[] encodeJson(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private byte[] encodeProtobuf(List<ChunkSyncResponse> chunks) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ChunkSyncSink sink = new ChunkProtobufWriter(CodedOutputStream.newInstance(out))) {
+            for (ChunkSyncResponse chunk : chunks) {
+                sink.chunk(chunk);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static final class Key {
+        private final String teamId;
+        private final long teamSeq;
+        private final String position;
+        private final Format format;
+
+        Key(String teamId, long teamSeq, String position, Format format) {
+            this.teamId = teamId;
+            this.teamSeq = teamSeq;
+            this.position = position;
+            this.format = format;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key other)) {
+                return false;
+            }
+            return teamSeq == other.teamSeq && teamId.equals(other.teamId)
+                    && position.equals(other.position) && format == other.format;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(teamId, teamSeq, position, format);
+        }
+    }
+}
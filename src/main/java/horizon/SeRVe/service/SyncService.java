@@ -34,18 +34,8 @@ public class SyncService {
      */
     @Transactional(readOnly = true)
     public List<ChangedDocumentResponse> getChangedDocuments(String teamId, int lastSyncVersion, String userId) {
-        // 1. Team 조회
-        Team team = teamRepository.findByTeamId(teamId)
-                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 팀입니다."));
-
-        // 2. User 조회
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다."));
-
-        // 3. 멤버십 검증 (ADMIN 또는 MEMBER만 동기화 가능)
-        if (!memberRepository.existsByTeamAndUser(team, user)) {
-            throw new SecurityException("팀 멤버가 아닙니다. 동기화 권한이 없습니다.");
-        }
+        // 1~3. 팀/사용자 조회 및 멤버십 검증
+        Team team = checkMembership(teamId, userId);
 
         // 4. 팀의 모든 문서 조회
         List<Document> allDocuments = documentRepository.findAllByTeam(team);
@@ -57,4 +47,29 @@ public class SyncService {
                 .map(ChangedDocumentResponse::from)
                 .collect(Collectors.toList());
     }
+
+    /**
+     * 멤버십 검증 + 현재 팀 변경 시퀀스 조회 (ETag 비교용, 문서 조회 없음)
+     * - 문서 생성/수정/삭제와 청크 변경은 모두 팀 변경 시퀀스를 진행시킴
+     */
+    @Transactional(readOnly = true)
+    public long getTeamChangeSeq(String teamId, String userId) {
+        return checkMembership(teamId, userId).getChangeSeq();
+    }
+
+    /**
+     * [Helper] 팀/사용자 조회 및 멤버십 검증 (ADMIN 또는 MEMBER만 동기화 가능)
+     */
+    private Team checkMembership(String teamId, String userId) {
+        Team team = teamRepository.findByTeamId(teamId)
+                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 팀입니다."));
+
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다."));
+
+        if (!memberRepository.existsByTeamAndUser(team, user)) {
+            throw new SecurityException("팀 멤버가 아닙니다. 동기화 권한이 없습니다.");
+        }
+        return team;
+    }
 }
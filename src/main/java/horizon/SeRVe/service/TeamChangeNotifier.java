@@ -0,0 +1,250 @@
+package horizon.SeRVe.service;
+
+import horizon.SeRVe.dto.sync.TeamChangeNotification;
+import horizon.SeRVe.event.TeamChangedEvent;
+import horizon.SeRVe.exception.ServerBusyException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * 팀 변경 알림 (SSE / long-poll 구독)
+ *
+ * 로봇이 몇 초마다 GET /api/sync/chunks를 폴링하면 대부분 빈 응답인데도
+ * 매번 팀/사용자/멤버 조회와 인덱스 조회가 실행됩니다.
+ * 구독자는 연결을 유지한 채 대기하다가 팀 변경 시퀀스가 자신의 위치(since)를 넘으면
+ * 가벼운 "changed" 알림만 받고, 그때 동기화를 요청합니다.
+ *
+ * - 알림은 변경 시퀀스를 할당한 트랜잭션이 커밋된 뒤에만 전달 (롤백된 쓰기는 알리지 않음)
+ * - 구독자 전달은 별도 스레드에서 수행하고, 전달 전에 쌓인 같은 팀의 커밋은 한 번으로 병합
+ * - 구독 등록 후 현재 시퀀스를 확인하므로 등록 직전에 커밋된 변경도 놓치지 않음
+ * - 구독 상태는 인스턴스 메모리에만 있음 (여러 인스턴스 배포 시 구독한 인스턴스의 쓰기만 즉시 알림,
+ *   나머지는 SSE 재연결/long-poll 재요청 시 현재 시퀀스 확인으로 전달)
+ */
+@Slf4j
+@Service
+public class TeamChangeNotifier {
+
+    public static final String CHANGED_EVENT = "changed";
+
+    private final long sseTimeoutMillis;
+    private final long pollTimeoutMillis;
+    private final int maxSubscribers;
+    private final long retryAfterSeconds;
+
+    private final Map<String, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    // 팀 → 아직 구독자에게 전달하지 않은 최신 시퀀스 (있으면 전달 작업이 예약된 상태)
+    private final Map<String, Long> pendingSeqs = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final ExecutorService dispatcher;
+
+    public TeamChangeNotifier(MeterRegistry meterRegistry,
+                              @Value("${serve.sync.notify.sse-timeout-ms:300000}") long sseTimeoutMillis,
+                              @Value("${serve.sync.notify.poll-timeout-ms:30000}") long pollTimeoutMillis,
+                              @Value("${serve.sync.notify.max-subscribers:10000}") int maxSubscribers,
+                              @Value("${serve.sync.notify.retry-after-seconds:5}") long retryAfterSeconds) {
+        this.sseTimeoutMillis = sseTimeoutMillis;
+        this.pollTimeoutMillis = pollTimeoutMillis;
+        this.maxSubscribers = maxSubscribers;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.dispatcher = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "team-change-notify");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Gauge.builder("serve.sync.notify.subscribers", subscriberCount, AtomicInteger::get)
+                .description("변경 알림 구독 중인 연결 수 (SSE + long-poll)")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void stop() {
+        dispatcher.shutdownNow();
+    }
+
+    /**
+     * 커밋된 팀 변경 수신 (커밋한 스레드에서 호출되므로 전달은 예약만 함)
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTeamChanged(TeamChangedEvent event) {
+        publish(event.getTeamId(), event.getChangeSeq());
+    }
+
+    void publish(String teamId, long changeSeq) {
+        if (!subscribers.containsKey(teamId)) {
+            return;
+        }
+        boolean[] schedule = {false};
+        pendingSeqs.compute(teamId, (id, pending) -> {
+            if (pending == null) {
+                schedule[0] = true;
+                return changeSeq;
+            }
+            return Math.max(pending, changeSeq);
+        });
+        if (schedule[0]) {
+            dispatcher.execute(() -> dispatch(teamId));
+        }
+    }
+
+    /**
+     * SSE 구독: 위치를 넘는 변경마다 "changed" 이벤트 (id = 변경 시퀀스, 재연결 시 Last-Event-ID로 이어받음)
+     *
+     * @param currentSeq 권한 검증 후 현재 팀 변경 시퀀스 반환 (구독 등록 후 호출)
+     */
+    public SseEmitter subscribe(String teamId, long sinceSeq, LongSupplier currentSeq) {
+        SseEmitter emitter = new SseEmitter(sseTimeoutMillis);
+        SseSubscriber subscriber = new SseSubscriber(teamId, sinceSeq, emitter);
+        emitter.onCompletion(() -> unregister(subscriber));
+        emitter.onError(error -> unregister(subscriber));
+        // 제한 시간이 지나면 정상 종료 (클라이언트는 Last-Event-ID로 재연결)
+        emitter.onTimeout(emitter::complete);
+        start(subscriber, currentSeq);
+        return emitter;
+    }
+
+    /**
+     * long-poll 구독: 위치를 넘는 변경이 있으면 즉시, 없으면 변경될 때까지 대기 후 200 (제한 시간 초과 시 204)
+     */
+    public DeferredResult<ResponseEntity<TeamChangeNotification>> poll(String teamId, long sinceSeq,
+                                                                       LongSupplier currentSeq) {
+        DeferredResult<ResponseEntity<TeamChangeNotification>> result =
+                new DeferredResult<>(pollTimeoutMillis, () -> ResponseEntity.noContent().build());
+        PollSubscriber subscriber = new PollSubscriber(teamId, sinceSeq, result);
+        result.onCompletion(() -> unregister(subscriber));
+        start(subscriber, currentSeq);
+        return result;
+    }
+
+    int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    private void start(Subscriber subscriber, LongSupplier currentSeq) {
+        register(subscriber);
+        try {
+            if (!subscriber.offer(currentSeq.getAsLong())) {
+                unregister(subscriber);
+            }
+        } catch (RuntimeException e) {
+            // 권한 오류 등은 일반 오류 응답으로 반환
+            unregister(subscriber);
+            throw e;
+        }
+    }
+
+    private void dispatch(String teamId) {
+        Long changeSeq = pendingSeqs.remove(teamId);
+        Set<Subscriber> teamSubscribers = subscribers.get(teamId);
+        if (changeSeq == null || teamSubscribers == null) {
+            return;
+        }
+        for (Subscriber subscriber : teamSubscribers) {
+            if (!subscriber.offer(changeSeq)) {
+                unregister(subscriber);
+            }
+        }
+    }
+
+    private void register(Subscriber subscriber) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new ServerBusyException("변경 알림 구독자 수가 한도를 초과했습니다.", retryAfterSeconds);
+        }
+        subscribers.compute(subscriber.teamId, (id, set) -> {
+            Set<Subscriber> target = set != null ? set : ConcurrentHashMap.newKeySet();
+            target.add(subscriber);
+            return target;
+        });
+    }
+
+    private void unregister(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.teamId, (id, set) -> {
+            if (set.remove(subscriber)) {
+                subscriberCount.decrementAndGet();
+            }
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    private abstract static class Subscriber {
+        final String teamId;
+        long position;
+
+        Subscriber(String teamId, long position) {
+            this.teamId = teamId;
+            this.position = position;
+        }
+
+        /**
+         * 현재 팀 시퀀스 전달
+         *
+         * @return 구독을 유지하면 true
+         */
+        abstract boolean offer(long changeSeq);
+    }
+
+    private static class SseSubscriber extends Subscriber {
+        private final SseEmitter emitter;
+
+        SseSubscriber(String teamId, long position, SseEmitter emitter) {
+            super(teamId, position);
+            this.emitter = emitter;
+        }
+
+        @Override
+        synchronized boolean offer(long changeSeq) {
+            if (changeSeq <= position) {
+                return true;
+            }
+            try {
+                emitter.send(SseEmitter.event()
+                        .name(CHANGED_EVENT)
+                        .id(String.valueOf(changeSeq))
+                        .data(new TeamChangeNotification(teamId, changeSeq)));
+                position = changeSeq;
+                return true;
+            } catch (IOException | IllegalStateException e) {
+                // 연결 종료 또는 이미 완료된 emitter
+                log.debug("[TeamChangeNotifier] SSE 전달 실패 - Team: {}", teamId, e);
+                return false;
+            }
+        }
+    }
+
+    private static class PollSubscriber extends Subscriber {
+        private final DeferredResult<ResponseEntity<TeamChangeNotification>> result;
+
+        PollSubscriber(String teamId, long position, DeferredResult<ResponseEntity<TeamChangeNotification>> result) {
+            super(teamId, position);
+            this.result = result;
+        }
+
+        @Override
+        synchronized boolean offer(long changeSeq) {
+            if (changeSeq <= position) {
+                return !result.isSetOrExpired();
+            }
+            result.setResult(ResponseEntity.ok(new TeamChangeNotification(teamId, changeSeq)));
+            return false;
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package horizon.SeRVe.service;
+
+import com.google.protobuf.CodedOutputStream;
+import horizon.SeRVe.dto.chunk.ChunkProtobufWriter;
+import horizon.SeRVe.dto.chunk.ChunkSyncSink;
+import horizon.SeRVe.dto.sync.SyncProtobufCodec;
+import horizon.SeRVe.dto.sync.TeamSnapshot;
+import horizon.SeRVe.repository.VectorChunkRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * 팀 부트스트랩 스냅샷
+ *
+ * 새 엣지 노드의 최초 동기화(since=0 / lastVersion=0)는 팀 전체를 조회하고 직렬화하는 가장 무거운 요청입니다.
+ * 주기적으로 팀별 스냅샷 파일(살아있는 청크 + 문서 DEK, 위치 = 팀 변경 시퀀스)을 로컬 디스크에 만들어 두고,
+ * 최초 동기화는 파일을 그대로 내려받은 뒤 스냅샷 위치부터 증분 동기화합니다.
+ *
+ * - 형식: serve_sync.proto의 SnapshotHeader → SnapshotDocument × N → ChunkSync (length-delimited 프레임)
+ * - 위치 P를 먼저 읽고 change_seq <= P인 살아있는 청크만 기록 (쓰기는 시퀀스 순서대로 커밋되므로 P 이하는 모두 커밋됨)
+ *   P 이후에 수정/삭제된 청크는 빠지지만 그 변경은 since=P 증분 동기화로 전달되어 최종 상태가 같아짐
+ *   → 긴 읽기 트랜잭션 없이 스트리밍 조회로 생성
+ * - 임시 파일에 기록 후 fsync → 원자적 이름 변경으로 공개, 직전 스냅샷은 진행 중인 다운로드를 위해 한 주기 더 보관
+ * - 팀 변경 시퀀스가 바뀐 팀만 다시 생성
+ */
+@Slf4j
+@Service
+public class TeamSnapshotService {
+
+    private static final String SNAPSHOT_SUFFIX = ".snapshot";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private static final String SELECT_TEAMS_SQL = "SELECT team_id, change_seq FROM teams WHERE change_seq > 0";
+
+    private static final String SELECT_DOCUMENTS_SQL =
+            "SELECT document_id, original_file_name, encrypted_dek FROM documents WHERE team_id = ? ORDER BY document_id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final VectorChunkRepository vectorChunkRepository;
+    private final boolean enabled;
+    private final String snapshotDir;
+    private final int fetchSize;
+
+    private Path directory;
+    // 팀 → 현재 제공 중인 스냅샷 / 교체된 직전 스냅샷 (다음 교체 때 삭제)
+    private final Map<String, TeamSnapshot> snapshots = new ConcurrentHashMap<>();
+    private final Map<String, TeamSnapshot> retired = new ConcurrentHashMap<>();
+
+    public TeamSnapshotService(JdbcTemplate jdbcTemplate,
+                               VectorChunkRepository vectorChunkRepository,
+                               @Value("${serve.snapshot.enabled:false}") boolean enabled,
+                               @Value("${serve.snapshot.dir:./data/snapshots}") String snapshotDir,
+                               @Value("${serve.sync.stream-fetch-size:64}") int fetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.vectorChunkRepository = vectorChunkRepository;
+        this.enabled = enabled;
+        this.snapshotDir = snapshotDir;
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * 기동 시 기존 스냅샷 복원 (팀별 최신 파일만 유지, 미완료 임시 파일 삭제)
+     */
+    @PostConstruct
+    public void init() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        directory = Path.of(snapshotDir);
+        Files.createDirectories(directory);
+
+        Map<String, TeamSnapshot> latest = new HashMap<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path path : (Iterable<Path>) files::iterator) {
+                String name = path.getFileName().toString();
+                if (name.endsWith(TEMP_SUFFIX)) {
+                    Files.deleteIfExists(path);
+                    continue;
+                }
+                int separator = name.lastIndexOf('-');
+                if (!name.endsWith(SNAPSHOT_SUFFIX) || separator < 0) {
+                    continue;
+                }
+                String teamId = name.substring(0, separator);
+                long changeSeq = Long.parseLong(name.substring(separator + 1, name.length() - SNAPSHOT_SUFFIX.length()));
+                TeamSnapshot snapshot = new TeamSnapshot(teamId, changeSeq, path, Files.size(path));
+                TeamSnapshot previous = latest.get(teamId);
+                if (previous == null || previous.getChangeSeq() < changeSeq) {
+                    latest.put(teamId, snapshot);
+                    if (previous != null) {
+                        Files.deleteIfExists(previous.getPath());
+                    }
+                } else {
+                    Files.deleteIfExists(path);
+                }
+            }
+        }
+        snapshots.putAll(latest);
+        log.info("[Snapshot] 팀 스냅샷 사용 - dir: {}, 기존 스냅샷 {}개", directory.toAbsolutePath(), latest.size());
+    }
+
+    /**
+     * 변경된 팀의 스냅샷 재생성 (기동 직후가 아닌 한 주기 뒤부터)
+     */
+    @Scheduled(fixedDelayString = "${serve.snapshot.interval-ms:600000}",
+            initialDelayString = "${serve.snapshot.interval-ms:600000}")
+    public void refreshSnapshots() {
+        if (!enabled) {
+            return;
+        }
+        List<Map<String, Object>> teams = jdbcTemplate.queryForList(SELECT_TEAMS_SQL);
+        for (Map<String, Object> team : teams) {
+            String teamId = (String) team.get("team_id");
+            long changeSeq = ((Number) team.get("change_seq")).longValue();
+            TeamSnapshot current = snapshots.get(teamId);
+            if (current != null && current.getChangeSeq() >= changeSeq) {
+                continue;
+            }
+            try {
+                TeamSnapshot snapshot = build(teamId, changeSeq);
+                log.info("[Snapshot] 생성 - Team: {}, changeSeq: {}, {}바이트", teamId, changeSeq, snapshot.getLength());
+            } catch (IOException | RuntimeException e) {
+                // 다른 팀은 계속 진행 (이전 스냅샷은 그대로 제공)
+                log.error("[Snapshot] 생성 실패 - Team: {}", teamId, e);
+            }
+        }
+    }
+
+    public Optional<TeamSnapshot> getSnapshot(String teamId) {
+        return Optional.ofNullable(snapshots.get(teamId));
+    }
+
+    /**
+     * 스냅샷 파일 생성 후 공개
+     *
+     * @param changeSeq 스냅샷 위치 (이미 커밋된 팀 변경 시퀀스)
+     */
+    TeamSnapshot build(String teamId, long changeSeq) throws IOException {
+        Path target = directory.resolve(teamId + "-" + changeSeq + SNAPSHOT_SUFFIX);
+        Path temp = directory.resolve(target.getFileName() + TEMP_SUFFIX);
+
+        // DEK는 위치 이후에 읽음 (이후 키 교체분은 최신 값, 청크는 증분 동기화로 맞춰짐)
+        List<Object[]> documents = jdbcTemplate.query(SELECT_DOCUMENTS_SQL,
+                (rs, rowNum) -> new Object[]{
+                        rs.getString("document_id"), rs.getString("original_file_name"), rs.getBytes("encrypted_dek")},
+                teamId);
+
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            CodedOutputStream out = CodedOutputStream.newInstance(Channels.newOutputStream(channel), 64 * 1024);
+            SyncProtobufCodec.writeSnapshotHeader(out, teamId, changeSeq, documents.size(), System.currentTimeMillis());
+            for (Object[] document : documents) {
+                SyncProtobufCodec.writeSnapshotDocument(out, (String) document[0], (String) document[1], (byte[]) document[2]);
+            }
+            try (ChunkSyncSink sink = new ChunkProtobufWriter(out)) {
+                vectorChunkRepository.streamLiveChunks(teamId, changeSeq, fetchSize, sink);
+            }
+            channel.force(true);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+        TeamSnapshot snapshot = new TeamSnapshot(teamId, changeSeq, target, Files.size(target));
+        TeamSnapshot replaced = snapshots.put(teamId, snapshot);
+        if (replaced != null) {
+            TeamSnapshot expired = retired.put(teamId, replaced);
+            if (expired != null) {
+                Files.deleteIfExists(expired.getPath());
+            }
+        }
+        return snapshot;
+    }
+}
@@ -0,0 +1,224 @@
+package horizon.SeRVe.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 삭제된 청크(tombstone) 정리
+ *
+ * deleteChunk/deleteDocument는 is_deleted만 바꾸므로 암호문이 vector_chunks에 그대로 남고,
+ * 삭제된 문서의 tombstone은 동기화 스캔 대상에 계속 쌓입니다.
+ *
+ * 1. blob 회수: tombstone의 암호문을 비움 (동기화 응답에는 원래 tombstone blob이 없으므로 즉시 수행)
+ *    - 행 안(in-row)에 저장된 blob만 실제로 공간이 회수됨
+ *    - 세그먼트에 저장된 blob은 행의 참조만 끊음. 세그먼트 파일은 추가 전용이고 재작성 기능이 없으므로
+ *      디스크 공간은 회수되지 않음 (회수량에 포함하지 않고 참조 해제량으로 따로 집계)
+ * 2. 하드 삭제: 삭제된 지 보존 기간(retention-days)이 지난 tombstone을 행째 삭제
+ *    - 팀별 teams.purged_seq를 삭제한 tombstone의 최대 change_seq로 올림
+ *      → 그 이전 위치의 증분 동기화는 410 Gone (ChunkService.checkSyncPosition)
+ *
+ * - 작은 배치 트랜잭션으로 처리 (배치마다 커밋, 테이블/팀 행 잠금을 오래 잡지 않음)
+ * - 조건부 UPDATE/DELETE (is_deleted, change_seq 재확인)로 정리 중 다시 업로드된 청크는 건드리지 않음
+ * - 집계: serve.compaction.reclaimed.bytes (in-row 회수), serve.compaction.dereferenced.bytes (세그먼트 참조 해제),
+ *   serve.compaction.purged.tombstones
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "serve.compaction.enabled", havingValue = "true", matchIfMissing = true)
+public class TombstoneCompactionJob {
+
+    private static final String SELECT_BLOB_TOMBSTONES_SQL =
+            "SELECT chunk_id, blob_segment, COALESCE(blob_length, OCTET_LENGTH(encrypted_blob)) AS blob_bytes " +
+            "FROM vector_chunks WHERE chunk_id > ? AND is_deleted = TRUE AND (blob_size IS NULL OR blob_size > 0) " +
+            "ORDER BY chunk_id LIMIT ?";
+
+    private static final String PURGE_BLOB_SQL =
+            "UPDATE vector_chunks SET encrypted_blob = ?, blob_segment = NULL, blob_offset = NULL, blob_length = NULL, " +
+            "blob_size = 0 WHERE chunk_id = ? AND is_deleted = TRUE";
+
+    private static final String SELECT_TEAMS_SQL = "SELECT team_id FROM teams";
+
+    // (team_id, change_seq) 인덱스 순서로 읽음 (삭제 시점에 시퀀스를 받으므로 오래된 tombstone이 앞쪽)
+    // 직전 배치의 마지막 change_seq부터 이어 읽음 (조건부 삭제에서 빠진 행을 매 배치 다시 스캔하지 않음)
+    private static final String SELECT_EXPIRED_SQL =
+            "SELECT chunk_id, change_seq FROM vector_chunks " +
+            "WHERE team_id = ? AND change_seq > ? AND is_deleted = TRUE AND updated_at < ? " +
+            "ORDER BY change_seq LIMIT ?";
+
+    private static final String ADVANCE_PURGED_SEQ_SQL =
+            "UPDATE teams SET purged_seq = GREATEST(purged_seq, ?) WHERE team_id = ?";
+
+    private static final String DELETE_TOMBSTONE_SQL =
+            "DELETE FROM vector_chunks WHERE chunk_id = ? AND is_deleted = TRUE AND change_seq = ?";
+
+    private static final byte[] EMPTY_BLOB = new byte[0];
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int retentionDays;
+
+    private final Counter reclaimedCounter;
+    private final Counter dereferencedCounter;
+    private final Counter purgedCounter;
+
+    public TombstoneCompactionJob(JdbcTemplate jdbcTemplate,
+                                  TransactionTemplate transactionTemplate,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${serve.compaction.batch-size:500}") int batchSize,
+                                  @Value("${serve.compaction.tombstone-retention-days:30}") int retentionDays) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.retentionDays = retentionDays;
+
+        this.reclaimedCounter = Counter.builder("serve.compaction.reclaimed.bytes")
+                .description("tombstone에서 회수한 행 안(in-row) 암호문 바이트")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.dereferencedCounter = Counter.builder("serve.compaction.dereferenced.bytes")
+                .description("tombstone에서 참조를 끊은 세그먼트 blob 바이트 (세그먼트 파일 공간은 회수되지 않음)")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.purgedCounter = Counter.builder("serve.compaction.purged.tombstones")
+                .description("보존 기간이 지나 하드 삭제된 tombstone 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 주기 실행 (기동 직후가 아닌 한 주기 뒤부터)
+     */
+    @Scheduled(fixedDelayString = "${serve.compaction.interval-ms:3600000}",
+            initialDelayString = "${serve.compaction.interval-ms:3600000}")
+    public void compact() {
+        long reclaimedBytes = purgeTombstoneBlobs();
+        long purged = purgeExpiredTombstones(LocalDateTime.now().minusDays(retentionDays));
+        if (reclaimedBytes > 0 || purged > 0) {
+            log.info("[Compaction] 완료 - in-row 회수 {}바이트, 하드 삭제 tombstone {}건", reclaimedBytes, purged);
+        }
+    }
+
+    /**
+     * 1. tombstone blob 회수 (chunk_id(PK) 순 키셋 배치)
+     *
+     * @return 회수한 in-row 바이트 (세그먼트 참조 해제량은 포함하지 않음)
+     */
+    long purgeTombstoneBlobs() {
+        String lastChunkId = "";
+        long reclaimed = 0;
+        while (true) {
+            List<BlobTombstone> tombstones = jdbcTemplate.query(SELECT_BLOB_TOMBSTONES_SQL,
+                    (rs, rowNum) -> new BlobTombstone(
+                            rs.getString("chunk_id"), rs.getString("blob_segment") != null, rs.getLong("blob_bytes")),
+                    lastChunkId, batchSize);
+            if (tombstones.isEmpty()) {
+                break;
+            }
+
+            int[][] results = transactionTemplate.execute(status -> jdbcTemplate.batchUpdate(
+                    PURGE_BLOB_SQL, tombstones, tombstones.size(), (ps, tombstone) -> {
+                        ps.setBytes(1, EMPTY_BLOB);
+                        ps.setString(2, tombstone.chunkId);
+                    }));
+            for (int i = 0; i < tombstones.size(); i++) {
+                if (updated(results, i)) {
+                    BlobTombstone tombstone = tombstones.get(i);
+                    if (tombstone.segment) {
+                        dereferencedCounter.increment(tombstone.bytes);
+                    } else {
+                        reclaimedCounter.increment(tombstone.bytes);
+                        reclaimed += tombstone.bytes;
+                    }
+                }
+            }
+            lastChunkId = tombstones.get(tombstones.size() - 1).chunkId;
+        }
+        return reclaimed;
+    }
+
+    /**
+     * 2. 보존 기간이 지난 tombstone 하드 삭제 (팀별 change_seq 순 키셋 배치, 배치마다 purged_seq 갱신)
+     *
+     * @return 삭제한 tombstone 수
+     */
+    long purgeExpiredTombstones(LocalDateTime cutoff) {
+        Timestamp cutoffTimestamp = Timestamp.valueOf(cutoff);
+        long purged = 0;
+        for (String teamId : jdbcTemplate.queryForList(SELECT_TEAMS_SQL, String.class)) {
+            long lastSeq = 0;
+            while (true) {
+                List<ExpiredTombstone> tombstones = jdbcTemplate.query(SELECT_EXPIRED_SQL,
+                        (rs, rowNum) -> new ExpiredTombstone(rs.getString("chunk_id"), rs.getLong("change_seq")),
+                        teamId, lastSeq, cutoffTimestamp, batchSize);
+                if (tombstones.isEmpty()) {
+                    break;
+                }
+
+                long maxSeq = tombstones.get(tombstones.size() - 1).changeSeq;
+                Integer deleted = transactionTemplate.execute(status -> {
+                    // 쓰기와 같은 잠금 순서 (청크 행 → teams 행): 조건부 DELETE를 먼저, purged_seq 갱신을 마지막에
+                    int[][] results = jdbcTemplate.batchUpdate(
+                            DELETE_TOMBSTONE_SQL, tombstones, tombstones.size(), (ps, tombstone) -> {
+                                ps.setString(1, tombstone.chunkId);
+                                ps.setLong(2, tombstone.changeSeq);
+                            });
+                    // 조건부 삭제에서 빠진 행(다시 업로드되어 change_seq가 바뀜)이 있어도 purged_seq는 보수적으로 배치의 최대값까지 올림
+                    jdbcTemplate.update(ADVANCE_PURGED_SEQ_SQL, maxSeq, teamId);
+                    int count = 0;
+                    for (int i = 0; i < tombstones.size(); i++) {
+                        if (updated(results, i)) {
+                            count++;
+                        }
+                    }
+                    return count;
+                });
+                lastSeq = maxSeq;
+                purged += deleted != null ? deleted : 0;
+                purgedCounter.increment(deleted != null ? deleted : 0);
+
+                if (tombstones.size() < batchSize) {
+                    break;
+                }
+            }
+        }
+        return purged;
+    }
+
+    // batchUpdate(sql, list, batchSize, setter) 결과는 [배치][문장] 형태 (배치 크기 = 목록 크기이므로 한 배치)
+    private static boolean updated(int[][] results, int index) {
+        return results != null && results.length > 0 && results[0][index] != 0;
+    }
+
+    private static class BlobTombstone {
+        private final String chunkId;
+        private final boolean segment;
+        private final long bytes;
+
+        BlobTombstone(String chunkId, boolean segment, long bytes) {
+            this.chunkId = chunkId;
+            this.segment = segment;
+            this.bytes = bytes;
+        }
+    }
+
+    private static class ExpiredTombstone {
+        private final String chunkId;
+        private final long changeSeq;
+
+        ExpiredTombstone(String chunkId, long changeSeq) {
+            this.chunkId = chunkId;
+            this.changeSeq = changeSeq;
+        }
+    }
+}
@@ -0,0 +1,363 @@
+package horizon.SeRVe.service;
+
+import horizon.SeRVe.dto.chunk.*;
+import horizon.SeRVe.dto.upload.ChunkRange;
+import horizon.SeRVe.dto.upload.UploadSessionOpenRequest;
+import horizon.SeRVe.dto.upload.UploadSessionResponse;
+import horizon.SeRVe.entity.UploadSession;
+import horizon.SeRVe.entity.UploadSessionChunk;
+import horizon.SeRVe.entity.UploadSessionStatus;
+import horizon.SeRVe.repository.UploadSessionChunkRepository;
+import horizon.SeRVe.repository.UploadSessionRepository;
+import horizon.SeRVe.repository.VectorChunkRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 재개 가능한 업로드 세션
+ *
+ * 1. open: (team, fileName) 세션 생성 → sessionId 반환
+ * 2. put: 청크 구간을 순서와 무관하게 여러 요청으로 전송 (임시 테이블에 저장, 같은 인덱스는 덮어쓰기)
+ * 3. status: 수신된 chunk_index 구간 조회 → 연결이 끊겨도 나머지만 재전송
+ * 4. commit: 임시 청크를 chunk_index 순으로 256개씩 나눠 짧은 트랜잭션으로 vector_chunks에 반영
+ *    페이지는 change_seq 없이 기록하고 마지막 트랜잭션에서 한꺼번에 할당
+ *    → 동기화 클라이언트에는 커밋이 끝난 시점에 세션 전체가 한 번에 보임 (실패 시 다시 커밋하면 이어서 반영)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UploadSessionService {
+
+    // 한 번에 임시 테이블로 내보내는 청크 수 (커밋 시 한 트랜잭션으로 반영하는 청크 수와 같음)
+    private static final int STAGE_FLUSH_CHUNKS = 256;
+
+    private final UploadSessionRepository uploadSessionRepository;
+    private final UploadSessionChunkRepository uploadSessionChunkRepository;
+    private final VectorChunkRepository vectorChunkRepository;
+    private final ChunkService chunkService;
+    private final DocumentWriteCoordinator documentWriteCoordinator;
+    private final TransactionTemplate transactionTemplate;
+
+    // 마지막 청크 수신 후 세션 유지 시간
+    @Value("${serve.upload-session.ttl-minutes:60}")
+    private long ttlMinutes;
+
+    // 바이너리 프레임 본문 수신 버퍼 (ChunkService 업로드와 같은 설정 사용)
+    @Value("${serve.upload.flush-bytes:33554432}")
+    private long stageFlushBytes;
+
+    @Value("${serve.upload.spill-threshold-bytes:8388608}")
+    private long uploadSpillThreshold;
+
+    @Value("${serve.upload.spill-dir:${java.io.tmpdir}/serve-upload}")
+    private String uploadSpillDir;
+
+    /**
+     * 세션 생성 (업로드 권한 검증 및 Rate Limit 기록은 여기서 1회만 수행)
+     */
+    @Transactional
+    public UploadSessionResponse open(String teamId, String userId, UploadSessionOpenRequest request) {
+        if (request.getFileName() == null || request.getFileName().isBlank()) {
+            throw new IllegalArgumentException("fileName은 필수입니다.");
+        }
+        if (request.getTotalChunks() != null && request.getTotalChunks() < 0) {
+            throw new IllegalArgumentException("totalChunks는 0 이상이어야 합니다.");
+        }
+
+        chunkService.authorizeUpload(teamId, request.getFileName(), userId);
+
+        UploadSession session = UploadSession.builder()
+                .sessionId(UUID.randomUUID().toString())
+                .teamId(teamId)
+                .fileName(request.getFileName())
+                .userId(userId)
+                .encryptedDEK(request.getEncryptedDEK() != null
+                        ? Base64.getDecoder().decode(request.getEncryptedDEK())
+                        : null)
+                .totalChunks(request.getTotalChunks())
+                .status(UploadSessionStatus.OPEN)
+                .expiresAt(LocalDateTime.now().plusMinutes(ttlMinutes))
+                .build();
+        uploadSessionRepository.save(session);
+
+        return UploadSessionResponse.from(session, 0, List.of());
+    }
+
+    /**
+     * 청크 구간 전송 (JSON, Base64)
+     */
+    @Transactional
+    public UploadSessionResponse putChunks(String teamId, String sessionId, String userId, ChunkUploadRequest request) {
+        UploadSession session = getOpenSession(teamId, sessionId, userId);
+
+        if (request.getEncryptedDEK() != null) {
+            session.setEncryptedDEK(Base64.getDecoder().decode(request.getEncryptedDEK()));
+        }
+
+        Map<Integer, byte[]> blobsByIndex = new LinkedHashMap<>();
+        if (request.getChunks() != null) {
+            for (ChunkUploadItem item : request.getChunks()) {
+                blobsByIndex.put(item.getChunkIndex(), Base64.getDecoder().decode(item.getEncryptedBlob()));
+            }
+        }
+        session.extendUntil(LocalDateTime.now().plusMinutes(ttlMinutes));
+        stage(sessionId, blobsByIndex);
+
+        return buildStatus(sessionId);
+    }
+
+    /**
+     * 청크 구간 전송 (바이너리 프레임, ChunkFrameReader 형식)
+     * - 본문은 트랜잭션 밖에서 끝까지 수신 (큰 본문은 임시 파일로) → 느린 전송이 DB 커넥션을 붙잡지 않음
+     * - 수신 후 짧은 트랜잭션 하나로 임시 테이블에 저장
+     */
+    public UploadSessionResponse putChunkStream(String teamId, String sessionId, String userId,
+                                                ChunkStreamSource source) throws IOException {
+        // 없는 세션/남의 세션이면 본문을 받기 전에 거절
+        transactionTemplate.executeWithoutResult(status -> getOpenSession(teamId, sessionId, userId));
+
+        try (PreparedChunkUpload upload = PreparedChunkUpload.receive(source, Path.of(uploadSpillDir), uploadSpillThreshold)) {
+            return transactionTemplate.execute(status -> {
+                // 수신 중에 세션이 커밋/취소되었을 수 있으므로 다시 확인
+                UploadSession session = getOpenSession(teamId, sessionId, userId);
+                session.extendUntil(LocalDateTime.now().plusMinutes(ttlMinutes));
+                if (upload.getEncryptedDEK() != null) {
+                    session.setEncryptedDEK(upload.getEncryptedDEK());
+                }
+
+                if (!upload.isSpilled()) {
+                    stage(sessionId, upload.getBlobsByIndex());
+                } else {
+                    try {
+                        upload.forEachBatch(STAGE_FLUSH_CHUNKS, stageFlushBytes, batch -> {
+                            Map<Integer, byte[]> blobsByIndex = new LinkedHashMap<>();
+                            batch.forEach(chunk -> blobsByIndex.put(chunk.getChunkIndex(), chunk.getEncryptedBlob()));
+                            stage(sessionId, blobsByIndex);
+                        });
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e); // 롤백 후 바깥에서 IOException으로 복원
+                    }
+                }
+                return buildStatus(sessionId);
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * 세션 상태 및 수신된 chunk_index 구간 조회
+     */
+    @Transactional(readOnly = true)
+    public UploadSessionResponse getStatus(String teamId, String sessionId, String userId) {
+        UploadSession session = findSession(sessionId);
+        checkOwner(session, teamId, userId);
+        return buildStatus(sessionId);
+    }
+
+    /**
+     * 세션 커밋: 임시 청크를 문서에 반영
+     * - 임시 청크는 chunk_index 순 키셋 페이지(256개)마다 별도 트랜잭션으로 반영
+     *   → 세션 크기와 무관하게 트랜잭션 길이, 문서 락/팀 행 잠금 보유 시간, 힙 사용량이 일정
+     * - 업로드 권한은 페이지마다 ChunkService.ingestChunkStream에서 다시 확인 (세션 진행 중 권한 회수 대응)
+     * - 페이지 트랜잭션은 change_seq를 할당하지 않음 (동기화/스냅샷 조회에 보이지 않음)
+     *   마지막 트랜잭션에서 세션 상태 변경과 함께 문서의 change_seq 없는 청크 전체에 할당 → 동기화 관점에서 원자적
+     * - 중간에 실패하면 이미 반영된 페이지는 change_seq 없이 남고 세션은 OPEN 유지
+     *   → 다시 커밋하면 같은 내용의 청크는 content_hash 비교로 건너뛰고, 남아 있던 페이지도 마지막 트랜잭션에서 함께 공개됨
+     *   → 다시 커밋하지 않고 취소/만료되면 그 시점에 공개 (DB에 남은 내용과 동기화 클라이언트가 어긋나지 않도록)
+     * - 반영 중 세션이 변경(청크 추가 전송 등)되거나 동시에 두 번 커밋하면 세션 @Version 확인으로 한쪽이 실패
+     */
+    public ChunkUploadResponse commit(String teamId, String sessionId, String userId) throws IOException {
+        UploadSession session = transactionTemplate.execute(status -> validateCommit(teamId, sessionId, userId));
+        String fileName = session.getFileName();
+        int sessionVersion = session.getVersion();
+
+        String documentId = null;
+        List<ChunkReceipt> receipts = new ArrayList<>();
+        int receivedCount = 0;
+        byte[] encryptedDEK = session.getEncryptedDEK(); // 첫 페이지와 함께 한 번만 반영
+        int afterChunkIndex = Integer.MIN_VALUE;
+        List<UploadSessionChunk> page;
+        try {
+            do {
+                page = uploadSessionChunkRepository
+                        .findTop256BySessionIdAndChunkIndexGreaterThanOrderByChunkIndexAsc(sessionId, afterChunkIndex);
+                ChunkUploadResponse response = writePage(teamId, fileName, userId, encryptedDEK, page);
+
+                documentId = response.getDocumentId();
+                receipts.addAll(response.getReceipts());
+                receivedCount += page.size();
+                encryptedDEK = null;
+                if (!page.isEmpty()) {
+                    afterChunkIndex = page.get(page.size() - 1).getChunkIndex();
+                }
+            } while (page.size() == STAGE_FLUSH_CHUNKS);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        documentWriteCoordinator.write(teamId, fileName, () -> transactionTemplate.execute(status ->
+                markCommitted(teamId, sessionId, userId, sessionVersion)));
+
+        log.info("[UploadSession] 커밋 완료 - sessionId: {}, documentId: {}, changed: {}",
+                sessionId, documentId, receipts.size());
+        return ChunkUploadResponse.of(documentId, receipts, receivedCount);
+    }
+
+    private UploadSession validateCommit(String teamId, String sessionId, String userId) {
+        UploadSession session = getOpenSession(teamId, sessionId, userId);
+
+        if (session.getTotalChunks() != null) {
+            long receivedCount = uploadSessionChunkRepository.countBySessionId(sessionId);
+            if (receivedCount != session.getTotalChunks()) {
+                throw new IllegalArgumentException(String.format(
+                        "수신되지 않은 청크가 있습니다. (수신: %d, 전체: %d)", receivedCount, session.getTotalChunks()));
+            }
+        }
+        return session;
+    }
+
+    /**
+     * [Helper] 임시 청크 한 페이지를 문서에 반영 (문서 단위 직렬화, 충돌 시 새 트랜잭션으로 재시도)
+     * - 빈 페이지도 호출 → 청크 없는 세션도 문서 생성/DEK 반영
+     * - change_seq는 할당하지 않음 (markCommitted에서 세션 전체에 한 번에 할당)
+     */
+    private ChunkUploadResponse writePage(String teamId, String fileName, String userId,
+                                          byte[] encryptedDEK, List<UploadSessionChunk> page) {
+        return documentWriteCoordinator.write(teamId, fileName, () -> transactionTemplate.execute(status -> {
+            try {
+                ChunkUploadResponse response = chunkService.ingestChunkStream(teamId, fileName, userId, sink -> {
+                    if (encryptedDEK != null) {
+                        sink.encryptedDEK(encryptedDEK);
+                    }
+                    page.forEach(staged -> sink.chunk(staged.getChunkIndex(), staged.getEncryptedBlob()));
+                });
+                vectorChunkRepository.discardPendingChangeSeqs(); // 팀 행도 잠그지 않음
+                return response;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }));
+    }
+
+    private int markCommitted(String teamId, String sessionId, String userId, int sessionVersion) {
+        UploadSession session = getOpenSession(teamId, sessionId, userId);
+        if (session.getVersion() != sessionVersion) {
+            throw new IllegalArgumentException("업로드 세션이 동시에 변경되었습니다. 상태를 확인 후 다시 시도하세요.");
+        }
+        session.markCommitted();
+        uploadSessionRepository.flush(); // 동시 커밋은 여기서 @Version 충돌
+        uploadSessionChunkRepository.deleteAllBySessionId(sessionId);
+        return publishUnstampedChunks(session);
+    }
+
+    /**
+     * [Helper] 페이지 반영으로 change_seq 없이 남은 문서 청크를 공개 (트랜잭션의 마지막 문장)
+     * - 청크 행을 먼저 잠그고 팀 행을 잠금 (upsert와 같은 잠금 순서)
+     */
+    private int publishUnstampedChunks(UploadSession session) {
+        int published = vectorChunkRepository.deferUnstampedChangeSeqs(session.getTeamId(), session.getFileName());
+        vectorChunkRepository.assignPendingChangeSeqs();
+        return published;
+    }
+
+    /**
+     * 세션 취소 (임시 청크 삭제)
+     */
+    @Transactional
+    public void abort(String teamId, String sessionId, String userId) {
+        UploadSession session = getOpenSession(teamId, sessionId, userId);
+        session.markAborted();
+        uploadSessionRepository.flush();
+        uploadSessionChunkRepository.deleteAllBySessionId(sessionId);
+        publishUnstampedChunks(session); // 실패한 커밋이 남긴 페이지
+    }
+
+    /**
+     * 만료된 세션 정리 (마지막 청크 수신 후 TTL 경과)
+     */
+    @Scheduled(fixedDelayString = "${serve.upload-session.cleanup-interval-ms:300000}")
+    @Transactional
+    public void expireStaleSessions() {
+        List<UploadSession> expired = uploadSessionRepository
+                .findByStatusAndExpiresAtBefore(UploadSessionStatus.OPEN, LocalDateTime.now());
+        if (expired.isEmpty()) {
+            return;
+        }
+
+        List<String> sessionIds = new ArrayList<>();
+        for (UploadSession session : expired) {
+            session.markExpired();
+            sessionIds.add(session.getSessionId());
+        }
+        uploadSessionRepository.flush();
+        sessionIds.forEach(uploadSessionChunkRepository::deleteAllBySessionId);
+        // 실패한 커밋이 남긴 페이지 공개: 모든 청크 행을 먼저 잠근 뒤 팀 행은 팀 ID 순으로 한 번에 잠금
+        expired.forEach(session ->
+                vectorChunkRepository.deferUnstampedChangeSeqs(session.getTeamId(), session.getFileName()));
+        vectorChunkRepository.assignPendingChangeSeqs();
+
+        log.info("[UploadSession] 만료 세션 정리 - {}건", sessionIds.size());
+    }
+
+    /**
+     * [Helper] 청크 임시 저장 (같은 chunk_index는 마지막 전송 값으로 교체)
+     */
+    private void stage(String sessionId, Map<Integer, byte[]> blobsByIndex) {
+        if (blobsByIndex.isEmpty()) {
+            return;
+        }
+        uploadSessionChunkRepository.deleteBySessionIdAndChunkIndexIn(sessionId, blobsByIndex.keySet());
+
+        List<UploadSessionChunk> staged = new ArrayList<>(blobsByIndex.size());
+        blobsByIndex.forEach((chunkIndex, blob) -> staged.add(UploadSessionChunk.builder()
+                .sessionId(sessionId)
+                .chunkIndex(chunkIndex)
+                .encryptedBlob(blob)
+                .build()));
+        uploadSessionChunkRepository.saveAll(staged);
+        uploadSessionChunkRepository.flush();
+    }
+
+    private UploadSessionResponse buildStatus(String sessionId) {
+        UploadSession session = findSession(sessionId);
+        List<Integer> indexes = uploadSessionChunkRepository.findChunkIndexesBySessionId(sessionId);
+        return UploadSessionResponse.from(session, indexes.size(), ChunkRange.fromSortedIndexes(indexes));
+    }
+
+    private UploadSession getOpenSession(String teamId, String sessionId, String userId) {
+        UploadSession session = findSession(sessionId);
+        checkOwner(session, teamId, userId);
+        if (!session.isOpen()) {
+            throw new IllegalArgumentException("이미 종료되었거나 만료된 업로드 세션입니다. (status: " + session.getStatus() + ")");
+        }
+        return session;
+    }
+
+    private UploadSession findSession(String sessionId) {
+        return uploadSessionRepository.findById(sessionId)
+                .orElseThrow(() -> new IllegalArgumentException("업로드 세션을 찾을 수 없습니다."));
+    }
+
+    private void checkOwner(UploadSession session, String teamId, String userId) {
+        if (!session.getTeamId().equals(teamId) || !session.getUserId().equals(userId)) {
+            throw new SecurityException("본인이 생성한 업로드 세션만 사용할 수 있습니다.");
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package horizon.SeRVe.storage;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Statement;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * inline blob → 외부 BlobStore 온라인 마이그레이션
+ *
+ * - 서비스 중단 없이 작은 배치 단위 트랜잭션으로 이동 (읽기 경로는 inline/외부 참조를 모두 처리)
+ * - version은 올리지 않음 (내용 변경이 아니므로 동기화 대상이 되면 안 됨)
+ * - 이동 중 다른 업로드가 같은 행을 갱신하면(version 불일치) 건너뜀: 새 업로드가 이미 외부 저장됨
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "serve.blob-store.migrate-on-startup", havingValue = "true")
+public class BlobMigrationRunner implements ApplicationRunner {
+
+    private static final String SELECT_INLINE_SQL =
+            "SELECT chunk_id, version, encrypted_blob FROM vector_chunks " +
+            "WHERE blob_segment IS NULL AND OCTET_LENGTH(encrypted_blob) > 0 LIMIT ?";
+
+    private static final String EXTERNALIZE_SQL =
+            "UPDATE vector_chunks SET encrypted_blob = ?, blob_segment = ?, blob_offset = ?, blob_length = ? " +
+            "WHERE chunk_id = ? AND version = ? AND blob_segment IS NULL";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BlobStore blobStore;
+
+    @Value("${serve.blob-store.migrate-batch-size:500}")
+    private int batchSize;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (blobStore instanceof InRowBlobStore) {
+            log.warn("[BlobMigration] serve.blob-store.type=in-row 에서는 마이그레이션할 대상이 없습니다.");
+            return;
+        }
+
+        long migrated = 0;
+        while (true) {
+            Integer moved = transactionTemplate.execute(status -> migrateBatch());
+            if (moved == null || moved == 0) {
+                break;
+            }
+            migrated += moved;
+            log.info("[BlobMigration] 진행 중 - 누적 {}건", migrated);
+        }
+        log.info("[BlobMigration] 완료 - 총 {}건 이동", migrated);
+    }
+
+    private int migrateBatch() {
+        List<InlineRow> rows = jdbcTemplate.query(SELECT_INLINE_SQL,
+                (rs, rowNum) -> new InlineRow(rs.getString("chunk_id"), rs.getInt("version"), rs.getBytes("encrypted_blob")),
+                batchSize);
+        if (rows.isEmpty()) {
+            return 0;
+        }
+
+        List<BlobRef> refs = blobStore.store(rows.stream().map(row -> row.blob).collect(Collectors.toList()));
+        for (int i = 0; i < rows.size(); i++) {
+            rows.get(i).ref = refs.get(i);
+        }
+
+        int[][] results = jdbcTemplate.batchUpdate(EXTERNALIZE_SQL, rows, rows.size(), (ps, row) -> {
+            BlobRef ref = row.ref;
+            ps.setBytes(1, new byte[0]); // encrypted_blob은 NOT NULL이므로 빈 배열
+            ps.setString(2, ref.getSegment());
+            ps.setLong(3, ref.getOffset());
+            ps.setInt(4, ref.getLength());
+            ps.setString(5, row.chunkId);
+            ps.setInt(6, row.version);
+        });
+
+        // 모두 경합으로 건너뛰었다면 0 반환 → 다음 기동 시 재시도 (무한 반복 방지)
+        int moved = 0;
+        for (int[] batch : results) {
+            for (int count : batch) {
+                moved += count == Statement.SUCCESS_NO_INFO ? 1 : Math.max(count, 0);
+            }
+        }
+        return moved;
+    }
+
+    private static final class InlineRow {
+        final String chunkId;
+        final int version;
+        final byte[] blob;
+        BlobRef ref;
+
+        InlineRow(String chunkId, int version, byte[] blob) {
+            this.chunkId = chunkId;
+            this.version = version;
+            this.blob = blob;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package horizon.SeRVe.storage;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * VectorChunk 행에 기록되는 blob 참조
+ * - inline: blob이 encrypted_blob 컬럼에 그대로 저장됨
+ * - external: (segment, offset, length) 포인터만 행에 저장, 실제 blob은 BlobStore에 저장
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class BlobRef {
+
+    private final byte[] inlineBlob;
+    private final String segment;
+    private final long offset;
+    private final int length;
+
+    public static BlobRef inline(byte[] blob) {
+        return new BlobRef(blob, null, 0, blob != null ? blob.length : 0);
+    }
+
+    public static BlobRef external(String segment, long offset, int length) {
+        return new BlobRef(null, segment, offset, length);
+    }
+
+    public boolean isInline() {
+        return segment == null;
+    }
+}
@@ -0,0 +1,25 @@
+package horizon.SeRVe.storage;
+
+import java.util.List;
+
+/**
+ * 청크 암호문(blob) 저장소 추상화
+ *
+ * 구현체 선택: serve.blob-store.type
+ * - in-row (기본값): 기존과 동일하게 vector_chunks.encrypted_blob 컬럼에 저장
+ * - segment: 로컬 세그먼트 파일에 append, 행에는 포인터만 저장 (DB 버퍼 풀/binlog/백업 부담 감소)
+ */
+public interface BlobStore {
+
+    /**
+     * blob 일괄 저장
+     *
+     * @return 입력 순서와 같은 순서의 참조 (행에 기록할 값)
+     */
+    List<BlobRef> store(List<byte[]> blobs);
+
+    /**
+     * 참조로 blob 조회 (inline 참조는 그대로 반환)
+     */
+    byte[] load(BlobRef ref);
+}
@@ -0,0 +1,31 @@
+package horizon.SeRVe.storage;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 기본 BlobStore: blob을 vector_chunks.encrypted_blob 컬럼에 그대로 저장
+ */
+@Component
+@ConditionalOnProperty(name = "serve.blob-store.type", havingValue = "in-row", matchIfMissing = true)
+public class InRowBlobStore implements BlobStore {
+
+    @Override
+    public List<BlobRef> store(List<byte[]> blobs) {
+        return blobs.stream()
+                .map(BlobRef::inline)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public byte[] load(BlobRef ref) {
+        if (!ref.isInline()) {
+            throw new IllegalStateException(
+                    "세그먼트에 저장된 청크입니다. serve.blob-store.type=segment 설정이 필요합니다: " + ref.getSegment());
+        }
+        return ref.getInlineBlob();
+    }
+}
@@ -0,0 +1,234 @@
+package horizon.SeRVe.storage;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+/**
+ * 로컬 세그먼트 파일 BlobStore
+ *
+ * - 쓰기: 활성 세그먼트 파일 끝에 순차 append, 배치당 fsync 1회
+ * - 세그먼트가 설정 크기를 넘으면 새 세그먼트로 전환 (기존 세그먼트는 봉인되어 더 이상 바뀌지 않음)
+ * - 읽기: 봉인된 세그먼트는 한 번만 memory-map해 복사 1회로 조회,
+ *         아직 커지는 활성 세그먼트는 매핑하지 않고 FileChannel 위치 지정 읽기로 조회 (읽을 때마다 재매핑 방지)
+ * - 롤백된 트랜잭션이 남긴 바이트나 삭제된 청크의 blob은 참조되지 않는 쓰레기로 남음
+ *   (세그먼트 재작성/회수 기능은 없으므로 공간은 회수되지 않음)
+ *
+ * 마이그레이션 중에는 inline 행과 세그먼트 행이 섞여 있으므로 inline 참조도 그대로 처리
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "serve.blob-store.type", havingValue = "segment")
+public class SegmentFileBlobStore implements BlobStore {
+
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".dat";
+
+    @Value("${serve.blob-store.segment-dir:./data/segments}")
+    private String segmentDir;
+
+    // 매핑 단위가 int 범위이므로 세그먼트 최대 크기는 2GB 미만
+    @Value("${serve.blob-store.segment-size-mb:1024}")
+    private int segmentSizeMb;
+
+    private Path directory;
+    private long segmentSize;
+
+    // 봉인된 세그먼트 읽기용 매핑 (세그먼트명 → 매핑 버퍼), 내용이 바뀌지 않으므로 한 번만 매핑
+    private final Map<String, MappedByteBuffer> mappedSegments = new ConcurrentHashMap<>();
+
+    // 활성 세그먼트 읽기 채널 (쓰기 채널과 분리: 읽기 스레드 인터럽트로 쓰기 채널이 닫히지 않도록)
+    private final AtomicReference<ActiveSegment> activeReader = new AtomicReference<>();
+
+    // 쓰기 상태 (store()는 synchronized)
+    private FileChannel activeChannel;
+    private String activeSegment;
+    private long activePosition;
+    private long nextSegmentNumber;
+
+    @PostConstruct
+    public void init() throws IOException {
+        directory = Path.of(segmentDir);
+        Files.createDirectories(directory);
+        segmentSize = Math.min((long) segmentSizeMb * 1024 * 1024, Integer.MAX_VALUE);
+
+        try (Stream<Path> files = Files.list(directory)) {
+            nextSegmentNumber = files
+                    .map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX))
+                    .mapToLong(SegmentFileBlobStore::segmentNumber)
+                    .max()
+                    .orElse(0) + 1;
+        }
+        log.info("[BlobStore] 세그먼트 저장소 사용 - dir: {}, segmentSize: {}MB", directory.toAbsolutePath(), segmentSizeMb);
+    }
+
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        if (activeChannel != null) {
+            activeChannel.force(true);
+            activeChannel.close();
+            activeChannel = null;
+        }
+        ActiveSegment reader = activeReader.getAndSet(null);
+        if (reader != null) {
+            reader.channel().close();
+        }
+    }
+
+    @Override
+    public synchronized List<BlobRef> store(List<byte[]> blobs) {
+        List<BlobRef> refs = new ArrayList<>(blobs.size());
+        try {
+            for (byte[] blob : blobs) {
+                if (activeChannel == null || activePosition + blob.length > segmentSize) {
+                    rollSegment();
+                }
+                ByteBuffer buffer = ByteBuffer.wrap(blob);
+                long position = activePosition;
+                while (buffer.hasRemaining()) {
+                    position += activeChannel.write(buffer, position);
+                }
+                refs.add(BlobRef.external(activeSegment, activePosition, blob.length));
+                activePosition = position;
+            }
+            if (activeChannel != null) {
+                activeChannel.force(false); // 배치당 fsync 1회 (DB 커밋 전에 blob이 디스크에 있어야 함)
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("세그먼트 파일 기록 실패: " + activeSegment, e);
+        }
+        return refs;
+    }
+
+    @Override
+    public byte[] load(BlobRef ref) {
+        if (ref.isInline()) {
+            return ref.getInlineBlob();
+        }
+
+        ActiveSegment active = activeReader.get();
+        if (active != null && active.segment().equals(ref.getSegment())) {
+            byte[] blob = readActive(active, ref);
+            if (blob != null) {
+                return blob;
+            }
+            // 읽는 사이 세그먼트가 전환되어 봉인됨 → 아래 매핑 경로로 조회
+        }
+
+        MappedByteBuffer mapped = mappedSegments.computeIfAbsent(ref.getSegment(), this::map);
+        byte[] blob = new byte[ref.getLength()];
+        mapped.get((int) ref.getOffset(), blob); // 절대 위치 조회 (버퍼 position 공유 없음)
+        return blob;
+    }
+
+    /**
+     * 활성 세그먼트 위치 지정 읽기 (채널 position을 공유하지 않으므로 동시 읽기 가능)
+     * 세그먼트 전환으로 채널이 닫혔으면 null 반환, 인터럽트로 닫혔으면 채널을 다시 열어 재시도
+     */
+    private byte[] readActive(ActiveSegment active, BlobRef ref) {
+        while (true) {
+            try {
+                ByteBuffer buffer = ByteBuffer.allocate(ref.getLength());
+                long position = ref.getOffset();
+                while (buffer.hasRemaining()) {
+                    int read = active.channel().read(buffer, position + buffer.position());
+                    if (read < 0) {
+                        throw new IOException("세그먼트 끝을 넘는 참조: " + ref.getSegment() + "@" + ref.getOffset());
+                    }
+                }
+                return buffer.array();
+            } catch (ClosedChannelException e) {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new UncheckedIOException("세그먼트 읽기 중단: " + ref.getSegment(), e);
+                }
+                ActiveSegment reopened = new ActiveSegment(active.segment(), openReader(active.segment()));
+                if (!activeReader.compareAndSet(active, reopened)) {
+                    closeQuietly(reopened.channel());
+                    ActiveSegment current = activeReader.get();
+                    if (current == null || !current.segment().equals(ref.getSegment())) {
+                        return null;
+                    }
+                    active = current;
+                } else {
+                    active = reopened;
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("세그먼트 파일 읽기 실패: " + ref.getSegment(), e);
+            }
+        }
+    }
+
+    private FileChannel openReader(String segment) {
+        try {
+            return FileChannel.open(directory.resolve(segment), StandardOpenOption.READ);
+        } catch (IOException e) {
+            throw new UncheckedIOException("세그먼트 파일 열기 실패: " + segment, e);
+        }
+    }
+
+    private static void closeQuietly(FileChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+            // 읽기 전용 채널이므로 닫기 실패는 무시
+        }
+    }
+
+    private MappedByteBuffer map(String segment) {
+        try (FileChannel channel = FileChannel.open(directory.resolve(segment), StandardOpenOption.READ)) {
+            // 채널을 닫아도 매핑은 유지됨
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException("세그먼트 파일 매핑 실패: " + segment, e);
+        }
+    }
+
+    private void rollSegment() throws IOException {
+        if (activeChannel != null) {
+            activeChannel.force(true);
+            activeChannel.close();
+        }
+        activeSegment = String.format("%s%010d%s", SEGMENT_PREFIX, nextSegmentNumber++, SEGMENT_SUFFIX);
+        activeChannel = FileChannel.open(directory.resolve(activeSegment),
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        activePosition = 0;
+
+        // 새 활성 세그먼트 읽기 채널로 교체, 이전 세그먼트는 봉인되어 이후 매핑 경로로 조회
+        ActiveSegment previous = activeReader.getAndSet(new ActiveSegment(activeSegment, openReader(activeSegment)));
+        if (previous != null) {
+            closeQuietly(previous.channel());
+        }
+        log.info("[BlobStore] 새 세그먼트 생성 - {}", activeSegment);
+    }
+
+    private record ActiveSegment(String segment, FileChannel channel) {
+    }
+
+    private static long segmentNumber(String fileName) {
+        try {
+            return Long.parseLong(fileName.substring(SEGMENT_PREFIX.length(), fileName.length() - SEGMENT_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
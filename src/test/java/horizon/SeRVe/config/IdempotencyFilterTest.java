@@ -0,0 +1,106 @@
+package horizon.SeRVe.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotencyFilterTest {
+
+    private Cache<String, IdempotencyRecord> cache;
+    private IdempotencyFilter filter;
+    private final AtomicInteger invocations = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        cache = Caffeine.newBuilder().maximumSize(100).build();
+        filter = new IdempotencyFilter(cache);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("robot@serve.io", null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("같은 Idempotency-Key 재요청은 핸들러를 다시 실행하지 않고 최초 응답을 돌려준다")
+    void replaysStoredResponse() throws Exception {
+        MockHttpServletResponse first = perform("key-1", successChain());
+        MockHttpServletResponse second = perform("key-1", successChain());
+
+        assertEquals(1, invocations.get());
+        assertEquals(200, second.getStatus());
+        assertEquals(first.getContentAsString(), second.getContentAsString());
+        assertEquals("true", second.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+    }
+
+    @Test
+    @DisplayName("실패 응답은 저장하지 않으므로 같은 키로 다시 시도할 수 있다")
+    void failedResponseIsNotStored() throws Exception {
+        perform("key-2", (req, res) -> {
+            invocations.incrementAndGet();
+            ((MockHttpServletResponse) res).setStatus(409);
+        });
+        perform("key-2", successChain());
+
+        assertEquals(2, invocations.get());
+    }
+
+    @Test
+    @DisplayName("같은 키의 요청이 처리 중이면 409를 반환한다")
+    void rejectsConcurrentDuplicate() throws Exception {
+        MockHttpServletResponse[] nested = new MockHttpServletResponse[1];
+        perform("key-3", (req, res) -> {
+            invocations.incrementAndGet();
+            nested[0] = perform("key-3", successChain());
+        });
+
+        assertEquals(1, invocations.get());
+        assertEquals(409, nested[0].getStatus());
+    }
+
+    @Test
+    @DisplayName("헤더가 없는 요청은 매번 실행된다")
+    void passesThroughWithoutKey() throws Exception {
+        perform(null, successChain());
+        perform(null, successChain());
+
+        assertEquals(2, invocations.get());
+    }
+
+    private FilterChain successChain() {
+        return (req, res) -> {
+            int count = invocations.incrementAndGet();
+            res.setContentType("application/json");
+            res.getWriter().write("{\"documentId\":\"doc-" + count + "\"}");
+        };
+    }
+
+    private MockHttpServletResponse perform(String idempotencyKey, FilterChain chain) {
+        try {
+            MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/teams/team-1/chunks");
+            if (idempotencyKey != null) {
+                request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, idempotencyKey);
+            }
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(request, response, chain);
+            return response;
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
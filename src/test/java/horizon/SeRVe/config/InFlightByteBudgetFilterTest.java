@@ -0,0 +1,126 @@
+package horizon.SeRVe.config;
+
+import horizon.SeRVe.exception.ServerBusyException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InFlightByteBudgetFilterTest {
+
+    private final InFlightByteBudget budget = new InFlightByteBudget(1000);
+    private final InFlightByteBudgetFilter filter = new InFlightByteBudgetFilter(
+            budget, 300, 2, new SimpleMeterRegistry().counter("rejected"));
+    private final AtomicInteger invocations = new AtomicInteger();
+
+    @Test
+    @DisplayName("예산을 넘는 요청은 본문을 읽기 전에 503 + Retry-After로 거절한다")
+    void rejectsWhenBudgetExceeded() throws Exception {
+        assertTrue(budget.tryReserve(800)); // 다른 요청이 처리 중
+
+        MockHttpServletResponse response = perform(300);
+
+        assertEquals(503, response.getStatus());
+        assertEquals("2", response.getHeader("Retry-After"));
+        assertEquals(0, invocations.get());
+        assertEquals(800, budget.getReserved());
+    }
+
+    @Test
+    @DisplayName("처리가 끝나면 예약을 반환한다 (예외 포함)")
+    void releasesAfterRequest() throws Exception {
+        assertEquals(200, perform(600).getStatus());
+        assertEquals(0, budget.getReserved());
+
+        MockHttpServletRequest request = request(600);
+        assertThrows(IllegalStateException.class, () -> filter.doFilter(request, new MockHttpServletResponse(),
+                (req, res) -> { throw new IllegalStateException("handler failure"); }));
+        assertEquals(0, budget.getReserved());
+    }
+
+    @Test
+    @DisplayName("예산보다 큰 단일 요청은 다른 요청이 없을 때만 허용한다")
+    void oversizedRequestRunsAlone() throws Exception {
+        assertEquals(200, perform(5000).getStatus());
+
+        assertTrue(budget.tryReserve(10));
+        assertEquals(503, perform(5000).getStatus());
+    }
+
+    @Test
+    @DisplayName("Content-Length가 없는 스트리밍 요청은 기본 크기만큼 예약한다")
+    void unknownLengthReservesDefault() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/teams/t/chunks");
+        request.setContent(null);
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            invocations.incrementAndGet();
+            assertEquals(300, budget.getReserved());
+        });
+        assertEquals(1, invocations.get());
+    }
+
+    @Test
+    @DisplayName("Content-Length가 없는 본문은 읽은 만큼 예약을 늘리고, 늘릴 수 없으면 읽기 도중 거절한다")
+    void unknownLengthGrowsWithBytesRead() throws Exception {
+        MockHttpServletRequest request = chunkedRequest(new byte[500]);
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            req.getInputStream().readAllBytes();
+            assertEquals(600, budget.getReserved()); // 300 + 300
+        });
+        assertEquals(0, budget.getReserved());
+
+        assertTrue(budget.tryReserve(500)); // 다른 요청이 처리 중
+        MockHttpServletRequest oversized = chunkedRequest(new byte[400]);
+        assertThrows(ServerBusyException.class, () -> filter.doFilter(oversized, new MockHttpServletResponse(),
+                (req, res) -> req.getInputStream().readAllBytes()));
+        assertEquals(500, budget.getReserved());
+    }
+
+    @Test
+    @DisplayName("Content-Length가 없는 multipart 요청은 411로 거절한다")
+    void rejectsChunkedMultipart() throws Exception {
+        MockHttpServletRequest request = chunkedRequest(new byte[10]);
+        request.setContentType("multipart/form-data; boundary=x");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, (req, res) -> invocations.incrementAndGet());
+
+        assertEquals(411, response.getStatus());
+        assertEquals(0, invocations.get());
+        assertEquals(0, budget.getReserved());
+    }
+
+    private MockHttpServletRequest chunkedRequest(byte[] body) {
+        // MockHttpServletRequest는 content 길이를 Content-Length로 보고하므로 chunked 전송을 흉내 냄
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/teams/t/chunks") {
+            @Override
+            public long getContentLengthLong() {
+                return -1;
+            }
+
+            @Override
+            public int getContentLength() {
+                return -1;
+            }
+        };
+        request.setContent(body);
+        return request;
+    }
+
+    private MockHttpServletResponse perform(int contentLength) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request(contentLength), response, (req, res) -> invocations.incrementAndGet());
+        return response;
+    }
+
+    private MockHttpServletRequest request(int contentLength) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/teams/t/chunks");
+        request.setContent(new byte[contentLength]);
+        return request;
+    }
+}
@@ -0,0 +1,98 @@
+package horizon.SeRVe.controller;
+
+import horizon.SeRVe.config.JwtTokenProvider;
+import horizon.SeRVe.entity.User;
+import horizon.SeRVe.service.ChunkService;
+import horizon.SeRVe.service.CustomUserDetailsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 비동기 응답 엔드포인트(StreamingResponseBody, DeferredResult)의 재디스패치가 인가를 통과하는지 확인
+ * (JWT 필터는 재디스패치에서 실행되지 않으므로 SecurityConfig 설정이 없으면 403)
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class AsyncDispatchSecurityTest {
+
+    private static final String USER_ID = "user-1";
+    private static final String EMAIL = "robot@test.com";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @MockitoBean
+    private CustomUserDetailsService userDetailsService;
+
+    @MockitoBean
+    private ChunkService chunkService;
+
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        User user = User.builder()
+                .userId(USER_ID)
+                .email(EMAIL)
+                .hashedPassword("hashed")
+                .publicKey("pubKey")
+                .encryptedPrivateKey("privKey")
+                .build();
+        given(userDetailsService.loadUserByUsername(EMAIL)).willReturn(user);
+        token = jwtTokenProvider.createToken(USER_ID, EMAIL);
+    }
+
+    @Test
+    @DisplayName("스트리밍 증분 동기화(StreamingResponseBody)는 재디스패치에서도 200으로 응답한다")
+    void streamTeamChunks_asyncDispatchIsAuthorized() throws Exception {
+        given(chunkService.getSyncHighWaterMark(eq("team-1"), anyLong(), eq(USER_ID))).willReturn(0L);
+
+        MvcResult result = mockMvc.perform(get("/api/sync/chunks")
+                        .param("teamId", "team-1")
+                        .param("stream", "true")
+                        .accept(MediaType.APPLICATION_NDJSON)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("변경 알림 long-poll(DeferredResult)은 재디스패치에서도 200으로 응답한다")
+    void pollChanges_asyncDispatchIsAuthorized() throws Exception {
+        given(chunkService.getSyncHighWaterMark("team-1", USER_ID)).willReturn(5L);
+
+        MvcResult result = mockMvc.perform(get("/api/sync/changes/poll")
+                        .param("teamId", "team-1")
+                        .param("since", "0")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.teamId").value("team-1"))
+                .andExpect(jsonPath("$.changeSeq").value(5));
+    }
+}
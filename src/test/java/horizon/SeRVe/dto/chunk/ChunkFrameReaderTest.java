@@ -0,0 +1,105 @@
+package horizon.SeRVe.dto.chunk;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChunkFrameReaderTest {
+
+    @Test
+    @DisplayName("청크 프레임과 DEK 프레임을 순서대로 전달한다")
+    void readTo_deliversChunksAndDek() throws IOException {
+        byte[] body = frames(out -> {
+            writeFrame(out, ChunkFrameReader.DEK_FRAME_INDEX, "dek".getBytes());
+            writeFrame(out, 0, "chunk-0".getBytes());
+            writeFrame(out, 7, new byte[0]);
+        });
+
+        RecordingSink sink = new RecordingSink();
+        new ChunkFrameReader(new ByteArrayInputStream(body)).readTo(sink);
+
+        assertArrayEquals("dek".getBytes(), sink.dek);
+        assertEquals(List.of(0, 7), sink.indexes);
+        assertArrayEquals("chunk-0".getBytes(), sink.blobs.get(0));
+        assertEquals(0, sink.blobs.get(1).length);
+    }
+
+    @Test
+    @DisplayName("빈 본문은 아무 것도 전달하지 않는다")
+    void readTo_emptyBody() throws IOException {
+        RecordingSink sink = new RecordingSink();
+        new ChunkFrameReader(new ByteArrayInputStream(new byte[0])).readTo(sink);
+
+        assertTrue(sink.indexes.isEmpty());
+        assertNull(sink.dek);
+    }
+
+    @Test
+    @DisplayName("잘린 프레임은 EOFException으로 실패한다")
+    void readTo_truncatedFrame() throws IOException {
+        byte[] body = frames(out -> {
+            out.writeInt(0);
+            out.writeInt(10);
+            out.write(new byte[3]);
+        });
+
+        assertThrows(EOFException.class,
+                () -> new ChunkFrameReader(new ByteArrayInputStream(body)).readTo(new RecordingSink()));
+    }
+
+    @Test
+    @DisplayName("음수 길이 프레임은 거부한다")
+    void readTo_negativeLength() throws IOException {
+        byte[] body = frames(out -> {
+            out.writeInt(0);
+            out.writeInt(-5);
+        });
+
+        assertThrows(IllegalArgumentException.class,
+                () -> new ChunkFrameReader(new ByteArrayInputStream(body)).readTo(new RecordingSink()));
+    }
+
+    private interface FrameWriter {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    private static byte[] frames(FrameWriter writer) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        writer.write(out);
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private static void writeFrame(DataOutputStream out, int chunkIndex, byte[] payload) throws IOException {
+        out.writeInt(chunkIndex);
+        out.writeInt(payload.length);
+        out.write(payload);
+    }
+
+    private static class RecordingSink implements ChunkStreamSink {
+        private byte[] dek;
+        private final List<Integer> indexes = new ArrayList<>();
+        private final List<byte[]> blobs = new ArrayList<>();
+
+        @Override
+        public void encryptedDEK(byte[] encryptedDEK) {
+            this.dek = encryptedDEK;
+        }
+
+        @Override
+        public void chunk(int chunkIndex, byte[] encryptedBlob) {
+            indexes.add(chunkIndex);
+            blobs.add(encryptedBlob);
+        }
+    }
+}
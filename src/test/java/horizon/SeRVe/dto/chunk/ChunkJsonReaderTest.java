@@ -0,0 +1,85 @@
+package horizon.SeRVe.dto.chunk;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChunkJsonReaderTest {
+
+    private static final JsonFactory JSON = new JsonFactory();
+
+    @Test
+    @DisplayName("fileName을 먼저 읽고 chunks 항목을 순서대로 디코딩해 전달한다")
+    void readTo_streamsChunksAfterFileName() throws IOException {
+        String body = "{\"fileName\":\"manual.pdf\",\"encryptedDEK\":\"" + b64("dek") + "\","
+                + "\"chunks\":[{\"chunkIndex\":0,\"encryptedBlob\":\"" + b64("chunk-0") + "\"},"
+                + "{\"encryptedBlob\":\"" + b64("chunk-1") + "\",\"chunkIndex\":1}]}";
+
+        ChunkJsonReader reader = open(body);
+        assertEquals("manual.pdf", reader.getFileName());
+
+        RecordingSink sink = new RecordingSink();
+        reader.readTo(sink);
+
+        assertArrayEquals("dek".getBytes(), sink.dek);
+        assertEquals(List.of(0, 1), sink.indexes);
+        assertArrayEquals("chunk-1".getBytes(), sink.blobs.get(1));
+    }
+
+    @Test
+    @DisplayName("chunks가 fileName보다 먼저 와도 모두 전달되고, 뒤에 오는 encryptedDEK도 반영된다")
+    void readTo_handlesChunksBeforeFileName() throws IOException {
+        String body = "{\"chunks\":[{\"chunkIndex\":3,\"encryptedBlob\":\"" + b64("chunk-3") + "\"}],"
+                + "\"fileName\":\"manual.pdf\",\"unknown\":{\"nested\":[1,2]},"
+                + "\"encryptedDEK\":\"" + b64("dek") + "\"}";
+
+        ChunkJsonReader reader = open(body);
+        assertEquals("manual.pdf", reader.getFileName());
+
+        RecordingSink sink = new RecordingSink();
+        reader.readTo(sink);
+
+        assertEquals(List.of(3), sink.indexes);
+        assertArrayEquals("dek".getBytes(), sink.dek);
+    }
+
+    @Test
+    @DisplayName("chunkIndex 또는 encryptedBlob이 없는 항목은 거부한다")
+    void readTo_rejectsIncompleteItem() throws IOException {
+        ChunkJsonReader reader = open("{\"fileName\":\"manual.pdf\",\"chunks\":[{\"chunkIndex\":0}]}");
+
+        assertThrows(IllegalArgumentException.class, () -> reader.readTo(new RecordingSink()));
+    }
+
+    private static ChunkJsonReader open(String body) throws IOException {
+        return new ChunkJsonReader(JSON.createParser(body.getBytes())).open();
+    }
+
+    private static String b64(String value) {
+        return Base64.getEncoder().encodeToString(value.getBytes());
+    }
+
+    private static class RecordingSink implements ChunkStreamSink {
+        private byte[] dek;
+        private final List<Integer> indexes = new ArrayList<>();
+        private final List<byte[]> blobs = new ArrayList<>();
+
+        @Override
+        public void encryptedDEK(byte[] encryptedDEK) {
+            this.dek = encryptedDEK;
+        }
+
+        @Override
+        public void chunk(int chunkIndex, byte[] encryptedBlob) {
+            indexes.add(chunkIndex);
+            blobs.add(encryptedBlob);
+        }
+    }
+}
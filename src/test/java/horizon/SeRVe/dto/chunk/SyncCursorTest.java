@@ -0,0 +1,26 @@
+package horizon.SeRVe.dto.chunk;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SyncCursorTest {
+
+    @Test
+    @DisplayName("인코딩한 커서는 같은 change_seq로 복원된다")
+    void encode_decode_roundTrip() {
+        String cursor = SyncCursor.encode(123_456_789L);
+
+        assertEquals(123_456_789L, SyncCursor.decode(cursor));
+        assertFalse(cursor.contains("123456789"));
+    }
+
+    @Test
+    @DisplayName("형식이 맞지 않는 커서는 거부된다")
+    void decode_rejectsMalformedCursor() {
+        assertThrows(IllegalArgumentException.class, () -> SyncCursor.decode("not-base64!"));
+        assertThrows(IllegalArgumentException.class, () -> SyncCursor.decode("MTIz")); // 접두사 없는 "123"
+        assertThrows(IllegalArgumentException.class, () -> SyncCursor.decode(SyncCursor.encode(-1)));
+    }
+}
@@ -0,0 +1,95 @@
+package horizon.SeRVe.dto.sync;
+
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.WireFormat;
+import horizon.SeRVe.dto.chunk.ChunkSyncResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SyncProtobufCodecTest {
+
+    @Test
+    @DisplayName("청크 프레임은 길이 접두사와 스키마 필드 번호대로 기록되고 blob은 원본 바이트로 전달된다")
+    void writeChunk_lengthDelimitedFrames() throws Exception {
+        byte[] blob = {0, 1, 2, (byte) 0xFF};
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        CodedOutputStream out = CodedOutputStream.newInstance(buffer);
+        SyncProtobufCodec.writeChunk(out, chunk("chunk-1", 3, blob, 42L, false));
+        SyncProtobufCodec.writeChunk(out, chunk("chunk-2", 0, new byte[0], 43L, true));
+        out.flush();
+
+        CodedInputStream in = CodedInputStream.newInstance(buffer.toByteArray());
+        Map<Integer, Object> first = readFrame(in);
+        Map<Integer, Object> second = readFrame(in);
+        assertTrue(in.isAtEnd());
+
+        assertEquals("doc-1", first.get(1));
+        assertEquals("chunk-1", first.get(2));
+        assertEquals(3L, first.get(3));
+        assertArrayEquals(blob, (byte[]) first.get(4));
+        assertEquals(42L, first.get(6));
+        assertNull(first.get(7));
+        assertEquals("admin@test.com", first.get(8));
+
+        // 기본값 필드(chunkIndex 0, 빈 blob)는 생략
+        assertNull(second.get(3));
+        assertNull(second.get(4));
+        assertEquals(1L, second.get(7));
+    }
+
+    @Test
+    @DisplayName("문서 프레임은 ChangedDocument 스키마대로 기록된다")
+    void writeDocument_fields() throws Exception {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        CodedOutputStream out = CodedOutputStream.newInstance(buffer);
+        SyncProtobufCodec.writeDocument(out, new ChangedDocumentResponse("doc-1", "a.pdf", "pdf", 6, "user-1"));
+        out.flush();
+
+        Map<Integer, Object> fields = readFrame(CodedInputStream.newInstance(buffer.toByteArray()));
+
+        assertEquals("doc-1", fields.get(1));
+        assertEquals("a.pdf", fields.get(2));
+        assertEquals("pdf", fields.get(3));
+        assertEquals(6L, fields.get(4));
+        assertEquals("user-1", fields.get(5));
+    }
+
+    private ChunkSyncResponse chunk(String chunkId, int chunkIndex, byte[] blob, long changeSeq, boolean deleted) {
+        return ChunkSyncResponse.builder()
+                .documentId("doc-1")
+                .chunkId(chunkId)
+                .chunkIndex(chunkIndex)
+                .encryptedBlob(blob)
+                .version(1)
+                .changeSeq(changeSeq)
+                .isDeleted(deleted)
+                .createdBy("admin@test.com")
+                .build();
+    }
+
+    // 프레임 하나를 필드 번호 → 값(varint는 Long, 길이 구분 필드는 byte[] 또는 String)으로 읽음
+    private Map<Integer, Object> readFrame(CodedInputStream in) throws Exception {
+        int limit = in.pushLimit(in.readRawVarint32());
+        Map<Integer, Object> fields = new HashMap<>();
+        while (!in.isAtEnd()) {
+            int tag = in.readTag();
+            int field = WireFormat.getTagFieldNumber(tag);
+            if (WireFormat.getTagWireType(tag) == WireFormat.WIRETYPE_VARINT) {
+                fields.put(field, in.readRawVarint64());
+            } else {
+                byte[] bytes = in.readByteArray();
+                fields.put(field, field == 4 ? bytes : new String(bytes, StandardCharsets.UTF_8));
+            }
+        }
+        in.popLimit(limit);
+        return fields;
+    }
+}
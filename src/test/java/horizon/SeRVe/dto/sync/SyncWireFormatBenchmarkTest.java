@@ -0,0 +1,113 @@
+package horizon.SeRVe.dto.sync;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.protobuf.CodedOutputStream;
+import horizon.SeRVe.dto.chunk.ChunkNdjsonWriter;
+import horizon.SeRVe.dto.chunk.ChunkProtobufWriter;
+import horizon.SeRVe.dto.chunk.ChunkSyncResponse;
+import horizon.SeRVe.dto.chunk.ChunkSyncSink;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 동기화 응답 형식 비교 (JSON vs protobuf): 페이로드 크기와 직렬화 CPU 시간
+ *
+ * 일반 테스트에서는 제외 (./gradlew benchmark 로 실행)
+ */
+@Tag("benchmark")
+class SyncWireFormatBenchmarkTest {
+
+    private static final int CHUNK_COUNT = 2_000;
+    private static final int BLOB_BYTES = 1_536; // 임베딩 벡터 384차원(float32) 암호문 수준
+    private static final int WARMUP_ROUNDS = 20;
+    private static final int MEASURE_ROUNDS = 50;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("protobuf 프레임은 JSON보다 작고 직렬화 비용이 낮다")
+    void compareJsonAndProtobuf() throws IOException {
+        List<ChunkSyncResponse> chunks = sampleChunks();
+
+        long jsonBytes = serialize(chunks, this::ndjson).size();
+        long protobufBytes = serialize(chunks, this::protobuf).size();
+        double jsonMicros = measure(chunks, this::ndjson);
+        double protobufMicros = measure(chunks, this::protobuf);
+
+        System.out.printf("[SyncWireFormat] chunks=%d, blob=%dB%n", CHUNK_COUNT, BLOB_BYTES);
+        System.out.printf("[SyncWireFormat] JSON     : %,d bytes, %.1f us/round%n", jsonBytes, jsonMicros);
+        System.out.printf("[SyncWireFormat] protobuf : %,d bytes, %.1f us/round (크기 %.1f%%)%n",
+                protobufBytes, protobufMicros, 100.0 * protobufBytes / jsonBytes);
+
+        // Base64(4/3 배)와 필드 이름 반복이 없으므로 크기는 항상 작아야 함
+        assertTrue(protobufBytes < jsonBytes);
+    }
+
+    private ChunkSyncSink ndjson(OutputStream out) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+        return new ChunkNdjsonWriter(generator);
+    }
+
+    private ChunkSyncSink protobuf(OutputStream out) {
+        return new ChunkProtobufWriter(CodedOutputStream.newInstance(out));
+    }
+
+    private double measure(List<ChunkSyncResponse> chunks, SinkFactory factory) throws IOException {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            serialize(chunks, factory);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURE_ROUNDS; i++) {
+            serialize(chunks, factory);
+        }
+        return (System.nanoTime() - start) / 1_000.0 / MEASURE_ROUNDS;
+    }
+
+    private ByteArrayOutputStream serialize(List<ChunkSyncResponse> chunks, SinkFactory factory) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(CHUNK_COUNT * BLOB_BYTES * 2);
+        try (ChunkSyncSink sink = factory.open(out)) {
+            for (ChunkSyncResponse chunk : chunks) {
+                sink.chunk(chunk);
+            }
+        }
+        return out;
+    }
+
+    private List<ChunkSyncResponse> sampleChunks() {
+        Random random = new Random(42);
+        String documentId = UUID.randomUUID().toString();
+        List<ChunkSyncResponse> chunks = new ArrayList<>(CHUNK_COUNT);
+        for (int i = 0; i < CHUNK_COUNT; i++) {
+            byte[] blob = new byte[BLOB_BYTES];
+            random.nextBytes(blob);
+            chunks.add(ChunkSyncResponse.builder()
+                    .documentId(documentId)
+                    .chunkId(UUID.randomUUID().toString())
+                    .chunkIndex(i)
+                    .encryptedBlob(blob)
+                    .version(1)
+                    .changeSeq(1_000_000L + i)
+                    .isDeleted(false)
+                    .createdBy("robot-01@factory.example")
+                    .build());
+        }
+        return chunks;
+    }
+
+    @FunctionalInterface
+    private interface SinkFactory {
+        ChunkSyncSink open(OutputStream out) throws IOException;
+    }
+}
@@ -0,0 +1,33 @@
+package horizon.SeRVe.dto.upload;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChunkRangeTest {
+
+    @Test
+    @DisplayName("연속된 chunk_index는 하나의 구간으로 압축된다")
+    void fromSortedIndexes_mergesContiguousIndexes() {
+        List<ChunkRange> ranges = ChunkRange.fromSortedIndexes(List.of(0, 1, 2, 5, 7, 8));
+
+        assertEquals(3, ranges.size());
+        assertRange(ranges.get(0), 0, 2);
+        assertRange(ranges.get(1), 5, 5);
+        assertRange(ranges.get(2), 7, 8);
+    }
+
+    @Test
+    @DisplayName("수신된 청크가 없으면 빈 목록을 반환한다")
+    void fromSortedIndexes_empty() {
+        assertTrue(ChunkRange.fromSortedIndexes(List.of()).isEmpty());
+    }
+
+    private void assertRange(ChunkRange range, int start, int end) {
+        assertEquals(start, range.getStart());
+        assertEquals(end, range.getEnd());
+    }
+}
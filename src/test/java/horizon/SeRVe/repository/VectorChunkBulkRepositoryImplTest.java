@@ -0,0 +1,265 @@
+package horizon.SeRVe.repository;
+
+import horizon.SeRVe.dto.chunk.ChunkPayload;
+import horizon.SeRVe.dto.chunk.ChunkReceipt;
+import horizon.SeRVe.entity.VectorChunk;
+import horizon.SeRVe.event.TeamChangedEvent;
+import horizon.SeRVe.storage.InRowBlobStore;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class VectorChunkBulkRepositoryImplTest {
+
+    private static final String DOCUMENT_ID = "doc-1";
+    private static final String TEAM_ID = "team-1";
+
+    @Mock private JdbcTemplate jdbcTemplate;
+    @Mock private EntityManager entityManager;
+    @Mock private ApplicationEventPublisher eventPublisher;
+    @Spy private InRowBlobStore blobStore;
+
+    @InjectMocks
+    private VectorChunkBulkRepositoryImpl bulkRepository;
+
+    @BeforeEach
+    void setUp() {
+        givenChangeSeqAllocation();
+    }
+
+    @Test
+    @DisplayName("배치 크기가 커져도 SQL 왕복 횟수는 일정하다 (SELECT 1 + 시퀀스 할당 2 + INSERT 배치 1 + UPDATE 배치 1)")
+    void upsertChunks_statementCountIsConstant() {
+        for (int batchSize : new int[]{10, 100, 5000}) {
+            reset(jdbcTemplate);
+            givenChangeSeqAllocation();
+
+            // 절반은 기존 청크(UPDATE), 절반은 신규 청크(INSERT)
+            givenExistingChunks(IntStream.range(0, batchSize / 2)
+                    .mapToObj(i -> existing(i, "old-" + i, false))
+                    .collect(Collectors.toList()));
+
+            bulkRepository.upsertChunks(DOCUMENT_ID, TEAM_ID, blobs(batchSize));
+
+            verify(jdbcTemplate, times(1)).query(anyString(), ArgumentMatchers.<RowMapper<?>>any(), eq(DOCUMENT_ID));
+            verify(jdbcTemplate, times(1)).update(startsWith("UPDATE teams"), eq(batchSize), eq(TEAM_ID));
+            verify(jdbcTemplate, times(1)).queryForObject(startsWith("SELECT change_seq"), eq(Long.class), eq(TEAM_ID));
+            verify(jdbcTemplate, times(1)).batchUpdate(startsWith("INSERT"), any(BatchPreparedStatementSetter.class));
+            verify(jdbcTemplate, times(1)).batchUpdate(startsWith("UPDATE"), any(BatchPreparedStatementSetter.class));
+            verifyNoMoreInteractions(jdbcTemplate);
+        }
+    }
+
+    @Test
+    @DisplayName("기존 chunk_index는 UPDATE, 없는 chunk_index는 INSERT로 분류된다")
+    void upsertChunks_splitsInsertsAndUpdates() {
+        givenExistingChunks(List.of(
+                existing(0, "old-0", false), existing(1, "old-1", false), existing(2, "old-2", false)));
+
+        List<ChunkReceipt> changed = bulkRepository.upsertChunks(DOCUMENT_ID, TEAM_ID, blobs(10));
+
+        ArgumentCaptor<BatchPreparedStatementSetter> inserts = ArgumentCaptor.forClass(BatchPreparedStatementSetter.class);
+        ArgumentCaptor<BatchPreparedStatementSetter> updates = ArgumentCaptor.forClass(BatchPreparedStatementSetter.class);
+        verify(jdbcTemplate).batchUpdate(startsWith("INSERT"), inserts.capture());
+        verify(jdbcTemplate).batchUpdate(startsWith("UPDATE"), updates.capture());
+
+        assertEquals(7, inserts.getValue().getBatchSize());
+        assertEquals(3, updates.getValue().getBatchSize());
+        assertEquals(10, changed.size());
+
+        // JDBC 직접 갱신 후 영속성 컨텍스트 정리
+        verify(entityManager).flush();
+        verify(entityManager).clear();
+    }
+
+    @Test
+    @DisplayName("UPDATE는 blob을 로딩하지 않고 version 증가와 삭제 플래그 해제를 함께 수행한다")
+    void upsertChunks_updateBumpsVersionAndUndeletes() {
+        givenExistingChunks(List.of(existing(0, "old-0", false)));
+
+        bulkRepository.upsertChunks(DOCUMENT_ID, TEAM_ID, blobs(1));
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate).batchUpdate(sql.capture(), any(BatchPreparedStatementSetter.class));
+        assertTrue(sql.getValue().contains("version = version + 1"));
+        assertTrue(sql.getValue().contains("is_deleted = ?"));
+        verify(jdbcTemplate, never()).batchUpdate(startsWith("INSERT"), any(BatchPreparedStatementSetter.class));
+    }
+
+    @Test
+    @DisplayName("동일한 암호문 재업로드는 쓰지 않고 변경 목록에서도 제외된다")
+    void upsertChunks_skipsIdenticalContent() {
+        givenExistingChunks(List.of(
+                existing(0, "chunk-0", false),   // 동일 내용 → 생략
+                existing(1, "old-1", false),     // 내용 변경 → UPDATE
+                existing(2, "chunk-2", true)));  // 동일 내용이지만 삭제 상태 → UPDATE (삭제 해제)
+
+        List<ChunkReceipt> changed = bulkRepository.upsertChunks(DOCUMENT_ID, TEAM_ID, blobs(3));
+
+        assertEquals(List.of(1, 2), indexes(changed));
+        ArgumentCaptor<BatchPreparedStatementSetter> updates = ArgumentCaptor.forClass(BatchPreparedStatementSetter.class);
+        verify(jdbcTemplate).batchUpdate(startsWith("UPDATE"), updates.capture());
+        assertEquals(2, updates.getValue().getBatchSize());
+        verify(jdbcTemplate, never()).batchUpdate(startsWith("INSERT"), any(BatchPreparedStatementSetter.class));
+    }
+
+    @Test
+    @DisplayName("모든 청크가 동일하면 쓰기 배치를 보내지 않는다")
+    void upsertChunks_allUnchanged() {
+        givenExistingChunks(List.of(existing(0, "chunk-0", false), existing(1, "chunk-1", false)));
+
+        List<ChunkReceipt> changed = bulkRepository.upsertChunks(DOCUMENT_ID, TEAM_ID, blobs(2));
+
+        assertTrue(changed.isEmpty());
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), any(BatchPreparedStatementSetter.class));
+    }
+
+    @Test
+    @DisplayName("변경된 청크의 blob만 BlobStore에 한 번에 저장한다")
+    void upsertChunks_storesChangedBlobsInOneCall() {
+        givenExistingChunks(List.of(existing(0, "chunk-0", false), existing(1, "old-1", false)));
+
+        bulkRepository.upsertChunks(DOCUMENT_ID, TEAM_ID, blobs(4));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<byte[]>> stored = ArgumentCaptor.forClass(List.class);
+        verify(blobStore, times(1)).store(stored.capture());
+        assertEquals(3, stored.getValue().size()); // 신규 2 + 변경 1 (동일 내용 0번은 제외)
+    }
+
+    @Test
+    @DisplayName("여러 문서를 한 번에 UPSERT해도 SELECT 1 + INSERT 배치 1 + UPDATE 배치 1만 실행한다")
+    void upsertDocumentsChunks_singleRoundTripForAllDocuments() {
+        given(jdbcTemplate.query(anyString(), ArgumentMatchers.<RowMapper<VectorChunkBulkRepositoryImpl.ExistingChunk>>any(),
+                eq("doc-a"), eq("doc-b"), eq("doc-c")))
+                .willReturn(List.of(new VectorChunkBulkRepositoryImpl.ExistingChunk(
+                        "chunk-b0", "doc-b", 0, VectorChunk.computeContentHash("old".getBytes()), 3, false)));
+
+        Map<String, List<ChunkPayload>> chunksByDocument = new LinkedHashMap<>();
+        chunksByDocument.put("doc-a", List.of(ChunkPayload.of(0, "a-0".getBytes()), ChunkPayload.of(1, "a-1".getBytes())));
+        chunksByDocument.put("doc-b", List.of(ChunkPayload.of(0, "b-0".getBytes())));
+        chunksByDocument.put("doc-c", List.of());
+
+        Map<String, List<ChunkReceipt>> changed = bulkRepository.upsertDocumentsChunks(TEAM_ID, "user-1", chunksByDocument);
+
+        assertEquals(List.of(0, 1), indexes(changed.get("doc-a")));
+        assertEquals(List.of(0), indexes(changed.get("doc-b")));
+        assertEquals(List.of(), indexes(changed.get("doc-c")));
+        ArgumentCaptor<BatchPreparedStatementSetter> inserts = ArgumentCaptor.forClass(BatchPreparedStatementSetter.class);
+        ArgumentCaptor<BatchPreparedStatementSetter> updates = ArgumentCaptor.forClass(BatchPreparedStatementSetter.class);
+        verify(jdbcTemplate, times(1)).batchUpdate(startsWith("INSERT"), inserts.capture());
+        verify(jdbcTemplate, times(1)).batchUpdate(startsWith("UPDATE"), updates.capture());
+        assertEquals(2, inserts.getValue().getBatchSize());
+        assertEquals(1, updates.getValue().getBatchSize());
+        verify(blobStore, times(1)).store(anyList());
+    }
+
+    @Test
+    @DisplayName("영수증에는 기존 청크의 chunkId와 증가된 version, 신규 청크의 새 chunkId와 version 0이 담긴다")
+    void upsertChunks_returnsReceipts() {
+        givenExistingChunks(List.of(existing(0, "old-0", false)));
+
+        List<ChunkReceipt> receipts = bulkRepository.upsertPreparedChunks(DOCUMENT_ID, TEAM_ID, "user-1",
+                List.of(ChunkPayload.of(0, "chunk-0".getBytes()), ChunkPayload.of(1, "chunk-1".getBytes())));
+
+        assertEquals("chunk-0", receipts.get(0).getChunkId());
+        assertEquals(2, receipts.get(0).getVersion());
+        assertNotNull(receipts.get(1).getChunkId());
+        assertEquals(0, receipts.get(1).getVersion());
+    }
+
+    @Test
+    @DisplayName("변경 시퀀스를 할당하면 구간의 마지막 시퀀스로 팀 변경 이벤트를 발행한다")
+    void allocateChangeSeq_publishesTeamChangedEvent() {
+        long firstSeq = bulkRepository.allocateChangeSeq(TEAM_ID, 3);
+
+        ArgumentCaptor<TeamChangedEvent> event = ArgumentCaptor.forClass(TeamChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(99_998L, firstSeq);
+        assertEquals(TEAM_ID, event.getValue().getTeamId());
+        assertEquals(100_000L, event.getValue().getChangeSeq());
+    }
+
+    @Test
+    @DisplayName("트랜잭션 안에서는 여러 번 기록해도 변경 시퀀스를 마지막에 한 번만 할당한다 (팀 행 잠금은 커밋 직전에만)")
+    void upsertChunks_defersChangeSeqUntilAssigned() {
+        given(jdbcTemplate.query(anyString(), ArgumentMatchers.<RowMapper<VectorChunkBulkRepositoryImpl.ExistingChunk>>any(), eq(DOCUMENT_ID)))
+                .willReturn(List.of());
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // 스트리밍 업로드의 flush 2회에 해당
+            bulkRepository.upsertChunks(DOCUMENT_ID, TEAM_ID, blobs(3));
+            bulkRepository.upsertChunks(DOCUMENT_ID, TEAM_ID, Map.of(5, "chunk-5".getBytes()));
+            verify(jdbcTemplate, never()).update(startsWith("UPDATE teams"), anyInt(), anyString());
+
+            bulkRepository.assignPendingChangeSeqs();
+
+            ArgumentCaptor<BatchPreparedStatementSetter> assigned = ArgumentCaptor.forClass(BatchPreparedStatementSetter.class);
+            verify(jdbcTemplate, times(1)).update(startsWith("UPDATE teams"), eq(4), eq(TEAM_ID));
+            verify(jdbcTemplate, times(1)).batchUpdate(startsWith("UPDATE vector_chunks SET change_seq"), assigned.capture());
+            assertEquals(4, assigned.getValue().getBatchSize());
+
+            // 이미 할당했으면 커밋 직전 호출은 아무것도 하지 않음
+            TransactionSynchronizationManager.getSynchronizations().forEach(sync -> sync.beforeCommit(false));
+            verify(jdbcTemplate, times(1)).update(startsWith("UPDATE teams"), anyInt(), anyString());
+        } finally {
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private void givenChangeSeqAllocation() {
+        lenient().when(jdbcTemplate.update(startsWith("UPDATE teams"), anyInt(), eq(TEAM_ID))).thenReturn(1);
+        lenient().when(jdbcTemplate.queryForObject(startsWith("SELECT change_seq"), eq(Long.class), eq(TEAM_ID)))
+                .thenReturn(100_000L);
+    }
+
+    private void givenExistingChunks(List<VectorChunkBulkRepositoryImpl.ExistingChunk> existingChunks) {
+        given(jdbcTemplate.query(anyString(), ArgumentMatchers.<RowMapper<VectorChunkBulkRepositoryImpl.ExistingChunk>>any(), eq(DOCUMENT_ID)))
+                .willReturn(existingChunks);
+    }
+
+    private VectorChunkBulkRepositoryImpl.ExistingChunk existing(int chunkIndex, String content, boolean deleted) {
+        return new VectorChunkBulkRepositoryImpl.ExistingChunk(
+                "chunk-" + chunkIndex, DOCUMENT_ID, chunkIndex, VectorChunk.computeContentHash(content.getBytes()), 1, deleted);
+    }
+
+    private List<Integer> indexes(List<ChunkReceipt> receipts) {
+        return receipts.stream().map(ChunkReceipt::getChunkIndex).collect(Collectors.toList());
+    }
+
+    private Map<Integer, byte[]> blobs(int count) {
+        Map<Integer, byte[]> blobs = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            blobs.put(i, ("chunk-" + i).getBytes());
+        }
+        return blobs;
+    }
+}
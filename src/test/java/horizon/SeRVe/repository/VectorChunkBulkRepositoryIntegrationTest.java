@@ -0,0 +1,170 @@
+package horizon.SeRVe.repository;
+
+import horizon.SeRVe.dto.chunk.ChunkReceipt;
+import horizon.SeRVe.entity.Document;
+import horizon.SeRVe.entity.Team;
+import horizon.SeRVe.entity.User;
+import horizon.SeRVe.entity.VectorChunk;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 일괄 upsert를 실제 DB(H2)에 실행하고 결과 행을 확인
+ * (SQL 왕복 횟수는 VectorChunkBulkRepositoryImplTest에서 확인)
+ */
+@SpringBootTest
+@Transactional
+class VectorChunkBulkRepositoryIntegrationTest {
+
+    @Autowired
+    private VectorChunkRepository vectorChunkRepository;
+
+    @Autowired
+    private DocumentRepository documentRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Team team;
+    private Document document;
+
+    @BeforeEach
+    void setUp() {
+        User uploader = userRepository.save(User.builder()
+                .userId(UUID.randomUUID().toString())
+                .email("uploader@test.com")
+                .hashedPassword("password")
+                .publicKey("dummy-public-key")
+                .encryptedPrivateKey("dummy-encrypted-private-key")
+                .build());
+        team = teamRepository.save(new Team("Bulk Team", "bulk upsert", uploader.getUserId()));
+        document = documentRepository.save(Document.builder()
+                .documentId(UUID.randomUUID().toString())
+                .team(team)
+                .uploader(uploader)
+                .originalFileName("bulk.bin")
+                .fileType("application/octet-stream")
+                .build());
+        documentRepository.flush();
+    }
+
+    @Test
+    @DisplayName("신규 chunk_index는 version 0으로 INSERT되고 팀 변경 시퀀스를 받는다")
+    void upsert_insertsNewChunks() {
+        List<ChunkReceipt> receipts = upsert(0, "a", 1, "b");
+
+        assertThat(receipts).extracting(ChunkReceipt::getChunkIndex).containsExactly(0, 1);
+        assertThat(receipts).extracting(ChunkReceipt::getVersion).containsExactly(0, 0);
+
+        Map<String, Object> row = row(0);
+        assertThat(row.get("version")).isEqualTo(0);
+        assertThat((byte[]) row.get("encrypted_blob")).isEqualTo("a".getBytes());
+        assertThat((byte[]) row.get("content_hash")).isEqualTo(VectorChunk.computeContentHash("a".getBytes()));
+        assertThat(row.get("is_deleted")).isEqualTo(false);
+        assertThat(changeSeqs()).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(teamChangeSeq()).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("내용이 바뀐 청크만 UPDATE되어 version과 변경 시퀀스가 증가하고, 같은 내용은 건너뛴다")
+    void upsert_updatesChangedAndSkipsUnchanged() {
+        upsert(0, "a", 1, "b");
+        Object unchangedSeq = row(0).get("change_seq");
+
+        List<ChunkReceipt> receipts = upsert(0, "a", 1, "b2");
+
+        assertThat(receipts).extracting(ChunkReceipt::getChunkIndex).containsExactly(1);
+        assertThat(receipts.get(0).getVersion()).isEqualTo(1);
+
+        Map<String, Object> unchanged = row(0);
+        assertThat(unchanged.get("version")).isEqualTo(0);
+        assertThat(unchanged.get("change_seq")).isEqualTo(unchangedSeq);
+
+        Map<String, Object> changed = row(1);
+        assertThat(changed.get("version")).isEqualTo(1);
+        assertThat((byte[]) changed.get("encrypted_blob")).isEqualTo("b2".getBytes());
+        assertThat(changed.get("change_seq")).isEqualTo(3L);
+        assertThat(teamChangeSeq()).isEqualTo(3L);
+    }
+
+    @Test
+    @DisplayName("삭제된 청크에 같은 내용을 다시 올리면 tombstone이 되살아난다 (version 증가)")
+    void upsert_revivesTombstone() {
+        upsert(0, "a");
+        jdbcTemplate.update("UPDATE vector_chunks SET is_deleted = TRUE WHERE document_id = ? AND chunk_index = 0",
+                document.getDocumentId());
+
+        List<ChunkReceipt> receipts = upsert(0, "a");
+
+        assertThat(receipts).extracting(ChunkReceipt::getVersion).containsExactly(1);
+        Map<String, Object> row = row(0);
+        assertThat(row.get("is_deleted")).isEqualTo(false);
+        assertThat(row.get("version")).isEqualTo(1);
+        assertThat(row.get("change_seq")).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("미뤄 둔 change_seq를 버리면 청크는 시퀀스 없이 남고, 나중에 문서 단위로 한 번에 할당된다")
+    void discardedChangeSeqs_assignedLaterByDocument() {
+        vectorChunkRepository.upsertChunks(document.getDocumentId(), team.getTeamId(),
+                Map.of(0, "a".getBytes(), 1, "b".getBytes()));
+        vectorChunkRepository.discardPendingChangeSeqs();
+        vectorChunkRepository.assignPendingChangeSeqs();
+
+        assertThat(changeSeqs()).containsOnlyNulls();
+        assertThat(teamChangeSeq()).isEqualTo(0L);
+
+        int published = vectorChunkRepository.deferUnstampedChangeSeqs(team.getTeamId(), "bulk.bin");
+        vectorChunkRepository.assignPendingChangeSeqs();
+
+        assertThat(published).isEqualTo(2);
+        assertThat(changeSeqs()).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(teamChangeSeq()).isEqualTo(2L);
+    }
+
+    private List<ChunkReceipt> upsert(Object... indexAndContent) {
+        Map<Integer, byte[]> blobsByIndex = new LinkedHashMap<>();
+        for (int i = 0; i < indexAndContent.length; i += 2) {
+            blobsByIndex.put((Integer) indexAndContent[i], ((String) indexAndContent[i + 1]).getBytes());
+        }
+        List<ChunkReceipt> receipts = vectorChunkRepository.upsertChunks(
+                document.getDocumentId(), team.getTeamId(), blobsByIndex);
+        // 테스트 트랜잭션은 커밋되지 않으므로 커밋 직전 할당을 직접 실행
+        vectorChunkRepository.assignPendingChangeSeqs();
+        return receipts;
+    }
+
+    private Map<String, Object> row(int chunkIndex) {
+        return jdbcTemplate.queryForMap(
+                "SELECT encrypted_blob, content_hash, version, is_deleted, change_seq FROM vector_chunks " +
+                "WHERE document_id = ? AND chunk_index = ?", document.getDocumentId(), chunkIndex);
+    }
+
+    private List<Long> changeSeqs() {
+        return jdbcTemplate.queryForList("SELECT change_seq FROM vector_chunks WHERE document_id = ?",
+                Long.class, document.getDocumentId());
+    }
+
+    private Long teamChangeSeq() {
+        return jdbcTemplate.queryForObject("SELECT change_seq FROM teams WHERE team_id = ?",
+                Long.class, team.getTeamId());
+    }
+}
@@ -0,0 +1,117 @@
+package horizon.SeRVe.service;
+
+import horizon.SeRVe.dto.chunk.ChunkStreamSource;
+import horizon.SeRVe.dto.chunk.ChunkUploadResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ChunkCoalescingServiceTest {
+
+    private static final String TEAM_ID = "team-1";
+    private static final String FILE_NAME = "status.json";
+    private static final String USER_ID = "robot-1";
+
+    private final ChunkService chunkService = mock(ChunkService.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    // 구간을 충분히 길게 잡아 테스트에서 직접 flushAll 호출
+    private final ChunkCoalescingService coalescingService =
+            new ChunkCoalescingService(chunkService, meterRegistry, List.of(TEAM_ID), 60_000, 1 << 20);
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        coalescingService.stop();
+    }
+
+    @Test
+    @DisplayName("같은 구간에서 같은 청크를 여러 번 덮어쓰면 마지막 값만 한 번에 반영된다")
+    void submit_mergesRepeatedWritesToLastValue() throws Exception {
+        coalescingService.submit(TEAM_ID, FILE_NAME, USER_ID, source(0, "v1", 1, "a"));
+        coalescingService.submit(TEAM_ID, FILE_NAME, USER_ID, source(0, "v2"));
+        ChunkUploadResponse response = coalescingService.submit(TEAM_ID, FILE_NAME, USER_ID, source(0, "v3"));
+
+        assertTrue(response.isCoalesced());
+        assertEquals(List.of(0), response.getChangedIndexes());
+        verify(chunkService, never()).writeCoalescedChunks(any(), any(), any(), any(), any());
+
+        coalescingService.flushAll();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Map<Integer, byte[]>> written = ArgumentCaptor.forClass(Map.class);
+        verify(chunkService, times(1)).writeCoalescedChunks(eq(TEAM_ID), eq(FILE_NAME), eq(USER_ID), isNull(), written.capture());
+        assertEquals(2, written.getValue().size());
+        assertArrayEquals("v3".getBytes(), written.getValue().get(0));
+        assertArrayEquals("a".getBytes(), written.getValue().get(1));
+        assertEquals(2.0, meterRegistry.counter("serve.coalesce.merged").count());
+    }
+
+    @Test
+    @DisplayName("다른 사용자의 쓰기가 반영 대기 중인 문서에 접수하면 403으로 거절되고, 구간이 끝나면 접수된다")
+    void submit_rejectsSecondWriterUntilFlushed() throws Exception {
+        String otherUserId = "robot-2";
+        coalescingService.submit(TEAM_ID, FILE_NAME, USER_ID, source(0, "a1"));
+
+        assertThrows(SecurityException.class,
+                () -> coalescingService.submit(TEAM_ID, FILE_NAME, otherUserId, source(0, "b1")));
+
+        coalescingService.flushAll();
+        coalescingService.submit(TEAM_ID, FILE_NAME, otherUserId, source(0, "b1"));
+        coalescingService.flushAll();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Map<Integer, byte[]>> writtenByOther = ArgumentCaptor.forClass(Map.class);
+        verify(chunkService).writeCoalescedChunks(eq(TEAM_ID), eq(FILE_NAME), eq(otherUserId), isNull(), writtenByOther.capture());
+        assertArrayEquals("b1".getBytes(), writtenByOther.getValue().get(0));
+    }
+
+    @Test
+    @DisplayName("반영 실패 사유는 같은 사용자의 다음 접수 응답으로 한 번 전달된다")
+    void submit_reportsPreviousFlushFailure() throws Exception {
+        doThrow(new SecurityException("업로드 권한이 회수되었습니다."))
+                .when(chunkService).writeCoalescedChunks(any(), any(), any(), any(), any());
+        coalescingService.submit(TEAM_ID, FILE_NAME, USER_ID, source(0, "v1"));
+        coalescingService.flushAll();
+
+        ChunkUploadResponse next = coalescingService.submit(TEAM_ID, FILE_NAME, USER_ID, source(0, "v2"));
+        ChunkUploadResponse after = coalescingService.submit(TEAM_ID, FILE_NAME, USER_ID, source(0, "v3"));
+
+        assertEquals("업로드 권한이 회수되었습니다.", next.getFlushError());
+        assertNull(after.getFlushError());
+        assertEquals(1.0, meterRegistry.counter("serve.coalesce.failed").count());
+    }
+
+    @Test
+    @DisplayName("종료 시 남은 버퍼를 반영한다")
+    void stop_flushesPendingWrites() throws Exception {
+        coalescingService.submit(TEAM_ID, FILE_NAME, USER_ID, source(0, "v1"));
+
+        coalescingService.stop();
+
+        verify(chunkService, times(1)).writeCoalescedChunks(eq(TEAM_ID), eq(FILE_NAME), eq(USER_ID), isNull(), anyMap());
+    }
+
+    @Test
+    @DisplayName("설정되지 않은 팀은 병합 대상이 아니다")
+    void isEnabled_onlyConfiguredTeams() {
+        assertTrue(coalescingService.isEnabled(TEAM_ID));
+        assertFalse(coalescingService.isEnabled("team-2"));
+    }
+
+    private ChunkStreamSource source(Object... indexAndContent) {
+        return sink -> {
+            for (int i = 0; i < indexAndContent.length; i += 2) {
+                sink.chunk((Integer) indexAndContent[i], ((String) indexAndContent[i + 1]).getBytes());
+            }
+        };
+    }
+}
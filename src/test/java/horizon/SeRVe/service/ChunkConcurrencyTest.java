@@ -0,0 +1,206 @@
+package horizon.SeRVe.service;
+
+import horizon.SeRVe.dto.chunk.*;
+import horizon.SeRVe.entity.*;
+import horizon.SeRVe.repository.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 같은 문서에 대한 동시 업로드/삭제 검증
+ * - 여러 스레드가 각자 커밋해야 하므로 테스트 트랜잭션(@Transactional)을 사용하지 않고 직접 정리
+ */
+@SpringBootTest
+class ChunkConcurrencyTest {
+
+    private static final int THREADS = 8;
+    private static final int UPLOADS_PER_THREAD = 5;
+    private static final int CHUNKS_PER_UPLOAD = 4;
+
+    @Autowired private ChunkService chunkService;
+    @Autowired private VectorChunkRepository vectorChunkRepository;
+    @Autowired private DocumentRepository documentRepository;
+    @Autowired private TeamRepository teamRepository;
+    @Autowired private UserRepository userRepository;
+    @Autowired private MemberRepository memberRepository;
+    @Autowired private RateLimitService rateLimitService;
+
+    private User adminUser;
+    private User memberUser;
+    private Team team;
+    private final String fileName = "동시성테스트.pdf";
+
+    @BeforeEach
+    void setUp() {
+        adminUser = userRepository.save(user("concurrency-admin@test.com"));
+        memberUser = userRepository.save(user("concurrency-member@test.com"));
+
+        team = new Team("Concurrency Team", "Concurrency Test", adminUser.getUserId());
+        teamRepository.save(team);
+
+        memberRepository.save(member(adminUser, Role.ADMIN));
+        memberRepository.save(member(memberUser, Role.MEMBER));
+    }
+
+    @AfterEach
+    void tearDown() {
+        documentRepository.findByTeamAndOriginalFileName(team, fileName).ifPresent(document -> {
+            vectorChunkRepository.deleteAll(vectorChunkRepository.findByDocumentId(document.getDocumentId()));
+            documentRepository.delete(document);
+        });
+        memberRepository.deleteAll(memberRepository.findAllByTeam(team));
+        teamRepository.delete(team);
+        userRepository.delete(adminUser);
+        userRepository.delete(memberUser);
+        rateLimitService.resetAllLimits();
+    }
+
+    @Test
+    @DisplayName("같은 문서에 동시 업로드/삭제해도 500 없이 모든 쓰기가 반영된다 (문서 중복 생성, 갱신 유실 없음)")
+    void concurrentUploadsAndDeletes_noLostUpdates() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS + 1);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        // 업로드 스레드: 각자 고유한 chunk_index 구간 + 공통 chunk_index 0을 반복 갱신
+        for (int t = 0; t < THREADS; t++) {
+            int thread = t;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int u = 0; u < UPLOADS_PER_THREAD; u++) {
+                    List<ChunkUploadItem> items = new ArrayList<>();
+                    items.add(item(0, "shared-" + thread + "-" + u));
+                    for (int c = 1; c <= CHUNKS_PER_UPLOAD; c++) {
+                        int chunkIndex = thread * 1000 + u * 10 + c;
+                        items.add(item(chunkIndex, "chunk-" + chunkIndex));
+                    }
+                    chunkService.uploadChunks(team.getTeamId(), fileName, memberUser.getUserId(),
+                            new ChunkUploadRequest(fileName, items, null));
+                }
+                return null;
+            }));
+        }
+
+        // 삭제 스레드: 업로드와 같은 청크(0번)를 반복 논리 삭제 (JPA @Version 경로)
+        futures.add(executor.submit(() -> {
+            start.await();
+            for (int i = 0; i < UPLOADS_PER_THREAD; i++) {
+                try {
+                    chunkService.deleteChunk(team.getTeamId(), fileName, 0, adminUser.getUserId());
+                } catch (IllegalArgumentException notYetUploaded) {
+                    // 첫 업로드 전에는 문서/청크가 없을 수 있음
+                }
+                Thread.sleep(5);
+            }
+            return null;
+        }));
+
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS); // 예외(충돌 포함)가 있으면 여기서 실패
+        }
+        executor.shutdown();
+
+        // 문서는 하나만 생성
+        Document document = documentRepository.findByTeamAndOriginalFileName(team, fileName).orElseThrow();
+        List<VectorChunk> chunks = vectorChunkRepository.findByDocumentId(document.getDocumentId());
+        Map<Integer, VectorChunk> byIndex = chunks.stream()
+                .collect(Collectors.toMap(VectorChunk::getChunkIndex, chunk -> chunk));
+
+        // 고유 구간 청크는 하나도 유실되지 않음
+        assertThat(chunks).hasSize(1 + THREADS * UPLOADS_PER_THREAD * CHUNKS_PER_UPLOAD);
+        for (int t = 0; t < THREADS; t++) {
+            for (int u = 0; u < UPLOADS_PER_THREAD; u++) {
+                for (int c = 1; c <= CHUNKS_PER_UPLOAD; c++) {
+                    int chunkIndex = t * 1000 + u * 10 + c;
+                    assertThat(byIndex).containsKey(chunkIndex);
+                    assertThat(new String(byIndex.get(chunkIndex).getEncryptedBlob())).isEqualTo("chunk-" + chunkIndex);
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("여러 생산자가 같은 문서에 동시에 append해도 chunkIndex가 겹치지 않고 빈틈없이 할당된다")
+    void concurrentAppends_assignDisjointRanges() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<List<ChunkAppendResponse>>> futures = new ArrayList<>();
+
+        for (int t = 0; t < THREADS; t++) {
+            int thread = t;
+            futures.add(executor.submit(() -> {
+                start.await();
+                List<ChunkAppendResponse> responses = new ArrayList<>();
+                for (int u = 0; u < UPLOADS_PER_THREAD; u++) {
+                    List<String> blobs = new ArrayList<>();
+                    for (int c = 0; c < CHUNKS_PER_UPLOAD; c++) {
+                        blobs.add(Base64.getEncoder().encodeToString(("append-" + thread + "-" + u + "-" + c).getBytes()));
+                    }
+                    responses.add(chunkService.appendChunks(team.getTeamId(), memberUser.getUserId(),
+                            new ChunkAppendRequest(fileName, blobs, null)));
+                }
+                return responses;
+            }));
+        }
+
+        start.countDown();
+        List<ChunkAppendResponse> responses = new ArrayList<>();
+        for (Future<List<ChunkAppendResponse>> future : futures) {
+            responses.addAll(future.get(60, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+
+        int total = THREADS * UPLOADS_PER_THREAD * CHUNKS_PER_UPLOAD;
+        Document document = documentRepository.findByTeamAndOriginalFileName(team, fileName).orElseThrow();
+        List<VectorChunk> chunks = vectorChunkRepository.findByDocumentId(document.getDocumentId());
+        assertThat(chunks).hasSize(total);
+        assertThat(chunks.stream().map(VectorChunk::getChunkIndex).distinct().count()).isEqualTo(total);
+        assertThat(chunks.stream().mapToInt(VectorChunk::getChunkIndex).max().getAsInt()).isEqualTo(total - 1);
+        // 팀 변경 시퀀스도 청크마다 고유
+        assertThat(chunks).allSatisfy(chunk -> assertThat(chunk.getChangeSeq()).isNotNull());
+        assertThat(chunks.stream().map(VectorChunk::getChangeSeq).distinct().count()).isEqualTo(total);
+        assertThat(responses).allSatisfy(response -> {
+            assertThat(response.getDocumentId()).isEqualTo(document.getDocumentId());
+            assertThat(response.getLastChunkIndex() - response.getFirstChunkIndex() + 1).isEqualTo(CHUNKS_PER_UPLOAD);
+        });
+    }
+
+    private ChunkUploadItem item(int chunkIndex, String content) {
+        return new ChunkUploadItem(chunkIndex, Base64.getEncoder().encodeToString(content.getBytes()));
+    }
+
+    private User user(String email) {
+        return User.builder()
+                .userId(UUID.randomUUID().toString())
+                .email(email)
+                .hashedPassword("password")
+                .publicKey("dummy-public-key")
+                .encryptedPrivateKey("dummy-encrypted-private-key")
+                .build();
+    }
+
+    private RepositoryMember member(User user, Role role) {
+        return RepositoryMember.builder()
+                .id(new RepositoryMemberId(team.getTeamId(), user.getUserId()))
+                .team(team)
+                .user(user)
+                .role(role)
+                .encryptedTeamKey("dummy-encrypted-team-key")
+                .build();
+    }
+}
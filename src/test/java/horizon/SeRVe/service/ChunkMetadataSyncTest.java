@@ -0,0 +1,83 @@
+package horizon.SeRVe.service;
+
+import horizon.SeRVe.dto.chunk.ChunkMetadataResponse;
+import horizon.SeRVe.dto.chunk.ChunkSyncPage;
+import horizon.SeRVe.dto.chunk.ChunkSyncResponse;
+import horizon.SeRVe.entity.VectorChunk;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 메타데이터 우선 동기화 (ChunkService.syncTeamMetadata / fetchChunkBlobs)
+ */
+@SpringBootTest
+@Transactional
+@Import(SyncTestFixture.class)
+class ChunkMetadataSyncTest {
+
+    @Autowired
+    private ChunkService chunkService;
+
+    @Autowired
+    private SyncTestFixture fixture;
+
+    @BeforeEach
+    void setUp() {
+        fixture.createTeam();
+    }
+
+    @Test
+    @DisplayName("메타데이터 동기화는 blob 없이 digest와 크기를 반환하고, tombstone은 digest/크기가 없다")
+    void syncTeamMetadata_returnsDigestWithoutBlob() {
+        // Given: 청크 2개 중 1개 삭제
+        fixture.upload(0, 1);
+        fixture.delete(1);
+
+        // When
+        ChunkSyncPage<ChunkMetadataResponse> page = chunkService.syncTeamMetadata(
+                fixture.teamId(), 0, null, fixture.memberUserId(), false);
+
+        // Then
+        assertThat(page.getChunks()).hasSize(2);
+        ChunkMetadataResponse live = page.getChunks().stream()
+                .filter(chunk -> !chunk.isDeleted()).findFirst().orElseThrow();
+        ChunkMetadataResponse tombstone = page.getChunks().stream()
+                .filter(ChunkMetadataResponse::isDeleted).findFirst().orElseThrow();
+        assertThat(live.getDigest()).isEqualTo(VectorChunk.computeContentHash(SyncTestFixture.BLOB));
+        assertThat(live.getSize()).isEqualTo(SyncTestFixture.BLOB.length);
+        assertThat(tombstone.getDigest()).isNull();
+        assertThat(tombstone.getSize()).isZero();
+    }
+
+    @Test
+    @DisplayName("blob 일괄 조회는 요청한 청크만 요청 순서대로 반환하고 tombstone은 제외한다")
+    void fetchChunkBlobs_returnsRequestedLiveChunks() {
+        // Given: 청크 3개 중 1개 삭제
+        fixture.upload(0, 1, 2);
+        fixture.delete(1);
+        ChunkSyncPage<ChunkMetadataResponse> metadata = chunkService.syncTeamMetadata(
+                fixture.teamId(), 0, null, fixture.memberUserId(), false);
+        List<String> chunkIds = metadata.getChunks().stream()
+                .sorted(Comparator.comparingInt(ChunkMetadataResponse::getChunkIndex).reversed())
+                .map(ChunkMetadataResponse::getChunkId)
+                .toList();
+
+        // When: 2, 1(삭제됨), 0 순서로 요청
+        List<ChunkSyncResponse> blobs = chunkService.fetchChunkBlobs(
+                fixture.teamId(), chunkIds, fixture.memberUserId());
+
+        // Then
+        assertThat(blobs).extracting(ChunkSyncResponse::getChunkIndex).containsExactly(2, 0);
+        assertThat(blobs).allSatisfy(chunk -> assertThat(chunk.getEncryptedBlob()).isEqualTo(SyncTestFixture.BLOB));
+    }
+}
@@ -0,0 +1,66 @@
+package horizon.SeRVe.service;
+
+import horizon.SeRVe.dto.chunk.ChunkPayload;
+import horizon.SeRVe.dto.chunk.ChunkUploadItem;
+import horizon.SeRVe.entity.VectorChunk;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Base64;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChunkPayloadPreparerTest {
+
+    // 병렬 임계값 4, 최대 blob 1KB
+    private final ChunkPayloadPreparer preparer = new ChunkPayloadPreparer(4, 4, 1024);
+
+    @AfterEach
+    void tearDown() {
+        preparer.shutdown();
+    }
+
+    @Test
+    @DisplayName("대량 배치는 병렬로 처리해도 입력 순서와 해시가 유지된다")
+    void prepareChunks_parallelKeepsOrder() {
+        List<ChunkUploadItem> items = IntStream.range(0, 500)
+                .mapToObj(i -> item(i, "chunk-" + i))
+                .collect(Collectors.toList());
+
+        List<ChunkPayload> chunks = preparer.prepareChunks(items);
+
+        assertEquals(500, chunks.size());
+        for (int i = 0; i < 500; i++) {
+            assertEquals(i, chunks.get(i).getChunkIndex());
+            assertArrayEquals(("chunk-" + i).getBytes(), chunks.get(i).getEncryptedBlob());
+            assertArrayEquals(VectorChunk.computeContentHash(("chunk-" + i).getBytes()), chunks.get(i).getContentHash());
+        }
+    }
+
+    @Test
+    @DisplayName("같은 chunk_index가 중복되면 마지막 값을 사용한다")
+    void prepareChunks_lastDuplicateWins() {
+        List<ChunkPayload> chunks = preparer.prepareChunks(List.of(item(0, "old"), item(1, "one"), item(0, "new")));
+
+        assertEquals(List.of(1, 0), chunks.stream().map(ChunkPayload::getChunkIndex).collect(Collectors.toList()));
+        assertArrayEquals("new".getBytes(), chunks.get(1).getEncryptedBlob());
+    }
+
+    @Test
+    @DisplayName("최대 크기를 넘거나 Base64 형식이 아니면 디코딩 전에 거부한다")
+    void decode_rejectsInvalidPayload() {
+        String oversized = Base64.getEncoder().encodeToString(new byte[2048]);
+
+        assertThrows(IllegalArgumentException.class, () -> preparer.decode(oversized, "encryptedBlob"));
+        assertThrows(IllegalArgumentException.class, () -> preparer.decode("not base64!", "encryptedBlob"));
+        assertThrows(IllegalArgumentException.class, () -> preparer.decode(null, "encryptedBlob"));
+    }
+
+    private ChunkUploadItem item(int chunkIndex, String content) {
+        return new ChunkUploadItem(chunkIndex, Base64.getEncoder().encodeToString(content.getBytes()));
+    }
+}
@@ -8,6 +8,8 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Base64;
@@ -172,6 +174,37 @@ class ChunkServiceTest {
         assertThat(new String(updatedChunk.getEncryptedBlob())).isEqualTo("data v2");
     }
 
+    @Test
+    @DisplayName("메모리 상한을 넘는 스트리밍 업로드는 임시 파일로 받은 뒤 반영한다")
+    void uploadChunkStream_spillsLargeBodyBeforeWriting() throws Exception {
+        // Given: 메모리 보관 상한을 청크 1개보다 작게
+        ChunkService target = AopTestUtils.getTargetObject(chunkService);
+        Object threshold = ReflectionTestUtils.getField(target, "uploadSpillThreshold");
+        ReflectionTestUtils.setField(target, "uploadSpillThreshold", 4L);
+        try {
+            // When: 같은 chunkIndex를 다시 보내면 마지막 값이 반영됨
+            ChunkUploadResponse response = chunkService.uploadChunkStream(team.getTeamId(), fileName,
+                    memberUser.getUserId(), sink -> {
+                        sink.encryptedDEK("dek".getBytes());
+                        sink.chunk(0, "first".getBytes());
+                        sink.chunk(1, "second".getBytes());
+                        sink.chunk(0, "latest".getBytes());
+                    });
+
+            // Then
+            Document document = documentRepository.findByTeamAndOriginalFileName(team, fileName).orElseThrow();
+            assertThat(response.getDocumentId()).isEqualTo(document.getDocumentId());
+            assertThat(document.getEncryptedDEK()).isEqualTo("dek".getBytes());
+            VectorChunk chunk = vectorChunkRepository
+                    .findByDocumentIdAndChunkIndex(document.getDocumentId(), 0).orElseThrow();
+            assertThat(new String(chunk.getEncryptedBlob())).isEqualTo("latest");
+            assertThat(chunk.getChangeSeq()).isNotNull();
+            assertThat(vectorChunkRepository.findByDocumentId(document.getDocumentId())).hasSize(2);
+        } finally {
+            ReflectionTestUtils.setField(target, "uploadSpillThreshold", threshold);
+        }
+    }
+
     @Test
     @DisplayName("MEMBER는 청크를 다운로드할 수 있다")
     void getChunks_byMember_success() {
@@ -0,0 +1,62 @@
+package horizon.SeRVe.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import horizon.SeRVe.dto.chunk.ChunkNdjsonWriter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 팀 변경 시퀀스 스트리밍 동기화 (ChunkService.streamTeamChanges)
+ */
+@SpringBootTest
+@Transactional
+@Import(SyncTestFixture.class)
+class ChunkStreamSyncTest {
+
+    @Autowired
+    private ChunkService chunkService;
+
+    @Autowired
+    private SyncTestFixture fixture;
+
+    @BeforeEach
+    void setUp() {
+        fixture.createTeam();
+    }
+
+    @Test
+    @DisplayName("스트리밍 동기화는 변경된 청크를 change_seq 순으로 한 줄씩 NDJSON으로 기록한다")
+    void streamTeamChanges_writesNdjsonLines() throws Exception {
+        // Given: 청크 2개
+        fixture.upload(0, 1);
+
+        // When: 상한 없이 스트리밍 (테스트 트랜잭션 안에서는 팀 엔티티의 시퀀스가 갱신되지 않으므로 직접 지정)
+        ObjectMapper objectMapper = new ObjectMapper();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            chunkService.streamTeamChanges(fixture.teamId(), 0, Long.MAX_VALUE, fixture.memberUserId(), false,
+                    new ChunkNdjsonWriter(generator));
+        }
+
+        // Then: 줄마다 청크 1개, 업로더 포함
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(2);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertThat(first.get("chunkIndex").asInt()).isEqualTo(0);
+        assertThat(first.get("createdBy").asText()).isEqualTo("member@test.com");
+        assertThat(first.get("encryptedBlob").binaryValue()).isEqualTo(SyncTestFixture.BLOB);
+        assertThat(objectMapper.readTree(lines[1]).get("chunkIndex").asInt()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,69 @@
+package horizon.SeRVe.service;
+
+import horizon.SeRVe.dto.chunk.ChunkSyncPage;
+import horizon.SeRVe.dto.chunk.ChunkSyncResponse;
+import horizon.SeRVe.dto.chunk.SyncCursor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 팀 변경 시퀀스 동기화 페이지 (ChunkService.syncTeamChanges)
+ */
+@SpringBootTest
+@Transactional
+@Import(SyncTestFixture.class)
+class ChunkSyncPagingTest {
+
+    @Autowired
+    private ChunkService chunkService;
+
+    @Autowired
+    private SyncTestFixture fixture;
+
+    @BeforeEach
+    void setUp() {
+        fixture.createTeam();
+    }
+
+    @Test
+    @DisplayName("팀 변경 시퀀스 동기화는 limit 단위 페이지와 연속 커서로 나뉘어 전달된다")
+    void syncTeamChanges_pagesWithCursor() {
+        // Given: 청크 3개
+        fixture.upload(0, 1, 2);
+
+        // When: 페이지당 2개
+        ChunkSyncPage<ChunkSyncResponse> first = chunkService.syncTeamChanges(
+                fixture.teamId(), 0, 2, null, fixture.memberUserId(), false);
+        ChunkSyncPage<ChunkSyncResponse> second = chunkService.syncTeamChanges(
+                fixture.teamId(), SyncCursor.decode(first.getNextCursor()), 2, null, fixture.memberUserId(), false);
+
+        // Then: 2개 + 1개, 중복/누락 없음
+        assertThat(first.getChunks()).extracting(ChunkSyncResponse::getChunkIndex).containsExactly(0, 1);
+        assertThat(first.isHasMore()).isTrue();
+        assertThat(second.getChunks()).extracting(ChunkSyncResponse::getChunkIndex).containsExactly(2);
+        assertThat(second.isHasMore()).isFalse();
+        assertThat(second.getHighWaterMark()).isEqualTo(second.getChunks().get(0).getChangeSeq());
+    }
+
+    @Test
+    @DisplayName("바이트 예산을 넘는 청크는 다음 페이지로 넘어가며, 첫 청크는 예산보다 커도 포함된다")
+    void syncTeamChanges_respectsByteBudget() {
+        // Given: 9바이트 청크 2개
+        fixture.upload(0, 1);
+
+        // When: 예산 4바이트
+        ChunkSyncPage<ChunkSyncResponse> page = chunkService.syncTeamChanges(
+                fixture.teamId(), 0, null, 4L, fixture.memberUserId(), false);
+
+        // Then
+        assertThat(page.getChunks()).hasSize(1);
+        assertThat(page.isHasMore()).isTrue();
+    }
+}
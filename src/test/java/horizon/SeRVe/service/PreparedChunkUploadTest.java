@@ -0,0 +1,59 @@
+package horizon.SeRVe.service;
+
+import horizon.SeRVe.dto.chunk.ChunkPayload;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PreparedChunkUploadTest {
+
+    @TempDir
+    Path spillDir;
+
+    @Test
+    @DisplayName("임시 파일로 옮겨진 업로드도 같은 chunkIndex는 마지막 값 하나만 재생한다")
+    void forEachBatch_spilledKeepsLastValuePerIndex() throws Exception {
+        // 임계값 4바이트 → 두 번째 청크부터 임시 파일에 기록
+        try (PreparedChunkUpload upload = PreparedChunkUpload.receive(sink -> {
+            sink.chunk(0, "aaa".getBytes());
+            sink.chunk(1, "bbb".getBytes());
+            sink.chunk(0, "a2".getBytes());
+            sink.chunk(2, "ccc".getBytes());
+            sink.chunk(1, "b2".getBytes());
+        }, spillDir, 4)) {
+            assertTrue(upload.isSpilled());
+
+            List<List<ChunkPayload>> batches = new ArrayList<>();
+            int received = upload.forEachBatch(2, Long.MAX_VALUE, batches::add);
+
+            assertEquals(3, received);
+            List<ChunkPayload> replayed = batches.stream().flatMap(List::stream).toList();
+            assertEquals(List.of(0, 2, 1), replayed.stream().map(ChunkPayload::getChunkIndex).toList());
+            assertArrayEquals("a2".getBytes(), replayed.get(0).getEncryptedBlob());
+            assertArrayEquals("b2".getBytes(), replayed.get(2).getEncryptedBlob());
+        }
+    }
+
+    @Test
+    @DisplayName("메모리에 보관된 업로드도 같은 chunkIndex는 마지막 값 하나만 재생한다")
+    void forEachBatch_inMemoryKeepsLastValuePerIndex() throws Exception {
+        try (PreparedChunkUpload upload = PreparedChunkUpload.receive(sink -> {
+            sink.chunk(0, "a".getBytes());
+            sink.chunk(0, "a2".getBytes());
+        }, spillDir, 1024)) {
+            assertFalse(upload.isSpilled());
+
+            List<ChunkPayload> replayed = new ArrayList<>();
+            int received = upload.forEachBatch(10, Long.MAX_VALUE, replayed::addAll);
+
+            assertEquals(1, received);
+            assertArrayEquals("a2".getBytes(), replayed.get(0).getEncryptedBlob());
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package horizon.SeRVe.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import horizon.SeRVe.dto.chunk.ChunkSyncPage;
+import horizon.SeRVe.dto.sync.EncodedSyncResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class SyncResponseCacheTest {
+
+    private static final String TEAM_ID = "team-1";
+
+    private final ChunkService chunkService = mock(ChunkService.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SyncResponseCache syncResponseCache =
+            new SyncResponseCache(chunkService, new ObjectMapper(), meterRegistry, 1 << 20, 60);
+
+    @Test
+    @DisplayName("같은 팀/위치의 동시 요청은 한 번만 조회하고 인코딩된 응답을 공유한다")
+    void getChunkPage_collapsesConcurrentIdenticalRequests() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(chunkService.syncTeamChanges(eq(TEAM_ID), eq(0L), isNull(), isNull(), anyString(), eq(false)))
+                .thenAnswer(invocation -> {
+                    loading.countDown();
+                    release.await(5, TimeUnit.SECONDS);
+                    return new ChunkSyncPage<>(List.of(), "c", false, 7);
+                });
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<EncodedSyncResponse>> results = new ArrayList<>();
+            results.add(executor.submit(() -> page("robot-0", 7)));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+            for (int i = 1; i < 8; i++) {
+                String userId = "robot-" + i;
+                results.add(executor.submit(() -> page(userId, 7)));
+            }
+            // 합류한 요청이 모두 대기 상태가 된 뒤 로드 완료
+            Thread.sleep(200);
+            release.countDown();
+
+            byte[] body = results.get(0).get(5, TimeUnit.SECONDS).getBody();
+            for (Future<EncodedSyncResponse> result : results) {
+                assertSame(body, result.get(5, TimeUnit.SECONDS).getBody());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        verify(chunkService, times(1)).syncTeamChanges(any(), anyLong(), any(), any(), any(), anyBoolean());
+    }
+
+    @Test
+    @DisplayName("팀 변경 시퀀스가 바뀌면 다시 조회하고, 팀 변경 이벤트로 이전 항목을 제거한다")
+    void getChunkPage_reloadsAfterTeamChange() {
+        when(chunkService.syncTeamChanges(eq(TEAM_ID), eq(0L), isNull(), isNull(), anyString(), eq(false)))
+                .thenReturn(new ChunkSyncPage<>(List.of(), "c7", false, 7))
+                .thenReturn(new ChunkSyncPage<>(List.of(), "c8", false, 8));
+
+        assertEquals(7, page("robot-1", 7).getHighWaterMark());
+        assertEquals(7, page("robot-2", 7).getHighWaterMark());
+        assertEquals(8, page("robot-1", 8).getHighWaterMark());
+
+        verify(chunkService, times(2)).syncTeamChanges(any(), anyLong(), any(), any(), any(), anyBoolean());
+
+        syncResponseCache.invalidateTeam(TEAM_ID);
+        page("robot-1", 8);
+        verify(chunkService, times(3)).syncTeamChanges(any(), anyLong(), any(), any(), any(), anyBoolean());
+    }
+
+    @Test
+    @DisplayName("권한 오류는 캐시하지 않고, excludeSelf 요청은 캐시를 거치지 않는다")
+    void getChunkPage_doesNotCacheFailuresOrPerUserResponses() {
+        when(chunkService.syncTeamChanges(eq(TEAM_ID), eq(0L), isNull(), isNull(), anyString(), anyBoolean()))
+                .thenThrow(new SecurityException("팀 멤버가 아닙니다."))
+                .thenReturn(new ChunkSyncPage<>(List.of(), "c", false, 7));
+
+        assertThrows(SecurityException.class, () -> page("robot-1", 7));
+        assertEquals(7, page("robot-1", 7).getHighWaterMark());
+
+        syncResponseCache.getChunkPage(TEAM_ID, 7, 0, null, null, SyncResponseCache.Format.JSON, "robot-1", true);
+        syncResponseCache.getChunkPage(TEAM_ID, 7, 0, null, null, SyncResponseCache.Format.JSON, "robot-1", true);
+
+        verify(chunkService, times(2)).syncTeamChanges(any(), anyLong(), any(), any(), any(), eq(true));
+    }
+
+    private EncodedSyncResponse page(String userId, long teamSeq) {
+        return syncResponseCache.getChunkPage(TEAM_ID, teamSeq, 0, null, null, SyncResponseCache.Format.JSON, userId, false);
+    }
+}
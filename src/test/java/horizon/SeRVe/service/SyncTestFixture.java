@@ -0,0 +1,127 @@
+package horizon.SeRVe.service;
+
+import horizon.SeRVe.dto.chunk.ChunkUploadItem;
+import horizon.SeRVe.dto.chunk.ChunkUploadRequest;
+import horizon.SeRVe.entity.*;
+import horizon.SeRVe.repository.MemberRepository;
+import horizon.SeRVe.repository.TeamRepository;
+import horizon.SeRVe.repository.UserRepository;
+import horizon.SeRVe.repository.VectorChunkRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.boot.test.context.TestComponent;
+import org.springframework.context.annotation.Scope;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * 동기화/정리/스냅샷 테스트 공용 픽스처
+ * - ADMIN/MEMBER 사용자와 팀 생성, 업로드는 MEMBER(업로드 전용), 삭제는 ADMIN(삭제 전용)으로 수행
+ * - 테스트 클래스에서 @Import(SyncTestFixture.class) 후 주입 (prototype이므로 테스트 메서드마다 새 인스턴스)
+ */
+@TestComponent
+@Scope(ConfigurableBeanFactory.SCOPE_PROTOTYPE)
+class SyncTestFixture {
+
+    static final String FILE_NAME = "설비매뉴얼.pdf";
+    static final byte[] BLOB = "test data".getBytes();
+
+    @Autowired
+    private ChunkService chunkService;
+
+    @Autowired
+    private VectorChunkRepository vectorChunkRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User adminUser;
+    private User memberUser;
+    private Team team;
+
+    /**
+     * 사용자 2명(admin@test.com, member@test.com)과 팀 생성
+     */
+    void createTeam() {
+        adminUser = saveUser("admin@test.com");
+        memberUser = saveUser("member@test.com");
+
+        team = new Team("Test Team", "Test Description", adminUser.getUserId());
+        teamRepository.save(team);
+
+        saveMember(adminUser, Role.ADMIN);
+        saveMember(memberUser, Role.MEMBER);
+    }
+
+    String teamId() {
+        return team.getTeamId();
+    }
+
+    String adminUserId() {
+        return adminUser.getUserId();
+    }
+
+    String memberUserId() {
+        return memberUser.getUserId();
+    }
+
+    /**
+     * MEMBER로 FILE_NAME 문서에 BLOB 청크 업로드 (업로더 조인을 위해 DB에 반영)
+     */
+    void upload(int... chunkIndexes) {
+        String encodedBlob = Base64.getEncoder().encodeToString(BLOB);
+        chunkService.uploadChunks(teamId(), FILE_NAME, memberUserId(), new ChunkUploadRequest(FILE_NAME,
+                Arrays.stream(chunkIndexes)
+                        .mapToObj(chunkIndex -> new ChunkUploadItem(chunkIndex, encodedBlob))
+                        .collect(Collectors.toList())));
+        vectorChunkRepository.flush();
+    }
+
+    /**
+     * ADMIN으로 FILE_NAME 문서의 청크 삭제 (tombstone)
+     */
+    void delete(int chunkIndex) {
+        chunkService.deleteChunk(teamId(), FILE_NAME, chunkIndex, adminUserId());
+        vectorChunkRepository.flush();
+    }
+
+    /**
+     * 현재 팀 변경 시퀀스 (JDBC로 증가하므로 팀 엔티티가 아닌 DB에서 조회)
+     */
+    long teamChangeSeq() {
+        return jdbcTemplate.queryForObject("SELECT change_seq FROM teams WHERE team_id = ?", Long.class, teamId());
+    }
+
+    private User saveUser(String email) {
+        return userRepository.save(User.builder()
+                .userId(UUID.randomUUID().toString())
+                .email(email)
+                .hashedPassword("password")
+                .publicKey("dummy-public-key")
+                .encryptedPrivateKey("dummy-encrypted-private-key")
+                .build());
+    }
+
+    private void saveMember(User user, Role role) {
+        memberRepository.save(RepositoryMember.builder()
+                .id(new RepositoryMemberId(team.getTeamId(), user.getUserId()))
+                .team(team)
+                .user(user)
+                .role(role)
+                .encryptedTeamKey("dummy-encrypted-team-key-" + role.name().toLowerCase())
+                .build());
+    }
+}
@@ -0,0 +1,83 @@
+package horizon.SeRVe.service;
+
+import horizon.SeRVe.dto.sync.TeamChangeNotification;
+import horizon.SeRVe.exception.ServerBusyException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TeamChangeNotifierTest {
+
+    private static final String TEAM_ID = "team-1";
+
+    private final TeamChangeNotifier notifier =
+            new TeamChangeNotifier(new SimpleMeterRegistry(), 60_000, 60_000, 2, 5);
+
+    @AfterEach
+    void tearDown() {
+        notifier.stop();
+    }
+
+    @Test
+    @DisplayName("이미 위치를 넘는 변경이 있으면 long-poll은 즉시 응답한다")
+    void poll_completesImmediatelyWhenBehind() {
+        DeferredResult<ResponseEntity<TeamChangeNotification>> result = notifier.poll(TEAM_ID, 5, () -> 7);
+
+        assertTrue(result.hasResult());
+        assertEquals(7, body(result).getChangeSeq());
+        assertEquals(0, notifier.getSubscriberCount());
+    }
+
+    @Test
+    @DisplayName("변경이 없으면 대기하다가 커밋된 변경이 위치를 넘을 때 응답한다")
+    void poll_waitsForChangePastPosition() throws InterruptedException {
+        DeferredResult<ResponseEntity<TeamChangeNotification>> result = notifier.poll(TEAM_ID, 5, () -> 5);
+        assertFalse(result.hasResult());
+
+        notifier.publish(TEAM_ID, 5); // 위치와 같으면 알리지 않음
+        notifier.publish(TEAM_ID, 9);
+
+        awaitResult(result);
+        assertEquals(HttpStatus.OK, ((ResponseEntity<?>) result.getResult()).getStatusCode());
+        assertEquals(9, body(result).getChangeSeq());
+    }
+
+    @Test
+    @DisplayName("구독 수가 한도를 넘으면 503(ServerBusyException)으로 거부한다")
+    void poll_rejectsOverSubscriberLimit() {
+        notifier.poll(TEAM_ID, 5, () -> 5);
+        notifier.poll(TEAM_ID, 5, () -> 5);
+
+        assertThrows(ServerBusyException.class, () -> notifier.poll(TEAM_ID, 5, () -> 5));
+        assertEquals(2, notifier.getSubscriberCount());
+    }
+
+    @Test
+    @DisplayName("권한 검증에 실패하면 구독을 남기지 않는다")
+    void poll_unregistersWhenAuthorizationFails() {
+        assertThrows(SecurityException.class, () -> notifier.poll(TEAM_ID, 0, () -> {
+            throw new SecurityException("팀 멤버가 아닙니다.");
+        }));
+
+        assertEquals(0, notifier.getSubscriberCount());
+    }
+
+    @SuppressWarnings("unchecked")
+    private TeamChangeNotification body(DeferredResult<ResponseEntity<TeamChangeNotification>> result) {
+        return ((ResponseEntity<TeamChangeNotification>) result.getResult()).getBody();
+    }
+
+    private void awaitResult(DeferredResult<?> result) throws InterruptedException {
+        // 전달은 별도 스레드에서 수행됨
+        for (int i = 0; i < 100 && !result.hasResult(); i++) {
+            Thread.sleep(10);
+        }
+        assertTrue(result.hasResult());
+    }
+}
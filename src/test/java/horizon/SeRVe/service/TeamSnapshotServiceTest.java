@@ -0,0 +1,87 @@
+package horizon.SeRVe.service;
+
+import com.google.protobuf.CodedInputStream;
+import horizon.SeRVe.dto.sync.TeamSnapshot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 팀 부트스트랩 스냅샷 (TeamSnapshotService)
+ * - 스냅샷을 켠 컨텍스트에서 임시 디렉토리를 사용 (주기 생성은 interval 뒤에 시작하므로 테스트 중에는 실행되지 않음)
+ */
+@SpringBootTest(properties = "serve.snapshot.enabled=true")
+@Transactional
+@Import(SyncTestFixture.class)
+class TeamSnapshotServiceTest {
+
+    @TempDir
+    static Path snapshotDir;
+
+    @DynamicPropertySource
+    static void snapshotProperties(DynamicPropertyRegistry registry) {
+        registry.add("serve.snapshot.dir", () -> snapshotDir.toString());
+    }
+
+    @Autowired
+    private TeamSnapshotService snapshotService;
+
+    @Autowired
+    private SyncTestFixture fixture;
+
+    @BeforeEach
+    void setUp() {
+        fixture.createTeam();
+    }
+
+    @Test
+    @DisplayName("스냅샷은 위치 시점의 살아있는 청크와 문서 DEK를 담는다")
+    void build_containsLiveChunksAtPosition() throws Exception {
+        // Given: 청크 2개 중 1개 삭제
+        fixture.upload(0, 1);
+        fixture.delete(1);
+        long position = fixture.teamChangeSeq();
+
+        // When
+        TeamSnapshot snapshot = snapshotService.build(fixture.teamId(), position);
+
+        // Then: 헤더 1 + 문서 1 + 살아있는 청크 1 프레임, 임시 파일 없음
+        assertThat(snapshot.getChangeSeq()).isEqualTo(position);
+        assertThat(snapshotService.getSnapshot(fixture.teamId())).contains(snapshot);
+        assertThat(Files.size(snapshot.getPath())).isEqualTo(snapshot.getLength());
+        try (var files = Files.list(snapshotDir)) {
+            assertThat(files.filter(path -> path.getFileName().toString().startsWith(fixture.teamId())))
+                    .containsExactly(snapshot.getPath());
+        }
+
+        CodedInputStream in = CodedInputStream.newInstance(Files.readAllBytes(snapshot.getPath()));
+        CodedInputStream header = in.readBytes().newCodedInput();
+        long headerSeq = 0;
+        for (int tag = header.readTag(); tag != 0; tag = header.readTag()) {
+            if (tag >>> 3 == 2) {
+                headerSeq = header.readUInt64();
+            } else {
+                header.skipField(tag);
+            }
+        }
+        assertThat(headerSeq).isEqualTo(position);
+        int frames = 0;
+        while (!in.isAtEnd()) {
+            in.readBytes();
+            frames++;
+        }
+        assertThat(frames).isEqualTo(2);
+    }
+}
@@ -0,0 +1,90 @@
+package horizon.SeRVe.service;
+
+import horizon.SeRVe.dto.chunk.ChunkSyncResponse;
+import horizon.SeRVe.entity.Document;
+import horizon.SeRVe.exception.SyncCursorExpiredException;
+import horizon.SeRVe.repository.DocumentRepository;
+import horizon.SeRVe.repository.TeamRepository;
+import horizon.SeRVe.repository.VectorChunkRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * tombstone 정리 (TombstoneCompactionJob)
+ */
+@SpringBootTest
+@Transactional
+@Import(SyncTestFixture.class)
+class TombstoneCompactionJobTest {
+
+    @Autowired
+    private TombstoneCompactionJob tombstoneCompactionJob;
+
+    @Autowired
+    private ChunkService chunkService;
+
+    @Autowired
+    private VectorChunkRepository vectorChunkRepository;
+
+    @Autowired
+    private DocumentRepository documentRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private SyncTestFixture fixture;
+
+    @BeforeEach
+    void setUp() {
+        fixture.createTeam();
+    }
+
+    @Test
+    @DisplayName("tombstone 정리는 암호문을 회수하고, 보존 기간이 지난 tombstone을 삭제하며 그 이전 커서는 410 대상이 된다")
+    void compaction_purgesTombstonesAndExpiresOldCursors() {
+        // Given: 청크 2개 중 1개 삭제, 삭제 시점을 보존 기간 이전으로 변경
+        fixture.upload(0, 1);
+        fixture.delete(1);
+        jdbcTemplate.update("UPDATE vector_chunks SET updated_at = ? WHERE team_id = ? AND is_deleted = TRUE",
+                LocalDateTime.now().minusDays(365), fixture.teamId());
+
+        // When
+        long reclaimed = tombstoneCompactionJob.purgeTombstoneBlobs();
+        long purged = tombstoneCompactionJob.purgeExpiredTombstones(LocalDateTime.now().minusDays(30));
+        entityManager.clear(); // JDBC로 바꾼 팀/청크 행을 다시 읽음
+
+        // Then: tombstone 삭제, 살아있는 청크 유지
+        assertThat(reclaimed).isEqualTo(SyncTestFixture.BLOB.length);
+        assertThat(purged).isEqualTo(1);
+        Document document = documentRepository.findByTeamAndOriginalFileName(
+                teamRepository.findByTeamId(fixture.teamId()).orElseThrow(), SyncTestFixture.FILE_NAME).orElseThrow();
+        assertThat(vectorChunkRepository.findByDocumentIdAndChunkIndex(document.getDocumentId(), 1)).isEmpty();
+        assertThat(vectorChunkRepository.findByDocumentIdAndChunkIndex(document.getDocumentId(), 0)).isPresent();
+
+        // 삭제된 tombstone 이전 위치는 재동기화 필요, 처음부터 동기화는 허용
+        assertThatThrownBy(() -> chunkService.syncTeamChanges(
+                fixture.teamId(), 1, null, null, fixture.memberUserId(), false))
+                .isInstanceOf(SyncCursorExpiredException.class);
+        assertThat(chunkService.syncTeamChanges(fixture.teamId(), 0, null, null, fixture.memberUserId(), false)
+                .getChunks()).extracting(ChunkSyncResponse::getChunkIndex).containsExactly(0);
+    }
+}